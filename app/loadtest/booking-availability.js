@@ -0,0 +1,93 @@
+// k6 load test for the booking rush: availability checks plus bookings, run once per threading mode.
+//
+//   VIRTUAL_THREADS=false docker-compose up -d --build app   # platform threads
+//   k6 run -e BASE_URL=http://localhost:8080 -e PATIENT=jane@example.com -e PASSWORD=secret \
+//          -e DOCTORS=1,2,3 --summary-export=platform.json app/loadtest/booking-availability.js
+//   VIRTUAL_THREADS=true docker-compose up -d --build app    # virtual threads
+//   k6 run ... --summary-export=virtual.json app/loadtest/booking-availability.js
+//
+// Compare http_req_duration p95/p99, http_reqs rate and the rate of 5xx/timeouts between the two runs.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const DOCTORS = (__ENV.DOCTORS || '1').split(',').map(Number);
+const SLOT_TIMES = ['09:00', '09:30', '10:00', '10:30', '11:00', '11:30',
+  '13:00', '13:30', '14:00', '14:30', '15:00', '15:30', '16:00', '16:30'];
+
+export const options = {
+  scenarios: {
+    availability: {
+      executor: 'ramping-arrival-rate',
+      exec: 'availability',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+      stages: [
+        { target: 400, duration: '1m' },
+        { target: 800, duration: '2m' },
+        { target: 0, duration: '30s' },
+      ],
+    },
+    booking: {
+      executor: 'ramping-arrival-rate',
+      exec: 'booking',
+      startRate: 10,
+      timeUnit: '1s',
+      preAllocatedVUs: 100,
+      maxVUs: 1000,
+      stages: [
+        { target: 100, duration: '1m' },
+        { target: 200, duration: '2m' },
+        { target: 0, duration: '30s' },
+      ],
+    },
+  },
+  thresholds: {
+    'http_req_duration{scenario:availability}': ['p(95)<500'],
+    'http_req_duration{scenario:booking}': ['p(95)<1000'],
+    'http_req_failed': ['rate<0.05'],
+  },
+};
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/patient/login`,
+    JSON.stringify({ username: __ENV.PATIENT, password: __ENV.PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'logged in': (r) => r.status === 200 });
+  return { token: res.json('token') };
+}
+
+function randomSlot() {
+  const doctorId = DOCTORS[Math.floor(Math.random() * DOCTORS.length)];
+  const date = new Date(Date.now() + (1 + Math.floor(Math.random() * 60)) * 86400000)
+    .toISOString().slice(0, 10);
+  const time = SLOT_TIMES[Math.floor(Math.random() * SLOT_TIMES.length)];
+  return { doctorId, date, time };
+}
+
+export function availability(data) {
+  const { doctorId, date, time } = randomSlot();
+  const res = http.get(`${BASE_URL}/doctor/${doctorId}/availability?date=${date}&time=${time}`,
+    { headers: { Authorization: `Bearer ${data.token}` }, tags: { name: 'availability' } });
+  check(res, { 'availability 200': (r) => r.status === 200 });
+}
+
+export function booking(data) {
+  const { doctorId, date, time } = randomSlot();
+  const res = http.post(`${BASE_URL}/appointments`,
+    JSON.stringify({
+      doctor: { id: doctorId },
+      patient: { id: 0 },
+      appointmentDate: date,
+      appointmentTime: time,
+      appointmentReason: 'load test',
+    }),
+    {
+      headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${data.token}` },
+      tags: { name: 'booking' },
+    });
+  // 400 = slot already taken, an expected outcome under contention
+  check(res, { 'booking handled': (r) => r.status === 201 || r.status === 400 });
+}
@@ -0,0 +1,65 @@
+package com.project.back_end.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compare two JMH JSON result files, e.g. the runs saved for two commits:
+ * mvn -P benchmarks test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.project.back_end.benchmarks.BenchmarkComparison
+ *     -Dexec.args="benchmarks/abc1234.json benchmarks/def5678.json"
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> candidate = read(new File(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "candidate", "change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode after = entry.getValue().path("primaryMetric");
+            JsonNode before = baseline.containsKey(entry.getKey())
+                    ? baseline.get(entry.getKey()).path("primaryMetric")
+                    : null;
+            String unit = after.path("scoreUnit").asText();
+            double afterScore = after.path("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", afterScore, "new", unit);
+                continue;
+            }
+            double beforeScore = before.path("score").asDouble();
+            double change = beforeScore == 0 ? 0 : (afterScore - beforeScore) / beforeScore * 100;
+            // Differences inside the combined error bars are noise, not a regression
+            boolean significant = Math.abs(afterScore - beforeScore)
+                    > after.path("scoreError").asDouble() + before.path("scoreError").asDouble();
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s %s%n", entry.getKey(), beforeScore, afterScore, change,
+                    significant ? "*" : " ", unit);
+        }
+    }
+
+    // Benchmark name plus its @Param values, so each parameter combination is compared separately
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.project.back_end.benchmarks.", ""));
+            result.path("params").fields()
+                    .forEachRemaining(param -> key.append(' ').append(param.getKey()).append('=')
+                            .append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
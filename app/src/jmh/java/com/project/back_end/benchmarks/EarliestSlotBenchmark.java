@@ -0,0 +1,131 @@
+package com.project.back_end.benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.back_end.DTO.AvailableSlot;
+import com.project.back_end.DTO.ListResponse;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.DoctorSchedule;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.AppointmentShardMoveRepository;
+import com.project.back_end.repo.AppointmentShards;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.DoctorScheduleRepository;
+import com.project.back_end.repo.JumpHashShardRouter;
+import com.project.back_end.repo.ScheduleExceptionRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
+import com.project.back_end.repo.SlotHoldRepository;
+import com.project.back_end.services.EarliestSlotService;
+
+/**
+ * Free-slot computation over synthetic weekly schedules with part of the calendar already booked.
+ * Repositories are in-memory stubs, so this measures the slot generation and k-way merge only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EarliestSlotBenchmark {
+
+    private static final String SPECIALIZATION = "Cardiology";
+
+    @Param({ "10", "100" })
+    public int doctors;
+
+    @Param({ "10", "50" })
+    public int limit;
+
+    /**
+     * Share of weekday slots in the next 30 days that are already booked
+     */
+    @Param({ "0.5", "0.9" })
+    public double booked;
+
+    private EarliestSlotService earliestSlotService;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(7);
+        List<Doctor> doctorList = data.doctors(doctors);
+        doctorList.forEach(doctor -> doctor.setSpecialization(SPECIALIZATION));
+        List<DoctorSchedule> schedules = data.weeklySchedules(doctorList);
+        Map<Long, List<Appointment>> appointmentsByDoctor = bookedAppointments(doctorList, schedules);
+
+        DoctorRepository doctorRepository = RepositoryStubs.stub(DoctorRepository.class,
+                Map.of("findBySpecialization", args -> doctorList));
+        DoctorScheduleRepository scheduleRepository = RepositoryStubs.stub(DoctorScheduleRepository.class,
+                Map.of("findByDoctorIdIn", args -> schedules));
+        ScheduleExceptionRepository exceptionRepository = RepositoryStubs.stub(ScheduleExceptionRepository.class,
+                Map.of("findByDoctorIdAndExceptionDateBetween", args -> List.of()));
+        SlotHoldRepository slotHoldRepository = RepositoryStubs.stub(SlotHoldRepository.class,
+                Map.of("findByDoctorIdAndAppointmentDateBetweenAndExpiresAtAfter", args -> List.of()));
+        AppointmentRepository appointmentRepository = RepositoryStubs.stub(AppointmentRepository.class,
+                Map.of("findByDoctorIdAndAppointmentDateBetweenAndStatusNot", args -> {
+                    LocalDate from = (LocalDate) args[1];
+                    LocalDate to = (LocalDate) args[2];
+                    return appointmentsByDoctor.getOrDefault((Long) args[0], List.of()).stream()
+                            .filter(a -> !a.getAppointmentDate().isBefore(from) && !a.getAppointmentDate().isAfter(to))
+                            .toList();
+                }));
+
+        // No extra shard urls, so the sharded facade calls straight through
+        AppointmentShards shards = new AppointmentShards(new JumpHashShardRouter(),
+                RepositoryStubs.stub(AppointmentShardMoveRepository.class, Map.of()), null, List.of(), 0, 1, 1000);
+        earliestSlotService = new EarliestSlotService(doctorRepository, scheduleRepository, exceptionRepository,
+                new ShardedAppointmentRepository(appointmentRepository, shards), slotHoldRepository);
+    }
+
+    @Benchmark
+    public ListResponse<AvailableSlot> findEarliestSlots() {
+        return earliestSlotService.findEarliestSlots(SPECIALIZATION, limit, 30);
+    }
+
+    private Map<Long, List<Appointment>> bookedAppointments(List<Doctor> doctorList, List<DoctorSchedule> schedules) {
+        Random random = new Random(11);
+        Map<Long, Doctor> doctorsById = doctorList.stream().collect(Collectors.toMap(Doctor::getId, d -> d));
+        Map<Long, List<Appointment>> byDoctor = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        for (DoctorSchedule schedule : schedules) {
+            for (int day = 0; day < 30; day++) {
+                LocalDate date = today.plusDays(day);
+                if (date.getDayOfWeek().ordinal() != schedule.getDayOfWeek().ordinal()) {
+                    continue;
+                }
+                for (LocalTime time = schedule.getStartTime(); time.isBefore(schedule.getEndTime());
+                        time = time.plusMinutes(30)) {
+                    if (random.nextDouble() < booked) {
+                        Appointment appointment = new Appointment();
+                        appointment.setDoctor(doctorsById.get(schedule.getDoctor().getId()));
+                        appointment.setAppointmentDate(date);
+                        appointment.setAppointmentTime(time);
+                        byDoctor.computeIfAbsent(schedule.getDoctor().getId(), id -> new ArrayList<>()).add(appointment);
+                    }
+                }
+            }
+        }
+        return byDoctor;
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.back_end.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.back_end.DTO.AppointmentListResponse;
+import com.project.back_end.DTO.DoctorListResponse;
+
+/**
+ * JSON rendering of the list endpoints' bodies, with the ObjectMapper setup Spring MVC uses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListResponseSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private AppointmentListResponse appointments;
+    private DoctorListResponse doctors;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) // Spring Boot's default
+                .build();
+        SyntheticData data = new SyntheticData(42);
+        doctors = DoctorListResponse.of(data.doctors(size));
+        appointments = AppointmentListResponse.of(data.appointments(size, data.doctors(20), data.patients(50)));
+    }
+
+    @Benchmark
+    public byte[] appointmentList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] doctorList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(doctors);
+    }
+}
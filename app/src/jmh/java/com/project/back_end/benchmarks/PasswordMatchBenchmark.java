@@ -0,0 +1,63 @@
+package com.project.back_end.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.project.back_end.services.PasswordHashingService;
+
+/**
+ * BCrypt match cost per login. The default strength (10) is what SecurityConfig uses; higher
+ * strengths show what raising it would cost. hashingService adds the dedicated pool hop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordMatchBenchmark {
+
+    private static final String PASSWORD = "Password123!";
+
+    @Param({ "10", "12" })
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private PasswordHashingService hashingService;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+        hashingService = new PasswordHashingService(encoder, 1, 32, 60_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashingService.shutdown();
+    }
+
+    @Benchmark
+    public boolean encoderMatches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean hashingServiceMatches() {
+        return hashingService.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,33 @@
+package com.project.back_end.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, answering only the finder methods a benchmark uses
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> R stub(Class<R> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> repositoryType.getSimpleName() + " stub";
+                        };
+                    }
+                    throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+                });
+    }
+}
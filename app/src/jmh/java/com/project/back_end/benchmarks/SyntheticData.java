@@ -0,0 +1,121 @@
+package com.project.back_end.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.DoctorSchedule;
+import com.project.back_end.models.Patient;
+
+/**
+ * Deterministic fixtures for benchmarks; the same seed gives the same data on every run
+ */
+final class SyntheticData {
+
+    static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private static final String[] SPECIALIZATIONS = { "Cardiology", "Dermatology", "Neurology", "Pediatrics" };
+
+    private final Random random;
+
+    SyntheticData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    List<Doctor> doctors(int count) {
+        List<Doctor> doctors = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Doctor doctor = new Doctor();
+            doctor.setId(id);
+            doctor.setUsername("doctor" + id);
+            doctor.setEmail("doctor" + id + "@example.com");
+            doctor.setPasswordHash("$2a$10$abcdefghijklmnopqrstuv");
+            doctor.setPhone("555-01" + String.format("%02d", id % 100));
+            doctor.setSpecialization(SPECIALIZATIONS[(int) (id % SPECIALIZATIONS.length)]);
+            doctor.setBio("Board-certified physician with an interest in preventive care.");
+            doctor.setConsultationFee(BigDecimal.valueOf(50 + random.nextInt(150)));
+            doctor.setYearsOfExperience(1 + random.nextInt(30));
+            doctor.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+            doctor.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+            doctors.add(doctor);
+        }
+        return doctors;
+    }
+
+    List<Patient> patients(int count) {
+        List<Patient> patients = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Patient patient = new Patient();
+            patient.setId(id);
+            patient.setUsername("patient" + id);
+            patient.setEmail("patient" + id + "@example.com");
+            patient.setPasswordHash("$2a$10$abcdefghijklmnopqrstuv");
+            patient.setDateOfBirth(LocalDate.of(1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            patient.setGender(Patient.Gender.values()[random.nextInt(Patient.Gender.values().length)]);
+            patient.setAddress(id + " Main Street");
+            patient.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+            patient.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+            patients.add(patient);
+        }
+        return patients;
+    }
+
+    List<Appointment> appointments(int count, List<Doctor> doctors, List<Patient> patients) {
+        List<Appointment> appointments = new ArrayList<>(count);
+        LocalDate start = LocalDate.now();
+        for (long id = 1; id <= count; id++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(id);
+            appointment.setDoctor(doctors.get(random.nextInt(doctors.size())));
+            appointment.setPatient(patients.get(random.nextInt(patients.size())));
+            appointment.setAppointmentDate(start.plusDays(random.nextInt(30)));
+            appointment.setAppointmentTime(LocalTime.of(9 + random.nextInt(8), random.nextBoolean() ? 0 : 30));
+            appointment.setStatus(Appointment.AppointmentStatus.scheduled);
+            appointment.setAppointmentReason("Follow-up visit");
+            appointment.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+            appointment.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+
+    /**
+     * Weekday office hours for each doctor, some with a split day
+     */
+    List<DoctorSchedule> weeklySchedules(List<Doctor> doctors) {
+        List<DoctorSchedule> schedules = new ArrayList<>();
+        long id = 1;
+        for (Doctor doctor : doctors) {
+            for (DoctorSchedule.DayOfWeek day : DoctorSchedule.DayOfWeek.values()) {
+                if (day == DoctorSchedule.DayOfWeek.Saturday || day == DoctorSchedule.DayOfWeek.Sunday) {
+                    continue;
+                }
+                if (random.nextBoolean()) {
+                    schedules.add(schedule(id++, doctor, day, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+                } else {
+                    schedules.add(schedule(id++, doctor, day, LocalTime.of(8, 0), LocalTime.of(12, 0)));
+                    schedules.add(schedule(id++, doctor, day, LocalTime.of(13, 0), LocalTime.of(18, 0)));
+                }
+            }
+        }
+        return schedules;
+    }
+
+    private static DoctorSchedule schedule(long id, Doctor doctor, DoctorSchedule.DayOfWeek day, LocalTime start,
+            LocalTime end) {
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.setId(id);
+        schedule.setDoctor(doctor);
+        schedule.setDayOfWeek(day);
+        schedule.setStartTime(start);
+        schedule.setEndTime(end);
+        schedule.setIsAvailable(true);
+        return schedule;
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.back_end.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.back_end.services.TokenService;
+
+/**
+ * JWT signing and verification, paid on every login and every authenticated request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(SyntheticData.JWT_SECRET, 15);
+        token = tokenService.generateToken("doctor1@example.com", "doctor", 1L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken("doctor1@example.com", "doctor", 1L);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return tokenService.extractEmail(token);
+    }
+}
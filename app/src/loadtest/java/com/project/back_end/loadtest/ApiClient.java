@@ -0,0 +1,96 @@
+package com.project.back_end.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.project.back_end.config.QueryCountFilter;
+
+/**
+ * Thin HTTP client for the REST API that times every call, and notes its X-Query-Count, into the recorder
+ */
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    ApiClient(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    JsonNode get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET(), Set.of());
+    }
+
+    JsonNode post(String endpoint, String path, String token, Object body, Set<Integer> refusals) {
+        return send(endpoint, request(path, token).POST(json(body)).header("Content-Type", "application/json"),
+                refusals);
+    }
+
+    JsonNode put(String endpoint, String path, String token, Set<Integer> refusals) {
+        return send(endpoint, request(path, token).PUT(HttpRequest.BodyPublishers.noBody()), refusals);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Send, time and classify a request; returns the parsed body, or a missing node when the call did not succeed.
+     * Statuses in refusals are expected business outcomes rather than errors.
+     */
+    private JsonNode send(String endpoint, HttpRequest.Builder builder, Set<Integer> refusals) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            int status = response.statusCode();
+            int queries = response.headers().firstValue(QueryCountFilter.HEADER).map(Integer::parseInt).orElse(0);
+            if (status >= 400) {
+                recorder.record(endpoint, elapsed,
+                        refusals.contains(status) ? LatencyRecorder.Outcome.rejected : LatencyRecorder.Outcome.error,
+                        queries, status + " " + abbreviate(new String(response.body(), StandardCharsets.UTF_8)));
+                return MissingNode.getInstance();
+            }
+            byte[] body = response.body();
+            JsonNode json = body.length == 0 ? MissingNode.getInstance() : objectMapper.readTree(body);
+            recorder.record(endpoint, elapsed, LatencyRecorder.Outcome.ok, queries);
+            return json;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, LatencyRecorder.Outcome.error, 0, e.toString());
+            return MissingNode.getInstance();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 300 ? body.substring(0, 300) + "..." : body;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.project.back_end.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.project.back_end.DTO.ReshardStatus;
+import com.project.back_end.config.ShardRoutingDataSource;
+import com.project.back_end.models.AppointmentShardMove;
+import com.project.back_end.repo.AppointmentShardMoveRepository;
+import com.project.back_end.repo.AppointmentShardRouter;
+import com.project.back_end.repo.AppointmentShards;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.services.AppointmentResharder;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Runs resharding from one shard to two over H2 databases: shard 0 is a primary behind the same
+ * lazy primary/replica router production uses, with a replica that never caught up, and shard 1
+ * a second database. Doctors with odd ids move to shard 1.
+ */
+class AppointmentResharderTest {
+
+    private static final List<Long> DOCTORS = List.of(1L, 2L, 3L, 4L);
+    private static final int ROWS_PER_DOCTOR = 3;
+
+    private static final AppointmentShardRouter BY_PARITY = (doctorId, shardCount) -> (int) (doctorId % shardCount);
+
+    private final Map<Long, AppointmentShardMove> directory = new ConcurrentHashMap<>();
+    private final AppointmentShardMoveRepository moveRepository = mock(AppointmentShardMoveRepository.class);
+    private final DoctorRepository doctorRepository = mock(DoctorRepository.class);
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private JdbcTemplate shard1;
+    private HikariDataSource shard1Pool;
+
+    @BeforeEach
+    void setUp() {
+        primary = database();
+        replica = database();
+        shard1Pool = new HikariDataSource();
+        shard1Pool.setJdbcUrl(url());
+        shard1 = new JdbcTemplate(shard1Pool);
+        for (JdbcTemplate shard : List.of(primary, replica, shard1)) {
+            shard.execute("CREATE TABLE appointments (id BIGINT PRIMARY KEY, doctor_id BIGINT NOT NULL,"
+                    + " appointment_date DATE NOT NULL, status VARCHAR(20) NOT NULL)");
+        }
+        long id = 1;
+        for (Long doctorId : DOCTORS) {
+            for (int i = 0; i < ROWS_PER_DOCTOR; i++) {
+                insert(primary, id++, doctorId);
+            }
+        }
+
+        when(doctorRepository.findAllIds()).thenReturn(DOCTORS);
+        when(moveRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(directory.values()));
+        when(moveRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<AppointmentShardMove> moves = invocation.getArgument(0);
+            moves.forEach(move -> directory.put(move.getDoctorId(), move));
+            return moves;
+        });
+        doAnswer(invocation -> directory.remove(invocation.<AppointmentShardMove>getArgument(0).getDoctorId()))
+                .when(moveRepository).delete(any());
+        doAnswer(invocation -> {
+            invocation.<Iterable<AppointmentShardMove>>getArgument(0)
+                    .forEach(move -> directory.remove(move.getDoctorId()));
+            return null;
+        }).when(moveRepository).deleteAll(anyIterable());
+    }
+
+    @AfterEach
+    void tearDown() {
+        shard1Pool.close();
+    }
+
+    @Test
+    void copiesFromThePrimaryWhenTheReplicaLags() throws InterruptedException {
+        ReshardStatus status = reshard();
+
+        assertThat(status.getState()).isEqualTo("done");
+        assertThat(status.getRowsCopied()).isEqualTo(2 * ROWS_PER_DOCTOR);
+        assertThat(doctorsOn(shard1)).containsExactly(1L, 1L, 1L, 3L, 3L, 3L);
+        assertThat(doctorsOn(primary)).containsExactly(2L, 2L, 2L, 4L, 4L, 4L);
+        assertThat(directory.values()).extracting(AppointmentShardMove::getState)
+                .containsOnly(AppointmentShardMove.State.moved);
+    }
+
+    @Test
+    void copyReplacesRowsLeftOnTheTargetByAnEarlierRun() throws InterruptedException {
+        insert(shard1, 900, 1L);
+
+        ReshardStatus status = reshard();
+
+        assertThat(status.getState()).isEqualTo("done");
+        assertThat(shard1.queryForList("SELECT id FROM appointments WHERE doctor_id = 1", Long.class))
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void failedBulkCopyLeavesNoCopiesBehind() throws InterruptedException {
+        shard1.execute("ALTER TABLE appointments ADD CONSTRAINT no_doctor_3 CHECK (doctor_id <> 3)");
+
+        ReshardStatus status = reshard();
+
+        assertThat(status.getState()).isEqualTo("failed");
+        assertThat(doctorsOn(shard1)).isEmpty();
+        assertThat(doctorsOn(primary)).hasSize(DOCTORS.size() * ROWS_PER_DOCTOR);
+        assertThat(directory).isEmpty();
+    }
+
+    private ReshardStatus reshard() throws InterruptedException {
+        LazyConnectionDataSourceProxy shard0 = new LazyConnectionDataSourceProxy(primary.getDataSource());
+        shard0.setReadOnlyDataSource(replica.getDataSource());
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(shard0, List.of(shard1Pool));
+
+        AppointmentShards shards = new AppointmentShards(BY_PARITY, moveRepository,
+                new DataSourceTransactionManager(dataSource), List.of(shard1Pool.getJdbcUrl()), 1, 1, 1000);
+        AppointmentResharder resharder = new AppointmentResharder(shards, BY_PARITY, moveRepository,
+                doctorRepository, dataSource, 50, 0);
+        try {
+            assertThat(resharder.start(2).isSuccess()).isTrue();
+            for (int waited = 0; "running".equals(resharder.getStatus().getState()) && waited < 200; waited++) {
+                Thread.sleep(50);
+            }
+            return resharder.getStatus();
+        } finally {
+            resharder.shutdown();
+        }
+    }
+
+    private static JdbcTemplate database() {
+        return new JdbcTemplate(new DriverManagerDataSource(url()));
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    private static void insert(JdbcTemplate shard, long id, Long doctorId) {
+        shard.update("INSERT INTO appointments (id, doctor_id, appointment_date, status) VALUES (?, ?, ?, 'scheduled')",
+                id, doctorId, LocalDate.of(2026, 5, 1).plusDays(id));
+    }
+
+    private static List<Long> doctorsOn(JdbcTemplate shard) {
+        return shard.queryForList("SELECT doctor_id FROM appointments ORDER BY doctor_id", Long.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.back_end.loadtest;
+
+import static com.project.back_end.support.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.DoctorScheduleRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.repo.PrescriptionRepository;
+
+/**
+ * End-to-end load test: boots the app on H2 and an in-process Mongo, seeds a clinic, drives a
+ * booking/search/records/doctor/login mix over HTTP and reports p50/p99 and errors per endpoint.
+ * Fails on too many failed logins or errors elsewhere (each against loadtest.max-error-rate), or
+ * when an endpoint runs more SQL than query-budgets.properties allows.
+ *
+ * mvn -P loadtest test -Dloadtest.users=32 -Dloadtest.duration-seconds=120 -Dloadtest.run=$(git rev-parse --short HEAD)
+ */
+@SpringBootTest(classes = LoadTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class ClinicLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClinicLoadTest.class);
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", EmbeddedMongo::uri);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private DoctorScheduleRepository doctorScheduleRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void bookingSearchRecordsAndLoginMix() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        SeedData.Clinic clinic = new SeedData(doctorRepository, doctorScheduleRepository, patientRepository,
+                appointmentRepository, prescriptionRepository, passwordEncoder).seed(settings);
+        logger.info("Seeded {} doctors and {} patients; running {} users for {} after {} warmup",
+                clinic.doctors().size(), clinic.patients().size(), settings.users(), settings.duration(),
+                settings.warmup());
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        ApiClient api = new ApiClient("http://localhost:" + port, recorder);
+        long warmupEnd = System.nanoTime() + settings.warmup().toNanos();
+        long deadline = warmupEnd + settings.duration().toNanos();
+
+        ExecutorService users = Executors.newFixedThreadPool(settings.users());
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < settings.users(); i++) {
+            running.add(users.submit(new VirtualUser(api, clinic, i, settings.seed(), deadline)));
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        recorder.start();
+        for (Future<?> user : running) {
+            user.get();
+        }
+        recorder.stop();
+        users.shutdown();
+
+        Map<String, LatencyRecorder.EndpointSummary> summaries = recorder.summarize(settings.duration().toSeconds());
+        Path report = LoadReport.write(settings, summaries);
+        logger.info("{}Report written to {}", LoadReport.table(summaries), report.toAbsolutePath());
+
+        LoadReport.Totals totals = LoadReport.totals(summaries);
+        assertTrue(totals.requests() > 0, "No requests completed");
+        assertTrue(totals.failedLogins() <= totals.logins() * settings.maxErrorRate(),
+                "Failed logins " + totals.failedLogins() + "/" + totals.logins() + " above " + settings.maxErrorRate());
+        assertTrue(totals.errors() <= totals.requests() * settings.maxErrorRate(),
+                "Error rate " + totals.errors() + "/" + totals.requests() + " above " + settings.maxErrorRate());
+
+        Properties budgets = queryBudgets();
+        for (LatencyRecorder.EndpointSummary summary : summaries.values()) {
+            String budget = budgets.getProperty(summary.endpoint());
+            if (budget != null) {
+                assertMaxQueries(Integer.parseInt(budget.trim()), summary.endpoint(), summary.maxQueries());
+            }
+        }
+    }
+
+    private static Properties queryBudgets() throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = ClinicLoadTest.class.getResourceAsStream("/query-budgets.properties")) {
+            if (in != null) {
+                budgets.load(in);
+            }
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.back_end.loadtest;
+
+import java.net.InetSocketAddress;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+/**
+ * In-process, in-memory server speaking the Mongo wire protocol, so the real drivers
+ * (blocking and reactive) run unchanged without a mongod binary
+ */
+final class EmbeddedMongo {
+
+    private static MongoServer server;
+
+    private EmbeddedMongo() {
+    }
+
+    static synchronized String uri() {
+        if (server == null) {
+            server = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = server.bind();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::shutdownNow, "embedded-mongo-shutdown"));
+            return uri(address);
+        }
+        return uri(server.getLocalAddress());
+    }
+
+    private static String uri(InetSocketAddress address) {
+        return "mongodb://" + address.getHostString() + ":" + address.getPort() + "/prescriptions";
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.back_end.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint response times, outcomes and the most SQL statements one call ran. Endpoints are
+ * labelled by route template (e.g. "GET /doctor/{id}"), so every call to the same handler lands in one bucket.
+ */
+final class LatencyRecorder {
+
+    enum Outcome {
+        ok,
+        /** An expected business refusal, e.g. a slot someone else just booked */
+        rejected,
+        error
+    }
+
+    record EndpointSummary(String endpoint, long requests, long rejected, long errors, double p50Millis,
+            double p90Millis, double p99Millis, double maxMillis, double throughputPerSecond, int maxQueries,
+            String firstError) {
+    }
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        samples.clear();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String endpoint, long nanos, Outcome outcome, int queries) {
+        record(endpoint, nanos, outcome, queries, null);
+    }
+
+    /**
+     * Record a call; for errors, detail (status and body) is kept for the first one per endpoint
+     */
+    void record(String endpoint, long nanos, Outcome outcome, int queries, String detail) {
+        if (recording) {
+            samples.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, outcome, queries, detail);
+        }
+    }
+
+    Map<String, EndpointSummary> summarize(double seconds) {
+        Map<String, EndpointSummary> summaries = new TreeMap<>();
+        samples.forEach((endpoint, endpointSamples) -> summaries.put(endpoint,
+                endpointSamples.summarize(endpoint, seconds)));
+        return summaries;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long rejected;
+        private long errors;
+        private int maxQueries;
+        private String firstError;
+
+        synchronized void add(long value, Outcome outcome, int queries, String detail) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            maxQueries = Math.max(maxQueries, queries);
+            if (outcome == Outcome.rejected) {
+                rejected++;
+            } else if (outcome == Outcome.error) {
+                errors++;
+                if (firstError == null) {
+                    firstError = detail;
+                }
+            }
+        }
+
+        synchronized EndpointSummary summarize(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointSummary(endpoint, size, rejected, errors, percentile(sorted, 0.50),
+                    percentile(sorted, 0.90), percentile(sorted, 0.99), size == 0 ? 0 : sorted[size - 1] / 1e6,
+                    size / seconds, maxQueries, firstError);
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
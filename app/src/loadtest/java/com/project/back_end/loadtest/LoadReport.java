@@ -0,0 +1,80 @@
+package com.project.back_end.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Prints the per-endpoint table and writes it as JSON so runs can be compared
+ */
+final class LoadReport {
+
+    /**
+     * Failed logins counted apart from errors on every other endpoint: a login refused by an
+     * overloaded hashing pool says nothing about the endpoints behind it
+     */
+    record Totals(long logins, long failedLogins, long requests, long errors) {
+    }
+
+    private LoadReport() {
+    }
+
+    static Totals totals(Map<String, LatencyRecorder.EndpointSummary> summaries) {
+        long logins = 0;
+        long failedLogins = 0;
+        long requests = 0;
+        long errors = 0;
+        for (LatencyRecorder.EndpointSummary s : summaries.values()) {
+            if (s.endpoint().endsWith("/login")) {
+                logins += s.requests();
+                failedLogins += s.errors();
+            } else {
+                requests += s.requests();
+                errors += s.errors();
+            }
+        }
+        return new Totals(logins, failedLogins, requests, errors);
+    }
+
+    static String table(Map<String, LatencyRecorder.EndpointSummary> summaries) {
+        StringBuilder table = new StringBuilder(String.format("%n%-42s %8s %8s %7s %9s %9s %9s %9s %8s %8s%n",
+                "endpoint", "requests", "rejected", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms", "req/s",
+                "max sql"));
+        for (LatencyRecorder.EndpointSummary s : summaries.values()) {
+            table.append(String.format("%-42s %8d %8d %7d %9.1f %9.1f %9.1f %9.1f %8.1f %8d%n", s.endpoint(),
+                    s.requests(), s.rejected(), s.errors(), s.p50Millis(), s.p90Millis(), s.p99Millis(), s.maxMillis(),
+                    s.throughputPerSecond(), s.maxQueries()));
+        }
+        Totals totals = totals(summaries);
+        table.append(String.format("failed logins: %d/%d, errors on other endpoints: %d/%d%n",
+                totals.failedLogins(), totals.logins(), totals.errors(), totals.requests()));
+        for (LatencyRecorder.EndpointSummary s : summaries.values()) {
+            if (s.firstError() != null) {
+                table.append(String.format("first error on %s: %s%n", s.endpoint(), s.firstError()));
+            }
+        }
+        return table.toString();
+    }
+
+    static Path write(LoadTestSettings settings, Map<String, LatencyRecorder.EndpointSummary> summaries)
+            throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("run", settings.run());
+        report.put("settings", settings);
+        report.put("totals", totals(summaries));
+        report.put("endpoints", summaries.values());
+
+        Path file = Path.of("target", "loadtest", settings.run() + ".json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(file.toFile(), report);
+        return file;
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.back_end.loadtest;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.project.back_end.BackEndApplication;
+
+/**
+ * The application as BackEndApplication configures it, minus the Thymeleaf page controllers.
+ * Their form posts (e.g. POST /doctor/login) collide with the REST endpoints when api.path is "/",
+ * and the load test only drives the REST API.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@AutoConfigurationPackage(basePackages = "com.project.back_end")
+@EnableScheduling
+@EnableAsync
+@ComponentScan(basePackages = "com.project.back_end", excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = BackEndApplication.class),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.project\\.back_end\\.mvc\\..*")
+})
+public class LoadTestApplication {
+}
@@ -0,0 +1,29 @@
+package com.project.back_end.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Knobs for a load test run, read from -Dloadtest.* system properties
+ */
+record LoadTestSettings(
+        int users,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        int doctors,
+        int patients,
+        double maxErrorRate,
+        String run) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 16),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Long.getLong("loadtest.seed", 42),
+                Integer.getInteger("loadtest.doctors", 40),
+                Integer.getInteger("loadtest.patients", 400),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")),
+                System.getProperty("loadtest.run", "latest"));
+    }
+}
@@ -0,0 +1,305 @@
+package com.project.back_end.loadtest;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.AuditLog;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.AuditLogRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.DoctorScheduleRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.repo.PrescriptionRepository;
+import com.project.back_end.support.QueryPlanAssertions;
+import com.project.back_end.support.QueryPlanAssertions.QueryPlan;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Runs every query of the appointment, doctor, patient and audit log repositories against a seeded
+ * schema and fails if one scans a table, or sorts outside an index, beyond MAX_ROWS rows. Every
+ * seeded table is several times larger than that, so a query whose index is missing fails here
+ * instead of slowing down once production tables grow. Queries that read most of a table by
+ * design are run too but only have to work.
+ *
+ * Runs on H2 with the load test profile ({@code mvn test -Ploadtest -Dtest=QueryPlanTest}); with
+ * -Dqueryplan.datasource-url (and spring.datasource.username/password) pointing at a scratch MySQL
+ * schema it checks MySQL's plans instead. The schema is dropped afterwards.
+ */
+@SpringBootTest(classes = LoadTestApplication.class, properties = "spring.datasource.url=${queryplan.datasource-url:"
+        + "jdbc:h2:mem:queryplans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1}")
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int MAX_ROWS = 100;
+    private static final int DOCTORS = 300;
+    private static final int PATIENTS = 1000;
+    private static final int AUDIT_LOGS = 600;
+    private static final String[] AUDIT_ACTIONS = {
+            "LOGIN", "LOGOUT", "BOOK_APPOINTMENT", "CANCEL_APPOINTMENT", "COMPLETE_APPOINTMENT", "CREATE_PRESCRIPTION",
+            "UPDATE_PRESCRIPTION", "UPDATE_PROFILE", "CHANGE_PASSWORD", "CREATE_DOCTOR", "DEACTIVATE_DOCTOR", "EXPORT" };
+
+    @TestConfiguration
+    static class Plans {
+        @Bean
+        QueryExecutionListener queryPlanCapture() {
+            return QueryPlanAssertions.LISTENER;
+        }
+    }
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", EmbeddedMongo::uri);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private DoctorScheduleRepository doctorScheduleRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private SeedData.Clinic clinic;
+
+    @BeforeAll
+    void seed() {
+        clinic = new SeedData(doctorRepository, doctorScheduleRepository, patientRepository, appointmentRepository,
+                prescriptionRepository, passwordEncoder)
+                .seed(new LoadTestSettings(0, Duration.ZERO, Duration.ZERO, 42, DOCTORS, PATIENTS, 0, "query-plans"));
+
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < AUDIT_LOGS; i++) {
+            AuditLog log = new AuditLog();
+            log.setUserType(AuditLog.UserType.values()[i % AuditLog.UserType.values().length]);
+            log.setUserId((long) (1 + i % 50));
+            log.setAction(AUDIT_ACTIONS[i % AUDIT_ACTIONS.length]);
+            logs.add(log);
+        }
+        auditLogRepository.saveAll(logs);
+    }
+
+    @Test
+    void appointmentQueries() throws Throwable {
+        Checks checks = new Checks(AppointmentRepository.class);
+        long doctorId = clinic.doctors().get(0).id();
+        long patientId = clinic.patients().get(0).id();
+        LocalDate today = LocalDate.now();
+        Appointment appointment = appointmentRepository.findByPatientIdOrderByAppointmentDateDesc(patientId).get(0);
+
+        checks.wholeTable("findAll", "lists every appointment by definition",
+                () -> appointmentRepository.findAll());
+        checks.indexed("findByPatientIdOrderByAppointmentDateDesc",
+                () -> appointmentRepository.findByPatientIdOrderByAppointmentDateDesc(patientId));
+        checks.indexed("findTimelineItems",
+                () -> appointmentRepository.findTimelineItems(patientId, null, null, null, Limit.of(20)));
+        checks.indexed("findByPatientIdAndStatus",
+                () -> appointmentRepository.findByPatientIdAndStatus(patientId, Appointment.AppointmentStatus.completed));
+        checks.indexed("findByPatientIdAndAppointmentDateBetween",
+                () -> appointmentRepository.findByPatientIdAndAppointmentDateBetween(patientId, today.minusYears(1), today));
+        checks.indexed("findByDoctorIdOrderByAppointmentDateDesc",
+                () -> appointmentRepository.findByDoctorIdOrderByAppointmentDateDesc(doctorId));
+        checks.indexed("findByDoctorIdAndPatientId",
+                () -> appointmentRepository.findByDoctorIdAndPatientId(doctorId, patientId));
+        checks.indexed("findByDoctorIdAndAppointmentDateBetweenAndStatusNot",
+                () -> appointmentRepository.findByDoctorIdAndAppointmentDateBetweenAndStatusNot(doctorId,
+                        today.minusDays(30), today.plusDays(30), Appointment.AppointmentStatus.cancelled));
+        checks.indexed("findTakenSlots",
+                () -> appointmentRepository.findTakenSlots(clinic.doctors().subList(0, 5).stream()
+                        .map(SeedData.SeededDoctor::id).toList(), today, today.plusDays(6),
+                        Appointment.AppointmentStatus.cancelled));
+        checks.indexed("findByDoctorIdAndAppointmentDateGreaterThanEqualOrderByAppointmentDateAsc",
+                () -> appointmentRepository.findByDoctorIdAndAppointmentDateGreaterThanEqualOrderByAppointmentDateAsc(
+                        doctorId, today));
+        checks.indexed("existsByDoctorIdAndAppointmentDateAndAppointmentTime",
+                () -> appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTime(doctorId,
+                        appointment.getAppointmentDate(), appointment.getAppointmentTime()));
+        checks.indexed("existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot",
+                () -> appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(doctorId,
+                        appointment.getAppointmentDate(), LocalTime.of(9, 0), Appointment.AppointmentStatus.cancelled));
+        checks.indexed("countByDoctorId",
+                () -> appointmentRepository.countByDoctorId(doctorId));
+        checks.indexed("countByDoctorIdAndStatus",
+                () -> appointmentRepository.countByDoctorIdAndStatus(doctorId, Appointment.AppointmentStatus.completed));
+        checks.indexed("countByAppointmentDate",
+                () -> appointmentRepository.countByAppointmentDate(appointment.getAppointmentDate()));
+        checks.wholeTable("countAllWithTimeout", "counts every appointment by definition",
+                () -> appointmentRepository.countAllWithTimeout());
+        // Last: it deletes the last seeded doctor's appointments, which no other check uses
+        checks.indexed("deleteAllByDoctorId",
+                () -> appointmentRepository.deleteAllByDoctorId(clinic.doctors().get(DOCTORS - 1).id()));
+        checks.verify();
+    }
+
+    @Test
+    void doctorQueries() throws Throwable {
+        Checks checks = new Checks(DoctorRepository.class);
+        SeedData.SeededDoctor doctor = clinic.doctors().get(7);
+        String username = doctorRepository.findById(doctor.id()).orElseThrow().getUsername();
+
+        checks.indexed("findByEmail", () -> doctorRepository.findByEmail(doctor.email()));
+        checks.indexed("findByUsername", () -> doctorRepository.findByUsername(username));
+        checks.indexedExceptH2("findByEmailOrUsername", "H2 cannot combine two indexes for an OR; MySQL merges them",
+                () -> doctorRepository.findByEmailOrUsername(username, username));
+        checks.wholeTable("findByUsernameContainingIgnoreCase", "a substring match cannot use a B-tree index",
+                () -> doctorRepository.findByUsernameContainingIgnoreCase("doctor1"));
+        checks.wholeTable("findByUsernameContainingIgnoreCaseAndSpecialization",
+                "a substring match cannot use a B-tree index",
+                () -> doctorRepository.findByUsernameContainingIgnoreCaseAndSpecialization("doctor1",
+                        doctor.specialization()));
+        checks.indexed("findBySpecialization", () -> doctorRepository.findBySpecialization(doctor.specialization()));
+        checks.wholeTable("findByIsActiveTrue", "nearly every doctor is active",
+                () -> doctorRepository.findByIsActiveTrue());
+        checks.wholeTable("findByIsActiveFalse", "is_active has two values; an index would not be chosen",
+                () -> doctorRepository.findByIsActiveFalse());
+        checks.wholeTable("findAllIds", "lists every doctor by definition",
+                () -> doctorRepository.findAllIds());
+        checks.indexed("findUserSummaries",
+                () -> doctorRepository.findUserSummaries(doctor.id(), null, null, Limit.of(20)));
+        checks.wholeTable("countByIsActive", "is_active has two values; an index would not be chosen",
+                () -> doctorRepository.countByIsActive(true));
+        checks.wholeTable("countAllWithTimeout", "counts every doctor by definition",
+                () -> doctorRepository.countAllWithTimeout());
+        checks.wholeTable("findActiveVersion", "aggregates every active doctor by definition",
+                () -> doctorRepository.findActiveVersion());
+        checks.indexed("findVersionById", () -> doctorRepository.findVersionById(doctor.id()));
+        checks.verify();
+    }
+
+    @Test
+    void patientQueries() throws Throwable {
+        Checks checks = new Checks(PatientRepository.class);
+        SeedData.SeededPatient patient = clinic.patients().get(11);
+        String username = patientRepository.findById(patient.id()).orElseThrow().getUsername();
+        String phone = patientRepository.findById(patient.id()).orElseThrow().getPhone();
+
+        checks.indexed("findByEmail", () -> patientRepository.findByEmail(patient.email()));
+        checks.indexed("findByUsername", () -> patientRepository.findByUsername(username));
+        checks.indexedExceptH2("findByEmailOrUsername", "H2 cannot combine two indexes for an OR; MySQL merges them",
+                () -> patientRepository.findByEmailOrUsername(username, username));
+        checks.indexedExceptH2("findByEmailOrPhone", "H2 cannot combine two indexes for an OR; MySQL merges them",
+                () -> patientRepository.findByEmailOrPhone(patient.email(), phone));
+        checks.wholeTable("findByIsActive", "is_active has two values; an index would not be chosen",
+                () -> patientRepository.findByIsActive(true));
+        checks.indexed("findUserSummaries",
+                () -> patientRepository.findUserSummaries(patient.id(), true, "loadpatient%", Limit.of(20)));
+        checks.wholeTable("countByIsActive", "is_active has two values; an index would not be chosen",
+                () -> patientRepository.countByIsActive(true));
+        checks.wholeTable("countAllWithTimeout", "counts every patient by definition",
+                () -> patientRepository.countAllWithTimeout());
+        checks.verify();
+    }
+
+    @Test
+    void auditLogQueries() throws Throwable {
+        Checks checks = new Checks(AuditLogRepository.class);
+
+        checks.indexed("findByUserType", () -> auditLogRepository.findByUserType(AuditLog.UserType.doctor));
+        checks.indexed("findByAction", () -> auditLogRepository.findByAction("CANCEL_APPOINTMENT"));
+        checks.indexed("findByUserTypeAndAction",
+                () -> auditLogRepository.findByUserTypeAndAction(AuditLog.UserType.patient, "LOGIN"));
+        checks.verify();
+    }
+
+    /**
+     * The checks for one repository; verify() fails on any bad plan, and on a query method that
+     * was never run, so a new query cannot skip the suite
+     */
+    private final class Checks {
+        private final Class<?> repository;
+        private final Set<String> run = new HashSet<>();
+        private final List<String> failures = new ArrayList<>();
+
+        private Checks(Class<?> repository) {
+            this.repository = repository;
+        }
+
+        void indexed(String method, Executable query) throws Throwable {
+            check(method, query, true);
+        }
+
+        void indexedExceptH2(String method, String reason, Executable query) throws Throwable {
+            boolean h2;
+            try (var connection = dataSource.getConnection()) {
+                h2 = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("H2");
+            }
+            check(method, query, !h2);
+        }
+
+        void wholeTable(String method, String reason, Executable query) throws Throwable {
+            check(method, query, false);
+        }
+
+        private void check(String method, Executable query, boolean mustBeIndexed) throws Throwable {
+            run.add(method);
+            List<QueryPlan> plans = QueryPlanAssertions.explain(dataSource, query);
+            if (plans.isEmpty()) {
+                failures.add(method + " ran no SQL; a cached result hides its plan");
+            }
+            if (!mustBeIndexed) {
+                return;
+            }
+            for (QueryPlan plan : plans) {
+                List<String> problems = plan.problems(MAX_ROWS);
+                if (!problems.isEmpty()) {
+                    failures.add(method + ": " + String.join(", ", problems) + "\n" + plan);
+                }
+            }
+        }
+
+        void verify() {
+            Set<String> declared = new TreeSet<>();
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic()
+                            && !Modifier.isStatic(method.getModifiers()))
+                    .map(Method::getName)
+                    .forEach(declared::add);
+            declared.removeAll(run);
+            if (!declared.isEmpty()) {
+                failures.add("Not checked: " + declared);
+            }
+            if (!failures.isEmpty()) {
+                fail(repository.getSimpleName() + " query plans above " + MAX_ROWS + " rows:\n\n"
+                        + String.join("\n\n", failures));
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.project.back_end.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.DoctorSchedule;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.DoctorScheduleRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.repo.PrescriptionRepository;
+
+/**
+ * Seeds a clinic with doctors on weekly schedules, patients with a visit history, and
+ * prescriptions for past visits. The same seed always produces the same data.
+ */
+final class SeedData {
+
+    static final String PASSWORD = "LoadTest123!";
+    static final String[] SPECIALIZATIONS = {
+            "Cardiology", "Dermatology", "Neurology", "Pediatrics", "Orthopedics", "General Practice" };
+
+    private static final String[] REASONS = {
+            "Annual checkup", "Follow-up visit", "Persistent headache", "Skin rash", "Back pain", "Vaccination" };
+    private static final String[] MEDICATIONS = { "Amoxicillin", "Ibuprofen", "Lisinopril", "Metformin", "Cetirizine" };
+
+    record SeededDoctor(long id, String email, String specialization) {
+    }
+
+    record SeededPatient(long id, String email, List<Long> pastAppointmentIds) {
+    }
+
+    record Clinic(List<SeededDoctor> doctors, List<SeededPatient> patients) {
+    }
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    SeedData(DoctorRepository doctorRepository, DoctorScheduleRepository doctorScheduleRepository,
+            PatientRepository patientRepository, AppointmentRepository appointmentRepository,
+            PrescriptionRepository prescriptionRepository, PasswordEncoder passwordEncoder) {
+        this.doctorRepository = doctorRepository;
+        this.doctorScheduleRepository = doctorScheduleRepository;
+        this.patientRepository = patientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.prescriptionRepository = prescriptionRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    Clinic seed(LoadTestSettings settings) {
+        Random random = new Random(settings.seed());
+        // One hash for everyone: seeding should not spend minutes in BCrypt
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        List<Doctor> doctors = doctorRepository.saveAll(doctors(settings.doctors(), passwordHash, random));
+        doctorScheduleRepository.saveAll(schedules(doctors, random));
+        List<Patient> patients = patientRepository.saveAll(patients(settings.patients(), passwordHash, random));
+
+        // A past visit history (mostly completed) and a few upcoming visits per patient
+        List<Appointment> appointments = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (Patient patient : patients) {
+            int visits = 1 + random.nextInt(5);
+            for (int visit = 0; visit < visits; visit++) {
+                Doctor doctor = doctors.get(random.nextInt(doctors.size()));
+                LocalDate date = today.minusDays(1 + random.nextInt(365));
+                Appointment.AppointmentStatus status = random.nextInt(10) < 8
+                        ? Appointment.AppointmentStatus.completed
+                        : random.nextBoolean() ? Appointment.AppointmentStatus.cancelled
+                                : Appointment.AppointmentStatus.no_show;
+                appointments.add(appointment(patient, doctor, date, randomSlot(random), status, random));
+            }
+            if (random.nextInt(3) == 0) {
+                Doctor doctor = doctors.get(random.nextInt(doctors.size()));
+                appointments.add(appointment(patient, doctor, today.plusDays(1 + random.nextInt(14)), randomSlot(random),
+                        Appointment.AppointmentStatus.scheduled, random));
+            }
+        }
+        appointments = appointmentRepository.saveAll(appointments);
+
+        Map<Long, List<Long>> pastByPatient = new HashMap<>();
+        List<Prescription> prescriptions = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            if (appointment.getStatus() == Appointment.AppointmentStatus.completed) {
+                pastByPatient.computeIfAbsent(appointment.getPatient().getId(), id -> new ArrayList<>())
+                        .add(appointment.getId());
+                prescriptions.add(prescription(appointment, random));
+            }
+        }
+        prescriptionRepository.saveAll(prescriptions);
+
+        return new Clinic(
+                doctors.stream().map(d -> new SeededDoctor(d.getId(), d.getEmail(), d.getSpecialization())).toList(),
+                patients.stream().map(p -> new SeededPatient(p.getId(), p.getEmail(),
+                        pastByPatient.getOrDefault(p.getId(), List.of()))).toList());
+    }
+
+    private static List<Doctor> doctors(int count, String passwordHash, Random random) {
+        List<Doctor> doctors = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setUsername("loaddoctor" + i);
+            doctor.setEmail("loaddoctor" + i + "@example.com");
+            doctor.setPasswordHash(passwordHash);
+            doctor.setPhone(String.format("555-1%03d", i));
+            doctor.setSpecialization(SPECIALIZATIONS[i % SPECIALIZATIONS.length]);
+            doctor.setBio("Physician with " + (2 + random.nextInt(25)) + " years in practice.");
+            doctor.setConsultationFee(BigDecimal.valueOf(40 + random.nextInt(160)));
+            doctor.setYearsOfExperience(2 + random.nextInt(25));
+            doctors.add(doctor);
+        }
+        return doctors;
+    }
+
+    // Weekday office hours, some split around lunch, a few doctors also on Saturday mornings
+    private static List<DoctorSchedule> schedules(List<Doctor> doctors, Random random) {
+        List<DoctorSchedule> schedules = new ArrayList<>();
+        for (Doctor doctor : doctors) {
+            boolean split = random.nextBoolean();
+            for (DoctorSchedule.DayOfWeek day : DoctorSchedule.DayOfWeek.values()) {
+                if (day == DoctorSchedule.DayOfWeek.Sunday) {
+                    continue;
+                }
+                if (day == DoctorSchedule.DayOfWeek.Saturday) {
+                    if (random.nextInt(4) == 0) {
+                        schedules.add(schedule(doctor, day, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+                    }
+                } else if (split) {
+                    schedules.add(schedule(doctor, day, LocalTime.of(8, 0), LocalTime.of(12, 0)));
+                    schedules.add(schedule(doctor, day, LocalTime.of(13, 0), LocalTime.of(17, 0)));
+                } else {
+                    schedules.add(schedule(doctor, day, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+                }
+            }
+        }
+        return schedules;
+    }
+
+    private static DoctorSchedule schedule(Doctor doctor, DoctorSchedule.DayOfWeek day, LocalTime start, LocalTime end) {
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.setDoctor(doctor);
+        schedule.setDayOfWeek(day);
+        schedule.setStartTime(start);
+        schedule.setEndTime(end);
+        schedule.setIsAvailable(true);
+        return schedule;
+    }
+
+    private static List<Patient> patients(int count, String passwordHash, Random random) {
+        List<Patient> patients = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Patient patient = new Patient();
+            patient.setUsername("loadpatient" + i);
+            patient.setEmail("loadpatient" + i + "@example.com");
+            patient.setPasswordHash(passwordHash);
+            patient.setPhone(String.format("555-2%04d", i));
+            patient.setDateOfBirth(LocalDate.of(1940 + random.nextInt(65), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            patient.setGender(Patient.Gender.values()[random.nextInt(Patient.Gender.values().length)]);
+            patient.setAddress((1 + random.nextInt(999)) + " Elm Street");
+            patients.add(patient);
+        }
+        return patients;
+    }
+
+    private static Appointment appointment(Patient patient, Doctor doctor, LocalDate date, LocalTime time,
+            Appointment.AppointmentStatus status, Random random) {
+        Appointment appointment = new Appointment();
+        appointment.setPatient(patient);
+        appointment.setDoctor(doctor);
+        appointment.setAppointmentDate(date);
+        appointment.setAppointmentTime(time);
+        appointment.setStatus(status);
+        appointment.setAppointmentReason(REASONS[random.nextInt(REASONS.length)]);
+        if (status == Appointment.AppointmentStatus.completed) {
+            appointment.setCompletedAt(LocalDateTime.of(date, time).plusMinutes(30));
+            appointment.setConsultationNotes("Reviewed symptoms and history.");
+        }
+        return appointment;
+    }
+
+    private static LocalTime randomSlot(Random random) {
+        return LocalTime.of(9 + random.nextInt(8), random.nextBoolean() ? 0 : 30);
+    }
+
+    private static Prescription prescription(Appointment appointment, Random random) {
+        Prescription prescription = new Prescription();
+        prescription.setAppointmentId(appointment.getId());
+        prescription.setPatientId(appointment.getPatient().getId());
+        prescription.setDoctorId(appointment.getDoctor().getId());
+        prescription.setPatientName(appointment.getPatient().getUsername());
+        prescription.setDoctorName(appointment.getDoctor().getUsername());
+        prescription.setPrescriptionDate(appointment.getCompletedAt());
+        prescription.setExpiryDate(appointment.getCompletedAt().plusDays(30));
+        prescription.setDiagnosis(appointment.getAppointmentReason());
+        prescription.setMedications(List.of(new Prescription.Medication(
+                MEDICATIONS[random.nextInt(MEDICATIONS.length)], null, (1 + random.nextInt(4)) * 100 + "mg", "tablet",
+                "twice daily", (5 + random.nextInt(10)) + " days", 10 + random.nextInt(20), "Take with food")));
+        return prescription;
+    }
+}
@@ -0,0 +1,174 @@
+package com.project.back_end.loadtest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One simulated client running a weighted mix of patient and doctor journeys in a loop.
+ * Each virtual user acts as one seeded patient and one seeded doctor.
+ */
+final class VirtualUser implements Runnable {
+
+    private enum Journey {
+        book(30), browse(20), records(20), doctorDay(20), login(10);
+
+        private final int weight;
+
+        Journey(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(Journey.values()).mapToInt(j -> j.weight).sum();
+    private static final Set<Integer> BAD_REQUEST = Set.of(400);
+
+    private final ApiClient api;
+    private final SeedData.SeededPatient patient;
+    private final SeedData.SeededDoctor doctor;
+    private final List<SeedData.SeededDoctor> doctors;
+    private final Random random;
+    private final long deadlineNanos;
+
+    private String patientToken;
+    private String doctorToken;
+
+    VirtualUser(ApiClient api, SeedData.Clinic clinic, int index, long seed, long deadlineNanos) {
+        this.api = api;
+        this.patient = clinic.patients().get(index % clinic.patients().size());
+        this.doctor = clinic.doctors().get(index % clinic.doctors().size());
+        this.doctors = clinic.doctors();
+        this.random = new Random(seed + index);
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        while ((patientToken == null || doctorToken == null) && System.nanoTime() < deadlineNanos
+                && !Thread.currentThread().isInterrupted()) {
+            logIn();
+            if (patientToken == null || doctorToken == null) {
+                pause();
+            }
+        }
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            switch (pick()) {
+                case book -> book();
+                case browse -> browse();
+                case records -> records();
+                case doctorDay -> doctorDay();
+                case login -> logIn();
+            }
+        }
+    }
+
+    /**
+     * Find the earliest slots for a specialization, check one and book it; a slot taken by another
+     * user in the meantime is a refusal, not an error
+     */
+    private void book() {
+        String specialization = SeedData.SPECIALIZATIONS[random.nextInt(SeedData.SPECIALIZATIONS.length)];
+        JsonNode slots = api.get("GET /doctor/earliest-slots",
+                "/doctor/earliest-slots?limit=10&specialization=" + specialization.replace(" ", "%20"), patientToken)
+                .path("items");
+        if (slots.isEmpty()) {
+            return;
+        }
+        JsonNode slot = slots.get(random.nextInt(slots.size()));
+        long doctorId = slot.path("doctorId").asLong();
+        String date = slot.path("date").asText();
+        String time = slot.path("time").asText();
+
+        api.get("GET /doctor/{id}/availability",
+                "/doctor/" + doctorId + "/availability?date=" + date + "&time=" + time, patientToken);
+        api.post("POST /appointments", "/appointments", patientToken, Map.of(
+                "doctor", Map.of("id", doctorId),
+                "patient", Map.of("id", patient.id()),
+                "appointmentDate", date,
+                "appointmentTime", time,
+                "appointmentReason", "Load test booking"), BAD_REQUEST);
+        api.get("GET /patient/{id}/appointments", "/patient/" + patient.id() + "/appointments", patientToken);
+    }
+
+    private void browse() {
+        SeedData.SeededDoctor other = doctors.get(random.nextInt(doctors.size()));
+        api.get("GET /doctor/search", "/doctor/search?specialization="
+                + other.specialization().replace(" ", "%20"), patientToken);
+        api.get("GET /doctor/{id}", "/doctor/" + other.id(), patientToken);
+        api.get("GET /doctor/{id}/schedule", "/doctor/" + other.id() + "/schedule", patientToken);
+    }
+
+    private void records() {
+        api.get("GET /patient/{id}/appointments", "/patient/" + patient.id() + "/appointments", patientToken);
+        api.get("GET /patient/{id}/prescriptions", "/patient/" + patient.id() + "/prescriptions", patientToken);
+        if (!patient.pastAppointmentIds().isEmpty()) {
+            long appointmentId = patient.pastAppointmentIds().get(random.nextInt(patient.pastAppointmentIds().size()));
+            api.get("GET /prescriptions/appointment/{id}", "/prescriptions/appointment/" + appointmentId, patientToken);
+        }
+        api.get("GET /patient/{id}/timeline", "/patient/" + patient.id() + "/timeline?size=20", patientToken);
+    }
+
+    /**
+     * A doctor works through the agenda: complete the next visit and write its prescription
+     */
+    private void doctorDay() {
+        JsonNode upcoming = api.get("GET /appointments/doctor/{id}/upcoming",
+                "/appointments/doctor/" + doctor.id() + "/upcoming", doctorToken).path("appointments");
+        for (JsonNode appointment : upcoming) {
+            if (!"scheduled".equals(appointment.path("status").asText())) {
+                continue;
+            }
+            long appointmentId = appointment.path("id").asLong();
+            api.put("PUT /appointments/{id}/complete",
+                    "/appointments/" + appointmentId + "/complete?notes=Seen", doctorToken, BAD_REQUEST);
+            api.post("POST /prescriptions", "/prescriptions", doctorToken, Map.of(
+                    "appointmentId", appointmentId,
+                    "patientId", appointment.path("patient").path("id").asLong(),
+                    "diagnosis", "Load test diagnosis",
+                    "expiryDate", LocalDate.now().plusDays(30) + "T00:00:00",
+                    "medications", List.of(Map.of("name", "Ibuprofen", "dosage", "200mg", "frequency", "as needed"))),
+                    BAD_REQUEST);
+            break;
+        }
+        api.get("GET /prescriptions/doctor/{id}", "/prescriptions/doctor/" + doctor.id(), doctorToken);
+    }
+
+    /**
+     * Log in again as both roles; a failed login keeps the previous token, so it is counted once as
+     * a failed login instead of failing every call made with a missing token
+     */
+    private void logIn() {
+        patientToken = login("patient", patient.email(), patientToken);
+        doctorToken = login("doctor", doctor.email(), doctorToken);
+    }
+
+    private String login(String role, String email, String previousToken) {
+        JsonNode response = api.post("POST /" + role + "/login", "/" + role + "/login", null,
+                Map.of("username", email, "password", SeedData.PASSWORD), Set.of());
+        return response.path("token").asText(previousToken);
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Journey pick() {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (Journey journey : Journey.values()) {
+            roll -= journey.weight;
+            if (roll < 0) {
+                return journey;
+            }
+        }
+        return Journey.browse;
+    }
+}
@@ -3,9 +3,13 @@ package com.project.back_end;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan("com.project.back_end")
+@EnableScheduling
+@EnableAsync
 public class BackEndApplication {
 
 	public static void main(String[] args) {
@@ -1,19 +1,29 @@
 package com.project.back_end.DTO;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Admin dashboard counters. A counter that could not be refreshed within the latency budget
+ * carries its last known value (null if none) and is listed in staleMetrics with the time
+ * that value was loaded (null if never).
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AdminDashboardResponse {
-    private long totalPatients;
-    private long totalDoctors;
-    private long totalAppointments;
-    private long todayAppointments;
+    private Long totalPatients;
+    private Long totalDoctors;
+    private Long totalAppointments;
+    private Long todayAppointments;
+    private Map<String, LocalDateTime> staleMetrics;
 
-    public static AdminDashboardResponse of(long patients, long doctors, long appointments, long today) {
-        return new AdminDashboardResponse(patients, doctors, appointments, today);
+    public static AdminDashboardResponse of(Long patients, Long doctors, Long appointments, Long today,
+            Map<String, LocalDateTime> staleMetrics) {
+        return new AdminDashboardResponse(patients, doctors, appointments, today, staleMetrics);
     }
 }
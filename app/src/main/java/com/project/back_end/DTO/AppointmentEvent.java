@@ -0,0 +1,38 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.project.back_end.models.Appointment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Incremental appointment change pushed to a doctor's live dashboard
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentEvent {
+    private Type type;
+    private Long appointmentId;
+    private Long doctorId;
+    private Long patientId;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private Appointment.AppointmentStatus status;
+    private LocalDateTime occurredAt;
+
+    public enum Type {
+        booked, cancelled, rescheduled, completed, updated
+    }
+
+    public static AppointmentEvent of(Type type, Appointment appointment) {
+        return new AppointmentEvent(type, appointment.getId(), appointment.getDoctor().getId(),
+                appointment.getPatient().getId(), appointment.getAppointmentDate(),
+                appointment.getAppointmentTime(), appointment.getStatus(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A free appointment slot with a specific doctor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlot {
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private LocalDate date;
+    private LocalTime time;
+}
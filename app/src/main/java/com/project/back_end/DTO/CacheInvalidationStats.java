@@ -0,0 +1,22 @@
+package com.project.back_end.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationStats {
+    private String nodeId;
+    private long published;
+    private long applied;
+    private long lastSeenId;
+    private int pendingGaps;
+    private long abandonedGaps;
+    private double publishedPerSecond;
+    private double appliedPerSecond;
+    private long lastLagMillis;
+    private long maxLagMillis;
+    private double averageLagMillis;
+}
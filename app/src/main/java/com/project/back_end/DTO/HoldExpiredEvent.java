@@ -0,0 +1,28 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.project.back_end.models.SlotHold;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A slot hold that lapsed without being booked, so its slot is free again
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldExpiredEvent {
+    private Long doctorId;
+    private Long patientId;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+
+    public static HoldExpiredEvent of(SlotHold hold) {
+        return new HoldExpiredEvent(hold.getDoctorId(), hold.getPatientId(), hold.getAppointmentDate(),
+                hold.getAppointmentTime());
+    }
+}
@@ -12,12 +12,13 @@ public class LoginResponse<T> {
     private String message;
     private String token;
     private T user;
+    private String refreshToken;
 
-    public static <T> LoginResponse<T> success(String token, T user) {
-        return new LoginResponse<>(true, null, token, user);
+    public static <T> LoginResponse<T> success(String token, String refreshToken, T user) {
+        return new LoginResponse<>(true, null, token, user, refreshToken);
     }
 
     public static <T> LoginResponse<T> error(String message) {
-        return new LoginResponse<>(false, message, null, null);
+        return new LoginResponse<>(false, message, null, null, null);
     }
 }
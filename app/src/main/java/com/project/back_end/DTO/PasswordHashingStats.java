@@ -0,0 +1,18 @@
+package com.project.back_end.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashingStats {
+    private long completed;
+    private long rejected;
+    private long timedOut;
+    private int queueDepth;
+    private int activeThreads;
+    private double averageMillis;
+    private double maxMillis;
+}
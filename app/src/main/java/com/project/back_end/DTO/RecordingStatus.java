@@ -0,0 +1,25 @@
+package com.project.back_end.DTO;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of the on-demand flight recording
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatus {
+    private String state;
+    private String settings;
+    private Instant startedAt;
+    private long maxAgeMinutes;
+    private long sizeBytes;
+
+    public static RecordingStatus none() {
+        return new RecordingStatus("none", null, null, 0, 0);
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an appointment resharding run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReshardStatus {
+    private String state;
+    private int targetShards;
+    private int doctorsToMove;
+    private int doctorsMoved;
+    private long rowsCopied;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public static ReshardStatus idle() {
+        return new ReshardStatus("idle", 0, 0, 0, 0, null, null, null);
+    }
+}
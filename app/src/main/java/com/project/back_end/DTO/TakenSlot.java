@@ -0,0 +1,20 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A doctor's slot that is already booked, read without loading the appointment
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TakenSlot {
+    private Long doctorId;
+    private LocalDate date;
+    private LocalTime time;
+}
@@ -0,0 +1,50 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Prescription;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a patient's timeline: an appointment (MySQL) or a prescription (Mongo).
+ * id is the source's own id; occurredAt is null only for legacy undated prescriptions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineItem {
+
+    public enum Type {
+        appointment, prescription
+    }
+
+    private Type type;
+    private String id;
+    private LocalDateTime occurredAt;
+    private String status;
+    private Long doctorId;
+    private String doctorName;
+    private String summary;
+    private Long appointmentId;
+
+    /**
+     * JPQL constructor projection for appointments
+     */
+    public TimelineItem(Long id, LocalDate appointmentDate, LocalTime appointmentTime,
+            Appointment.AppointmentStatus status, Long doctorId, String doctorName, String reason) {
+        this(Type.appointment, String.valueOf(id), LocalDateTime.of(appointmentDate, appointmentTime),
+                status != null ? status.name() : null, doctorId, doctorName, reason, id);
+    }
+
+    public static TimelineItem of(Prescription prescription) {
+        return new TimelineItem(Type.prescription, prescription.getId(), prescription.getPrescriptionDate(),
+                prescription.getStatus(), prescription.getDoctorId(), prescription.getDoctorName(),
+                prescription.getDiagnosis(), prescription.getAppointmentId());
+    }
+}
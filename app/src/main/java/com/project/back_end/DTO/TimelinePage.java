@@ -0,0 +1,19 @@
+package com.project.back_end.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a patient's merged timeline, newest first.
+ * nextCursor is opaque; pass it back for the following page (null when exhausted).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelinePage {
+    private List<TimelineItem> items;
+    private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.project.back_end.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page of the user directory for a single user type.
+ * nextCursor is the id to pass back for the following page (null when exhausted);
+ * total is null for search queries, which are not counted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPage {
+    private List<UserSummary> items;
+    private Long nextCursor;
+    private Long total;
+
+    public static UserPage of(List<UserSummary> items, int size, Long total) {
+        Long nextCursor = items.size() < size ? null : items.get(items.size() - 1).getId();
+        return new UserPage(items, nextCursor, total);
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Slim projection of a patient, doctor or admin row for the admin user directory.
+ * Never carries the password hash or free-text profile columns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String email;
+    private String phone;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+}
@@ -1,11 +1,5 @@
 package com.project.back_end.DTO;
 
-import java.util.List;
-
-import com.project.back_end.models.Admin;
-import com.project.back_end.models.Doctor;
-import com.project.back_end.models.Patient;
-
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,7 +10,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class UsersResponse {
-    private List<Patient> patients;
-    private List<Doctor> doctors;
-    private List<Admin> admins;
+    private UserPage patients;
+    private UserPage doctors;
+    private UserPage admins;
 }
@@ -0,0 +1,26 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fingerprint of the rows behind a GET response, cheap to read ahead of the rows themselves: how
+ * many there are, the sum of their ids and the latest updatedAt. An insert or update moves
+ * lastUpdated forward and a delete changes the count; the id sum covers a delete plus an insert
+ * stamped by a node whose clock is behind. Equal stamps therefore mean an equal response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionStamp {
+    private Long rows;
+    private Long idSum;
+    private LocalDateTime lastUpdated;
+
+    public boolean isEmpty() {
+        return rows == null || rows == 0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.back_end.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Appointment sharding, active only when appointment.sharding.urls lists at least one extra shard.
+ *
+ * The application DataSource (plain primary, or the primary/replica router) becomes shard 0 and
+ * each url adds a shard with the same credentials. Every shard runs the full schema; the small
+ * reference tables (doctors, patients) must be replicated to each shard so appointment joins and
+ * foreign keys resolve locally, while appointment rows live only on their doctor's shard. Give
+ * each shard a distinct auto_increment_offset (auto_increment_increment = shard count or more)
+ * so appointment ids stay unique across shards and survive being moved.
+ */
+@Configuration
+@ConditionalOnExpression("!'${appointment.sharding.urls:}'.isBlank()")
+public class AppointmentShardingConfig {
+
+    @Bean
+    public static BeanPostProcessor appointmentShardingDataSourcePostProcessor(Environment environment) {
+        return new ShardingDataSourcePostProcessor(environment);
+    }
+
+    private static List<HikariDataSource> buildShards(Environment environment) {
+        String[] urls = environment.getRequiredProperty("appointment.sharding.urls").split(",");
+        int poolSize = environment.getProperty("appointment.sharding.pool-size", Integer.class, 10);
+
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(environment.getProperty("spring.datasource.username"))
+                    .password(environment.getProperty("spring.datasource.password"))
+                    .build();
+            shard.setPoolName("appointment-shard-" + (shards.size() + 1));
+            shard.setMaximumPoolSize(poolSize);
+            shard.setConnectionTimeout(
+                    environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L));
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    // Ordered, so it runs before unordered post-processors: the DataSource proxy must wrap the
+    // router rather than become its shard 0
+    private static final class ShardingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        private ShardingDataSourcePostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                return bean;
+            }
+            return new ShardRoutingDataSource(primary, buildShards(environment));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
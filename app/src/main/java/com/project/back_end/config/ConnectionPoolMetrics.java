@@ -0,0 +1,70 @@
+package com.project.back_end.config;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Hikari gauges and timers (hikaricp.connections.*, tagged by pool) for every pool, including the
+ * replica and appointment shard pools that are not beans of their own and so are missed by
+ * Spring Boot. Pools Spring Boot already instruments are left alone. Mongo pool gauges
+ * (mongodb.driver.pool.*) come from Spring Boot.
+ */
+@Component
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private final ObjectProvider<DataSource> dataSources;
+
+    public ConnectionPoolMetrics(ObjectProvider<DataSource> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        dataSources.orderedStream().forEach(dataSource -> pools.addAll(poolsOf(dataSource)));
+
+        for (HikariDataSource pool : pools) {
+            // A pool takes one tracker, and may already be running: Hikari allows setting it once either way
+            if (pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        }
+    }
+
+    private static List<HikariDataSource> poolsOf(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return List.of(hikari);
+        }
+        if (dataSource instanceof ReplicaDataSource replicas) {
+            return replicas.getReplicaPools();
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        // The shard router may sit under the DataSource proxy; routing and lazy proxies unwrap to the primary pool
+        try {
+            if (dataSource.isWrapperFor(ShardRoutingDataSource.class)) {
+                pools.addAll(dataSource.unwrap(ShardRoutingDataSource.class).getShardPools());
+            }
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                pools.add(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException e) {
+            // Not a wrapper over Hikari; nothing more to instrument
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.back_end.config;
+
+import java.util.EnumSet;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.function.SingletonSupplier;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+
+/**
+ * Wraps the application DataSource in a timing proxy outermost, over the shard and replica
+ * routers, so every connection they hand out is covered. It always feeds {@link JdbcTime} (the
+ * database time of flight recorder events) and the jdbc.connection/jdbc.query observations (a span
+ * per connection checkout with a child span per statement, bind values left out), and every
+ * QueryExecutionListener bean: the slow query recorder unless slow-query.enabled=false, and
+ * whatever a test registers to look at the statements it causes.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Static and Environment-only: it is needed while the DataSource itself is being post-processed
+    @Bean
+    @ConditionalOnProperty(name = "slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public static SlowQueryRecorder slowQueryRecorder(Environment environment) {
+        return new SlowQueryRecorder(
+                environment.getProperty("slow-query.threshold-ms", Long.class, 50L),
+                environment.getProperty("slow-query.per-endpoint", Integer.class, 10),
+                environment.getProperty("slow-query.explain", Boolean.class, false));
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> queryListeners,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        // The registry is looked up on first use; it is not ready while the DataSource is being built
+        DataSourceObservationListener observations = new DataSourceObservationListener(
+                SingletonSupplier.of(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+        observations.setIncludeParameterValues(false);
+        observations.setSupportedTypes(
+                EnumSet.of(JdbcObservationDocumentation.CONNECTION, JdbcObservationDocumentation.QUERY));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder proxy = ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(JdbcTime.LISTENER)
+                        .methodListener(JdbcTime.LISTENER)
+                        .listener(observations)
+                        .methodListener(observations);
+                queryListeners.orderedStream().forEach(proxy::listener);
+                return proxy.build();
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryRecorder slowQueryRecorder) {
+        return new SlowQueryEndpoint(slowQueryRecorder);
+    }
+}
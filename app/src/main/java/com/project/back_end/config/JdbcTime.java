@@ -0,0 +1,112 @@
+package com.project.back_end.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Database time of the current thread between {@link #begin()} and {@link #end}: time executing
+ * statements, and time waiting to check a connection out of the pool. Fed by the DataSource proxy;
+ * when nothing is being measured a statement costs one ThreadLocal read. Scopes nest, and an
+ * outer scope includes the time of the scopes inside it.
+ *
+ * Behind the replica router the physical checkout is deferred to the first statement prepared on
+ * the connection, so preparing statements counts as connection wait too.
+ */
+public final class JdbcTime {
+
+    static final Listener LISTENER = new Listener();
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final String STARTED = JdbcTime.class.getName() + ".started";
+
+    private JdbcTime() {
+    }
+
+    public static Scope begin() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void end(Scope scope) {
+        if (scope.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(scope.parent);
+        }
+    }
+
+    /**
+     * Times collected by one {@link #begin()}/{@link #end} pair, in nanoseconds
+     */
+    public static final class Scope {
+        private final Scope parent;
+        private long statementNanos;
+        private long connectionWaitNanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long statementNanos() {
+            return statementNanos;
+        }
+
+        public long connectionWaitNanos() {
+            return connectionWaitNanos;
+        }
+    }
+
+    static final class Listener implements QueryExecutionListener, MethodExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+            if (CURRENT.get() != null) {
+                execution.addCustomValue(STARTED, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+            Long started = execution.getCustomValue(STARTED, Long.class);
+            if (started != null) {
+                long elapsed = System.nanoTime() - started;
+                for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+                    scope.statementNanos += elapsed;
+                }
+            }
+        }
+
+        @Override
+        public void beforeMethod(MethodExecutionContext context) {
+            if (CURRENT.get() != null && isCheckout(context)) {
+                context.addCustomValue(STARTED, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext context) {
+            Long started = context.getCustomValue(STARTED, Long.class);
+            if (started != null) {
+                long elapsed = System.nanoTime() - started;
+                for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+                    scope.connectionWaitNanos += elapsed;
+                }
+            }
+        }
+
+        private static boolean isCheckout(MethodExecutionContext context) {
+            String method = context.getMethod().getName();
+            return context.getTarget() instanceof DataSource
+                    ? method.equals("getConnection")
+                    : method.startsWith("prepare") || method.equals("createStatement");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.back_end.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+
+/**
+ * Fills @LastModifiedDate on Mongo documents for every save, through the blocking and the
+ * reactive repositories alike
+ */
+@Configuration
+@EnableMongoAuditing
+@EnableReactiveMongoAuditing
+public class MongoAuditingConfig {
+}
@@ -0,0 +1,93 @@
+package com.project.back_end.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Observes every public method of the beans in com.project.back_end.services as clinic.service,
+ * and of the controllers as clinic.controller, tagged with class, method and exception. Each
+ * observation is a timer and a span named Class.method; JDBC statements and Mongo commands run
+ * inside it become its children. Mono/Flux and CompletableFuture results are observed until they
+ * complete, not until they are returned, and a Mono/Flux carries the observation in its Reactor
+ * context so the reactive Mongo driver parents its commands correctly. HTTP requests
+ * (http.server.requests) and Spring Data repositories (spring.data.repository.invocations) are
+ * observed by Spring Boot.
+ */
+@Aspect
+@Component
+public class ObservationAspect {
+
+    public static final String SERVICE = "clinic.service";
+    public static final String CONTROLLER = "clinic.controller";
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("execution(public * com.project.back_end.services..*(..))")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(SERVICE, joinPoint);
+    }
+
+    @Around("execution(public * com.project.back_end.controllers..*(..)) || execution(public * com.project.back_end.mvc..*(..))")
+    public Object observeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(CONTROLLER, joinPoint);
+    }
+
+    private Object observe(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(className + "." + method)
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        Object result;
+        try (Observation.Scope scope = observation.openScope()) {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(observation, e);
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return mono.doOnSuccess(value -> stop(observation, null))
+                    .doOnError(e -> stop(observation, e))
+                    .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.doOnComplete(() -> stop(observation, null))
+                    .doOnError(e -> stop(observation, e))
+                    .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+        }
+        if (result instanceof CompletableFuture<?> future) {
+            future.whenComplete((value, e) -> stop(observation, e));
+            return future;
+        }
+        stop(observation, null);
+        return result;
+    }
+
+    private static void stop(Observation observation, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        observation.lowCardinalityKeyValue("exception", cause != null ? cause.getClass().getSimpleName() : "none");
+        if (cause != null) {
+            observation.error(cause);
+        }
+        observation.stop();
+    }
+}
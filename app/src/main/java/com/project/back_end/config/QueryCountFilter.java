@@ -0,0 +1,126 @@
+package com.project.back_end.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Counts the SQL statements each request runs. The count goes out in the X-Query-Count header
+ * (as of the first byte of the body) and into the http.server.requests.queries summary by route;
+ * requests over query-count.budget are logged with their most repeated statement.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+    public static final String METRIC = "http.server.requests.queries";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, @Value("${query-count.budget:20}") int budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.begin();
+        QueryCounter.Snapshot snapshot;
+        try {
+            filterChain.doFilter(request, new CountStampingResponse(response));
+        } finally {
+            snapshot = QueryCounter.end();
+        }
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, String.valueOf(snapshot.statements()));
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(METRIC)
+                .description("SQL statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(snapshot.statements());
+
+        if (budget > 0 && snapshot.statements() > budget) {
+            Map.Entry<String, Integer> repeated = snapshot.mostRepeated();
+            logger.warn("{} {} ran {} SQL statements (budget {}); most repeated, {}x: {}", request.getMethod(), route,
+                    snapshot.statements(), budget, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    // Headers must be set before the body starts; stamp the count at that moment
+    private static final class CountStampingResponse extends HttpServletResponseWrapper {
+
+        private CountStampingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            stamp();
+            super.sendRedirect(location);
+        }
+
+        private void stamp() {
+            if (!isCommitted()) {
+                setHeader(HEADER, String.valueOf(QueryCounter.current()));
+            }
+        }
+    }
+}
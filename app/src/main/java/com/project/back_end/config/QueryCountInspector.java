@@ -0,0 +1,16 @@
+package com.project.back_end.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Feeds every statement Hibernate prepares to {@link QueryCounter}; registered through
+ * hibernate.session_factory.statement_inspector
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
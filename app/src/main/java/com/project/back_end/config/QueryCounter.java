@@ -0,0 +1,102 @@
+package com.project.back_end.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin} and
+ * {@link #end}. QueryCountFilter opens a scope per request; tests open their own to pin the query
+ * count of a code path. Scopes nest, and a statement counts towards every open scope.
+ * Work handed to the application task executor (parallel shard and timeline reads, @Async)
+ * counts towards the scope that submitted it, through {@link RequestContextTaskDecorator}.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new Scope(CURRENT.get()));
+    }
+
+    /**
+     * Close the innermost scope and return what ran in it
+     */
+    public static Snapshot end() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return new Snapshot(0, Map.of());
+        }
+        if (scope.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(scope.parent);
+        }
+        return new Snapshot(scope.statements.get(), Map.copyOf(scope.bySql));
+    }
+
+    /**
+     * Statements so far in the innermost scope, or 0 outside one
+     */
+    public static int current() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.statements.get() : 0;
+    }
+
+    /**
+     * Wrap a task so the statements it runs on another thread count towards the caller's scope
+     */
+    static Runnable propagate(Runnable task) {
+        Scope submitter = CURRENT.get();
+        if (submitter == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = CURRENT.get();
+            CURRENT.set(submitter);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static void record(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements.incrementAndGet();
+            scope.bySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Statement count of a closed scope, and how often each distinct SQL string ran
+     */
+    public record Snapshot(int statements, Map<String, Integer> bySql) {
+
+        /**
+         * The statement that ran most often; dozens of runs of one select is the usual sign of an N+1
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return bySql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(Map.entry("", 0));
+        }
+    }
+
+    private static final class Scope {
+        private final Scope parent;
+        // Shared with executor threads running work submitted from this scope
+        private final Map<String, Integer> bySql = new ConcurrentHashMap<>();
+        private final AtomicInteger statements = new AtomicInteger();
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.back_end.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Keeps a caller's reads on the primary for a short window after they commit a write, so they
+ * never see a replica that has not caught up with their own change yet.
+ *
+ * The pin travels with the client: the response to the write carries a short-lived cookie with
+ * the pinned-until time, and whichever node serves the next request honours it, so no sticky
+ * sessions are needed. A value further ahead than the pin window (plus clock skew) is ignored,
+ * so a client cannot pin itself for longer. Clients that drop cookies still get the node-local
+ * pin, keyed by the authenticated user or the HTTP session; background work is never pinned.
+ */
+public class ReadYourWritesPinning {
+
+    static final String COOKIE = "primary-pin";
+
+    // Tolerated clock difference between the node that set the cookie and the one reading it
+    private static final long CLOCK_SKEW_MILLIS = 1000;
+
+    private final long pinMillis;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesPinning(long pinMillis) {
+        this.pinMillis = pinMillis;
+    }
+
+    /**
+     * Pin the current caller to the primary for the pin window
+     */
+    public void pinCurrentCaller() {
+        long until = System.currentTimeMillis() + pinMillis;
+        String key = currentCallerKey();
+        if (key != null) {
+            pinnedUntil.put(key, until);
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(until));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (pinMillis + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        }
+    }
+
+    /**
+     * Whether the current caller wrote recently and must read from the primary
+     */
+    public boolean isCurrentCallerPinned() {
+        if (isPinnedByCookie()) {
+            return true;
+        }
+        String key = currentCallerKey();
+        if (key == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(key);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void prune() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private boolean isPinnedByCookie() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getCookies() == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    return until > now && until <= now + pinMillis + CLOCK_SKEW_MILLIS;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String currentCallerKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpSession session = servletAttributes.getRequest().getSession(false);
+            if (session != null) {
+                return "session:" + session.getId();
+            }
+        }
+        return null;
+    }
+}
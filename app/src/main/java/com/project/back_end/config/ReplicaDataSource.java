@@ -0,0 +1,154 @@
+package com.project.back_end.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Read side of the primary/replica split: hands out connections for read-only transactions.
+ *
+ * Picks the healthy replica with the fewest active connections (round-robin on ties). A replica
+ * is taken out of rotation when it stops answering or lags more than max-lag-seconds behind the
+ * primary, and put back by the next health check that passes. Callers pinned after a write, and
+ * any request arriving while no replica is healthy, are served by the primary.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesPinning pinning;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+            ReadYourWritesPinning pinning, long maxLagSeconds) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.pinning = pinning;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!pinning.isCurrentCallerPinned()) {
+            for (Replica replica : candidates()) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    markDown(replica, e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica connections use the configured credentials");
+    }
+
+    public List<HikariDataSource> getReplicaPools() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    /**
+     * Probe every replica: reachable, replicating, and within the lag limit
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.health-interval-ms:5000}", initialDelay = 0)
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                Long lag = replicationLagSeconds(connection);
+                if (lag != null && lag < 0) {
+                    markDown(replica, "replication stopped");
+                } else if (lag != null && lag > maxLagSeconds) {
+                    markDown(replica, "lagging " + lag + "s behind the primary");
+                } else {
+                    markUp(replica);
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    // Healthy replicas, least busy first, rotating the starting point between equally busy ones
+    private List<Replica> candidates() {
+        List<Replica> healthy = new ArrayList<>(replicas.size());
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                healthy.add(replica);
+            }
+        }
+        healthy.sort((a, b) -> Integer.compare(a.activeConnections(), b.activeConnections()));
+        return healthy;
+    }
+
+    // Seconds_Behind_Source; null when lag cannot be read (no privilege, not a MySQL replica)
+    private static Long replicationLagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return null;
+            }
+            long lag = rs.getLong("Seconds_Behind_Source");
+            // NULL means the replication threads are stopped
+            return rs.wasNull() ? -1L : lag;
+        } catch (SQLException e) {
+            if (!connection.isValid(1)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    private static void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            logger.warn("Replica {} taken out of rotation: {}", replica.dataSource.getPoolName(), reason);
+        }
+        replica.healthy = false;
+    }
+
+    private static void markUp(Replica replica) {
+        if (!replica.healthy) {
+            logger.info("Replica {} back in rotation", replica.dataSource.getPoolName());
+        }
+        replica.healthy = true;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        // Start out of rotation until the first health check passes
+        private volatile boolean healthy;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
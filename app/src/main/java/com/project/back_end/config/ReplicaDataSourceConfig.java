@@ -0,0 +1,81 @@
+package com.project.back_end.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Primary/replica routing, active only when datasource.replica.urls lists at least one replica.
+ *
+ * Connections are fetched lazily, once the transaction is known: @Transactional(readOnly = true)
+ * work goes to a replica, everything else (writes, and reads outside a read-only transaction)
+ * to the primary from spring.datasource.*. Replica pools copy the primary's Hikari settings.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesPinning readYourWritesPinning(@Value("${datasource.replica.pin-ms:5000}") long pinMillis) {
+        return new ReadYourWritesPinning(pinMillis);
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource,
+            ReadYourWritesPinning readYourWritesPinning,
+            @Value("${datasource.replica.urls}") String urls,
+            @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password}}") String password,
+            @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(replicaUrls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaDataSource(primaryDataSource, replicas, readYourWritesPinning, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(replicaDataSource);
+        return routing;
+    }
+
+    @Bean
+    public ReplicaTransactionListener replicaTransactionListener(EntityManagerFactory entityManagerFactory,
+            ReadYourWritesPinning readYourWritesPinning) {
+        return new ReplicaTransactionListener(entityManagerFactory, readYourWritesPinning);
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.back_end.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Transaction hooks for replica routing.
+ *
+ * A committed write pins the caller to the primary (read-your-writes). A read-only transaction
+ * that will run on a replica reads the second-level cache but never populates it, so a replica
+ * that is a few seconds behind cannot put stale doctors or schedules back into the cache.
+ */
+public class ReplicaTransactionListener implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReadYourWritesPinning pinning;
+
+    public ReplicaTransactionListener(EntityManagerFactory entityManagerFactory, ReadYourWritesPinning pinning) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.pinning = pinning;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isNewTransaction() || !transaction.isReadOnly()
+                || pinning.isCurrentCallerPinned()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            pinning.pinCurrentCaller();
+        }
+    }
+}
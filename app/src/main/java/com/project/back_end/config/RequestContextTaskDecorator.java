@@ -0,0 +1,37 @@
+package com.project.back_end.config;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Applied by Spring Boot to the application task executor, so work fanned out by a request
+ * (parallel shard reads, the patient timeline, @Async) still belongs to it: its SQL counts towards
+ * the request, slow statements are filed under its endpoint, and its spans are children of the
+ * span that submitted it
+ */
+@Component
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    private final TaskDecorator observations = new ContextPropagatingTaskDecorator();
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Runnable propagated = observations.decorate(QueryCounter.propagate(runnable));
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return propagated;
+        }
+        return () -> {
+            RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(request);
+            try {
+                propagated.run();
+            } finally {
+                RequestContextHolder.setRequestAttributes(previous);
+            }
+        };
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.project.back_end.security.JwtAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -27,10 +29,16 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for REST API
                 .authorizeHttpRequests(auth -> auth
+                        // ✅ Async re-dispatches (SSE completion/timeout) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // ✅ Allow MVC login/register pages (GET) - these show forms
                         .requestMatchers("/admin/login", "/doctor/login", "/patient/login").permitAll()
                         .requestMatchers("/patient/register").permitAll()
                         .requestMatchers("/logout").permitAll()
+
+                        // ✅ Token refresh/logout authenticate with the refresh token itself
+                        .requestMatchers("/auth/refresh", "/auth/logout").permitAll()
                         
                         // ✅ Protect MVC dashboard pages - require authentication via session
                         .requestMatchers("/admin/dashboard").hasRole("ADMIN")
@@ -46,8 +54,10 @@ public class SecurityConfig {
                         .requestMatchers("/", "/index.html", "/css/**", "/js/**", "/images/**",
                                 "/assets/**", "/pages/**", "/static/**", "/templates/**")
                         .permitAll()
-                        // Allow actuator endpoints
-                        .requestMatchers("/actuator/**").permitAll()
+                        // Health checks and the Prometheus scrape are open; the rest of actuator
+                        // (slow queries with their plans and binds, metrics) is for admins
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // All other requests need authentication
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
@@ -61,7 +71,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    public static PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 }
@@ -0,0 +1,57 @@
+package com.project.back_end.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.project.back_end.repo.AppointmentShardContext;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hands out connections for the appointment shard selected on the current thread, and for the
+ * primary (shard 0, which also serves every unsharded table) otherwise.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<HikariDataSource> shards;
+
+    public ShardRoutingDataSource(DataSource primary, List<HikariDataSource> shards) {
+        this.primary = primary;
+        this.shards = shards;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(0, primary);
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i + 1, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Pools of shards 1..n; the primary is not included
+     */
+    public List<HikariDataSource> getShardPools() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return AppointmentShardContext.current();
+    }
+
+    @Override
+    public void close() throws Exception {
+        shards.forEach(HikariDataSource::close);
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
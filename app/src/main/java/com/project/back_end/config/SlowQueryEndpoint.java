@@ -0,0 +1,32 @@
+package com.project.back_end.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * /actuator/slowqueries: GET lists the slowest statements per endpoint, DELETE starts over. Both
+ * need an admin token (see SecurityConfig).
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRecorder recorder;
+
+    public SlowQueryEndpoint(SlowQueryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public Map<String, List<SlowQueryRecorder.SlowQuery>> slowQueries() {
+        return recorder.getSlowQueries();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+}
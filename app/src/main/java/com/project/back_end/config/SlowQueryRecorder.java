@@ -0,0 +1,265 @@
+package com.project.back_end.config;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Keeps the slowest JDBC statements of each endpoint, for /actuator/slowqueries.
+ *
+ * Every statement through the application DataSource is timed. One that takes at least
+ * slow-query.threshold-ms is kept if it is among the slowest slow-query.per-endpoint seen for its
+ * route ("GET /doctor/{id}", or "background" for startup and scheduled work); a faster entry makes
+ * room for it. String and binary binds are masked to their length so names, emails and password
+ * hashes never leave the process; numbers, dates, enums and nulls are kept since they are what
+ * usually explains a plan. With slow-query.explain, a SELECT that makes the list is EXPLAINed with
+ * its real binds on the connection it ran on (same shard, same replica), which costs that request
+ * one more round trip.
+ */
+public class SlowQueryRecorder implements QueryExecutionListener {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final int MAX_BINDS = 50;
+    private static final int MAX_ENDPOINTS = 200;
+    private static final String BACKGROUND = "background";
+    private static final String OTHER = "other";
+
+    private final long thresholdMillis;
+    private final int perEndpoint;
+    private final boolean explain;
+    private final Map<String, Slowest> byEndpoint = new ConcurrentHashMap<>();
+
+    public SlowQueryRecorder(long thresholdMillis, int perEndpoint, boolean explain) {
+        this.thresholdMillis = thresholdMillis;
+        this.perEndpoint = Math.max(1, perEndpoint);
+        this.explain = explain;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        long elapsed = execution.getElapsedTime();
+        if (elapsed < thresholdMillis || queries.isEmpty()) {
+            return;
+        }
+        String sql = queries.size() == 1
+                ? queries.get(0).getQuery()
+                : queries.stream().map(QueryInfo::getQuery).collect(Collectors.joining(";\n"));
+        if (sql.regionMatches(true, 0, "EXPLAIN ", 0, 8)) {
+            return;
+        }
+
+        Slowest slowest = slowestFor(endpoint());
+        if (!slowest.admits(elapsed)) {
+            return;
+        }
+
+        List<ParameterSetOperation> binds = firstParameterSet(queries.get(0));
+        List<Map<String, Object>> plan = explain && execution.isSuccess() && !execution.isBatch() && isSelect(sql)
+                ? explain(execution.getStatement(), sql, binds)
+                : null;
+        slowest.add(new SlowQuery(
+                elapsed,
+                sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql,
+                binds.stream().limit(MAX_BINDS).map(SlowQueryRecorder::sanitize).toList(),
+                execution.isBatch() ? execution.getBatchSize() : 0,
+                execution.isSuccess(),
+                Thread.currentThread().getName(),
+                Instant.now(),
+                plan));
+    }
+
+    /**
+     * Recorded statements by endpoint, slowest first, endpoints with the slowest statement first
+     */
+    public Map<String, List<SlowQuery>> getSlowQueries() {
+        Map<String, List<SlowQuery>> result = new LinkedHashMap<>();
+        byEndpoint.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().snapshot()))
+                .filter(entry -> !entry.getValue().isEmpty())
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, List<SlowQuery>> entry) -> entry.getValue().get(0).elapsedMillis()).reversed())
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    public void reset() {
+        byEndpoint.clear();
+    }
+
+    private Slowest slowestFor(String endpoint) {
+        Slowest slowest = byEndpoint.get(endpoint);
+        if (slowest != null) {
+            return slowest;
+        }
+        // Routes are patterns so the set is small, but unmatched paths must not grow it without bound
+        String key = byEndpoint.size() < MAX_ENDPOINTS ? endpoint : OTHER;
+        return byEndpoint.computeIfAbsent(key, k -> new Slowest(perEndpoint));
+    }
+
+    // The submitting request's attributes reach executor threads through RequestContextTaskDecorator
+    private static String endpoint() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return BACKGROUND;
+        }
+        try {
+            HttpServletRequest request = attributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+        } catch (IllegalStateException e) {
+            // Work that outlived its request
+            return BACKGROUND;
+        }
+    }
+
+    private static List<ParameterSetOperation> firstParameterSet(QueryInfo query) {
+        List<List<ParameterSetOperation>> sets = query.getParametersList();
+        if (sets.isEmpty()) {
+            return List.of();
+        }
+        return sets.get(0).stream()
+                .filter(bind -> !ParameterSetOperation.isRegisterOutParameterOperation(bind))
+                .sorted(Comparator.comparing(bind -> bind.getArgs()[0] instanceof Integer index ? index : 0))
+                .toList();
+    }
+
+    private static Object sanitize(ParameterSetOperation bind) {
+        if (ParameterSetOperation.isSetNullParameterOperation(bind) || bind.getArgs().length < 2) {
+            return null;
+        }
+        Object value = bind.getArgs()[1];
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof TemporalAccessor || value instanceof Date) {
+            return value.toString();
+        }
+        if (value instanceof CharSequence text) {
+            return "<string, " + text.length() + " chars>";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<bytes, " + bytes.length + ">";
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    private static boolean isSelect(String sql) {
+        String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return start.startsWith("select") || start.startsWith("with");
+    }
+
+    private static List<Map<String, Object>> explain(Statement statement, String sql,
+            List<ParameterSetOperation> binds) {
+        try (PreparedStatement explain = statement.getConnection().prepareStatement("EXPLAIN " + sql)) {
+            for (ParameterSetOperation bind : binds) {
+                Object[] args = bind.getArgs();
+                if (!(args[0] instanceof Integer index)) {
+                    continue;
+                }
+                if (ParameterSetOperation.isSetNullParameterOperation(bind)) {
+                    explain.setNull(index, (Integer) args[1]);
+                } else {
+                    explain.setObject(index, args[1]);
+                }
+            }
+            List<Map<String, Object>> plan = new ArrayList<>();
+            try (ResultSet rows = explain.executeQuery()) {
+                ResultSetMetaData columns = rows.getMetaData();
+                while (rows.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int column = 1; column <= columns.getColumnCount(); column++) {
+                        row.put(columns.getColumnLabel(column), rows.getObject(column));
+                    }
+                    plan.add(row);
+                }
+            }
+            return plan;
+        } catch (SQLException | RuntimeException e) {
+            return List.of(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * A recorded statement; batchSize is 0 unless it was a batch, binds are those of its first row
+     */
+    public record SlowQuery(long elapsedMillis, String sql, List<Object> binds, int batchSize, boolean success,
+            String thread, Instant at, List<Map<String, Object>> plan) {
+    }
+
+    // Fixed slots holding the slowest statements seen; once full, a newcomer replaces the fastest
+    private static final class Slowest {
+        private final SlowQuery[] slots;
+        private int size;
+        // Time a newcomer must beat once the slots are full, read without the lock
+        private volatile long floorMillis = -1;
+
+        private Slowest(int capacity) {
+            this.slots = new SlowQuery[capacity];
+        }
+
+        private boolean admits(long elapsedMillis) {
+            return elapsedMillis > floorMillis;
+        }
+
+        private synchronized void add(SlowQuery query) {
+            if (size < slots.length) {
+                slots[size++] = query;
+            } else {
+                int fastest = fastest();
+                if (slots[fastest].elapsedMillis() >= query.elapsedMillis()) {
+                    return;
+                }
+                slots[fastest] = query;
+            }
+            if (size == slots.length) {
+                floorMillis = slots[fastest()].elapsedMillis();
+            }
+        }
+
+        private synchronized List<SlowQuery> snapshot() {
+            return Arrays.stream(slots, 0, size)
+                    .sorted(Comparator.comparingLong(SlowQuery::elapsedMillis).reversed())
+                    .toList();
+        }
+
+        private int fastest() {
+            int fastest = 0;
+            for (int i = 1; i < size; i++) {
+                if (slots[i].elapsedMillis() < slots[fastest].elapsedMillis()) {
+                    fastest = i;
+                }
+            }
+            return fastest;
+        }
+    }
+}
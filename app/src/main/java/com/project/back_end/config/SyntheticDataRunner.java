@@ -0,0 +1,40 @@
+package com.project.back_end.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.services.SyntheticDataGenerator;
+
+/**
+ * Runs the synthetic data generator at startup under the datagen profile, then shuts the
+ * application down unless datagen.exit-when-done is false
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final ConfigurableApplicationContext context;
+    private final boolean exitWhenDone;
+
+    public SyntheticDataRunner(SyntheticDataGenerator generator,
+            ConfigurableApplicationContext context,
+            @Value("${datagen.exit-when-done:true}") boolean exitWhenDone) {
+        this.generator = generator;
+        this.context = context;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generator.generate();
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
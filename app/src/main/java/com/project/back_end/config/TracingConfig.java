@@ -0,0 +1,46 @@
+package com.project.back_end.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.observation.tracing.ConnectionTracingObservationHandler;
+import net.ttddyy.observation.tracing.QueryTracingObservationHandler;
+
+/**
+ * Spans below the service layer. Spring Boot traces HTTP requests and exports over OTLP
+ * (management.otlp.tracing.endpoint); the controller, service and JWT filter spans come from
+ * {@link ObservationAspect} and the filter itself, and JDBC observations from
+ * {@link DataSourceProxyConfig}. This adds the handlers that turn those JDBC observations into
+ * client spans, and a span per Mongo command for both the blocking and the reactive client.
+ */
+@Configuration
+public class TracingConfig {
+
+    // Ahead of Spring Boot's generic sender handler, which would otherwise claim the JDBC contexts
+    @Bean
+    @Order(0)
+    public ConnectionTracingObservationHandler connectionTracingObservationHandler(Tracer tracer) {
+        return new ConnectionTracingObservationHandler(tracer);
+    }
+
+    @Bean
+    @Order(0)
+    public QueryTracingObservationHandler queryTracingObservationHandler(Tracer tracer) {
+        return new QueryTracingObservationHandler(tracer);
+    }
+
+    // The context provider finds the parent span: the current observation for the blocking client,
+    // the subscriber's Reactor context for the reactive one
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+}
@@ -16,6 +16,7 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedOrigins("*")  // Add your frontend URL here
                 .allowedMethods("GET", "POST", "PUT", "DELETE")  // Specify allowed methods
-                .allowedHeaders("*");  // You can restrict headers if needed
+                .allowedHeaders("*")  // You can restrict headers if needed
+                .exposedHeaders("ETag");  // Read by clients that send If-None-Match themselves
     }
 }
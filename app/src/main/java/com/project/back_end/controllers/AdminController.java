@@ -1,9 +1,18 @@
 package com.project.back_end.controllers;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,14 +23,23 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.project.back_end.DTO.AdminDashboardResponse;
+import com.project.back_end.DTO.ApiResponse;
 import com.project.back_end.DTO.AuditLogsResponse;
+import com.project.back_end.DTO.CacheInvalidationStats;
 import com.project.back_end.DTO.Login;
 import com.project.back_end.DTO.LoginResponse;
 import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.DTO.PasswordHashingStats;
+import com.project.back_end.DTO.RecordingStatus;
+import com.project.back_end.DTO.ReshardStatus;
 import com.project.back_end.DTO.UsersResponse;
 import com.project.back_end.models.Admin;
 import com.project.back_end.services.AdminService;
+import com.project.back_end.services.AppointmentResharder;
 import com.project.back_end.services.AuthenticationService;
+import com.project.back_end.services.CacheInvalidationBus;
+import com.project.back_end.services.FlightRecorderService;
+import com.project.back_end.services.PasswordHashingService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +51,10 @@ public class AdminController {
 
     private final AdminService adminService;
     private final AuthenticationService authenticationService;
+    private final PasswordHashingService passwordHashingService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AppointmentResharder appointmentResharder;
+    private final FlightRecorderService flightRecorderService;
 
     private final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AdminController.class);
 
@@ -114,16 +136,23 @@ public class AdminController {
 
     /**
      * US-A001: Manage User Accounts - Get All Users
-     * List all users (patients, doctors, admins)
+     * List users (patients, doctors, admins) one keyset page at a time
+     * Pass back the nextCursor of each type to fetch its following page
      * Authentication is automatically handled by JwtAuthenticationFilter
      */
     @GetMapping("/api/users")
     public ResponseEntity<?> getAllUsers(
             @RequestParam(required = false) String userType,
-            @RequestParam(required = false) Boolean isActive) {
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Long patientCursor,
+            @RequestParam(required = false) Long doctorCursor,
+            @RequestParam(required = false) Long adminCursor,
+            @RequestParam(defaultValue = "20") int size) {
         
         try {
-            UsersResponse users = adminService.getAllUsers(userType, isActive);
+            UsersResponse users = adminService.getAllUsers(userType, isActive, search,
+                    patientCursor, doctorCursor, adminCursor, size);
             return ResponseEntity.ok(users);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -131,6 +160,103 @@ public class AdminController {
         }
     }
 
+    /**
+     * Password hashing pool stats
+     * Queue depth, rejections and hash latency of the dedicated BCrypt executor
+     * Authentication is automatically handled by JwtAuthenticationFilter
+     */
+    @GetMapping("/api/auth/hashing-stats")
+    public ResponseEntity<PasswordHashingStats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    /**
+     * Cache invalidation bus stats
+     * Publish/apply throughput and propagation lag of cross-node cache evictions on this node
+     * Authentication is automatically handled by JwtAuthenticationFilter
+     */
+    @GetMapping("/api/cache/invalidation-stats")
+    public ResponseEntity<CacheInvalidationStats> getCacheInvalidationStats() {
+        return ResponseEntity.ok(cacheInvalidationBus.getStats());
+    }
+
+    /**
+     * Reshard appointments
+     * Start moving appointments online so they are spread over the given number of shards
+     * Authentication is automatically handled by JwtAuthenticationFilter
+     */
+    @PostMapping("/api/appointments/reshard")
+    public ResponseEntity<ApiResponse<ReshardStatus>> reshardAppointments(@RequestParam int shards) {
+        ApiResponse<ReshardStatus> response = appointmentResharder.start(shards);
+        return response.isSuccess()
+                ? ResponseEntity.accepted().body(response)
+                : ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Resharding progress
+     * Doctors and rows moved so far by the current or last resharding run
+     * Authentication is automatically handled by JwtAuthenticationFilter
+     */
+    @GetMapping("/api/appointments/reshard")
+    public ResponseEntity<ReshardStatus> getReshardStatus() {
+        return ResponseEntity.ok(appointmentResharder.getStatus());
+    }
+
+    /**
+     * Start a flight recording
+     * settings is a JDK settings file, "default" or "profile"; maxAgeMinutes bounds the rolling window
+     * Authentication is automatically handled by JwtAuthenticationFilter
+     */
+    @PostMapping("/api/diagnostics/recordings")
+    public ResponseEntity<ApiResponse<RecordingStatus>> startRecording(
+            @RequestParam(defaultValue = "default") String settings,
+            @RequestParam(required = false) Long maxAgeMinutes) {
+        ApiResponse<RecordingStatus> response = flightRecorderService.start(settings, maxAgeMinutes);
+        return response.isSuccess()
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Flight recording state
+     * Authentication is automatically handled by JwtAuthenticationFilter
+     */
+    @GetMapping("/api/diagnostics/recordings")
+    public ResponseEntity<RecordingStatus> getRecordingStatus() {
+        return ResponseEntity.ok(flightRecorderService.getStatus());
+    }
+
+    /**
+     * Dump the flight recording
+     * Downloads the recorded window as a .jfr file; the recording keeps running
+     * Authentication is automatically handled by JwtAuthenticationFilter
+     */
+    @GetMapping("/api/diagnostics/recordings/dump")
+    public ResponseEntity<Resource> dumpRecording() throws IOException {
+        Path file = flightRecorderService.dump();
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    /**
+     * Stop the flight recording and discard it
+     * Authentication is automatically handled by JwtAuthenticationFilter
+     */
+    @DeleteMapping("/api/diagnostics/recordings")
+    public ResponseEntity<ApiResponse<RecordingStatus>> stopRecording() {
+        ApiResponse<RecordingStatus> response = flightRecorderService.stop();
+        return response.isSuccess()
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.badRequest().body(response);
+    }
+
     /**
      * US-A001: Deactivate User Account
      * Soft delete a user account
@@ -3,6 +3,7 @@ package com.project.back_end.controllers;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,13 +15,19 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.ListResponse;
 import com.project.back_end.DTO.AppointmentListResponse;
 import com.project.back_end.DTO.MessageResponse;
 import com.project.back_end.DTO.TokenValidationResponse;
+import com.project.back_end.exception.ShardMigrationException;
 import com.project.back_end.models.Appointment;
+import com.project.back_end.models.SlotHold;
+import com.project.back_end.models.WaitlistEntry;
 import com.project.back_end.services.AppointmentService;
 import com.project.back_end.services.DoctorService;
 import com.project.back_end.services.AuthenticationService;
+import com.project.back_end.services.SlotHoldService;
+import com.project.back_end.services.WaitlistService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +41,8 @@ public class AppointmentController {
     private final AppointmentService appointmentService;
     private final DoctorService doctorService;
     private final AuthenticationService authenticationService;
+    private final SlotHoldService slotHoldService;
+    private final WaitlistService waitlistService;
 
     /**
      * US-P005: Book Appointment
@@ -56,6 +65,8 @@ public class AppointmentController {
             ApiResponse<Appointment> result = appointmentService.bookAppointment(appointment);
             HttpStatus status = result.isSuccess() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
             return ResponseEntity.status(status).body(result);
+        } catch (ShardMigrationException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(MessageResponse.error("Error booking appointment: " + e.getMessage()));
@@ -132,6 +143,8 @@ public class AppointmentController {
             ApiResponse<Appointment> result = appointmentService.updateAppointment(appointment);
             HttpStatus status = result.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
             return ResponseEntity.status(status).body(result);
+        } catch (ShardMigrationException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(MessageResponse.error("Error updating appointment: " + e.getMessage()));
@@ -158,6 +171,8 @@ public class AppointmentController {
             ApiResponse<Appointment> result = appointmentService.rescheduleAppointment(id, appointmentDate, appointmentTime);
             HttpStatus status = result.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
             return ResponseEntity.status(status).body(result);
+        } catch (ShardMigrationException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(MessageResponse.error("Error rescheduling appointment: " + e.getMessage()));
@@ -182,6 +197,8 @@ public class AppointmentController {
             MessageResponse response = appointmentService.cancelAppointment(id);
             HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
             return ResponseEntity.status(status).body(response);
+        } catch (ShardMigrationException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(MessageResponse.error("Error cancelling appointment: " + e.getMessage()));
@@ -207,6 +224,8 @@ public class AppointmentController {
             MessageResponse response = appointmentService.completeAppointment(id, notes);
             HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
             return ResponseEntity.status(status).body(response);
+        } catch (ShardMigrationException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(MessageResponse.error("Error completing appointment: " + e.getMessage()));
@@ -240,4 +259,116 @@ public class AppointmentController {
                 .body(MessageResponse.error("Error filtering appointments: " + e.getMessage()));
         }
     }
+
+    /**
+     * US-P005: Hold Appointment Slot
+     * Patient reserves a slot for a few minutes while completing the booking form
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<?> holdSlot(
+            @RequestParam Long doctorId,
+            @RequestParam String appointmentDate,
+            @RequestParam String appointmentTime,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient");
+        if (!validation.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation);
+        }
+
+        try {
+            ApiResponse<SlotHold> result = slotHoldService.holdSlot(
+                doctorId, validation.getUserId(), appointmentDate, appointmentTime);
+            HttpStatus status = result.isSuccess() ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).body(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(MessageResponse.error("Error holding slot: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * US-P005: Release Appointment Slot Hold
+     * Patient gives up a held slot without booking it
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<?> releaseHold(
+            @PathVariable Long holdId,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient");
+        if (!validation.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation);
+        }
+
+        MessageResponse response = slotHoldService.releaseHold(holdId, validation.getUserId());
+        HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.NOT_FOUND;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * US-P005: Join Cancellation Waitlist
+     * Patient asks to be offered the first slot freed with a doctor within a date window
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<?> joinWaitlist(
+            @RequestParam Long doctorId,
+            @RequestParam String dateFrom,
+            @RequestParam String dateTo,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient");
+        if (!validation.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation);
+        }
+
+        try {
+            ApiResponse<WaitlistEntry> result = waitlistService.joinWaitlist(
+                doctorId, validation.getUserId(), dateFrom, dateTo);
+            HttpStatus status = result.isSuccess() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status).body(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(MessageResponse.error("Error joining waitlist: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * US-P005: View Waitlist Entries
+     * Patient views their waitlist entries and any slots offered to them
+     */
+    @GetMapping("/waitlist")
+    public ResponseEntity<?> getWaitlist(@RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient");
+        if (!validation.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation);
+        }
+
+        try {
+            ListResponse<WaitlistEntry> entries = waitlistService.getPatientWaitlist(validation.getUserId());
+            return ResponseEntity.ok(entries);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(MessageResponse.error("Error fetching waitlist: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * US-P005: Leave Cancellation Waitlist
+     */
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<?> leaveWaitlist(
+            @PathVariable Long entryId,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient");
+        if (!validation.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation);
+        }
+
+        MessageResponse response = waitlistService.leaveWaitlist(entryId, validation.getUserId());
+        HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.NOT_FOUND;
+        return ResponseEntity.status(status).body(response);
+    }
 }
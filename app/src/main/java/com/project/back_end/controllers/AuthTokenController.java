@@ -0,0 +1,45 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.DTO.LoginResponse;
+import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.DTO.TokenRefreshRequest;
+import com.project.back_end.services.RefreshTokenService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("${api.path}auth")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AuthTokenController {
+
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Refresh Access Token
+     * Exchange a refresh token for a new access token and a rotated refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse<Void>> refresh(@Valid @RequestBody TokenRefreshRequest request) {
+        LoginResponse<Void> response = refreshTokenService.rotate(request.getRefreshToken());
+        HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.UNAUTHORIZED;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Logout
+     * Revoke the presented access token and the refresh token's whole family
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(
+            @RequestHeader(value = "Authorization", required = false) String token,
+            @RequestBody(required = false) TokenRefreshRequest request) {
+
+        String accessToken = token != null && token.startsWith("Bearer ") ? token.substring(7) : token;
+        refreshTokenService.revoke(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok(MessageResponse.success("Logged out successfully"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.back_end.controllers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.project.back_end.DTO.VersionStamp;
+
+/**
+ * Strong ETags for read endpoints whose data rarely changes. The tag is built from the
+ * {@link VersionStamp}s of the data, read before the data itself, so a client whose
+ * If-None-Match still matches gets a 304 without the entities being loaded or serialized:
+ * <pre>
+ * String etag = ConditionalGet.etag("doctors", doctorService.getActiveDoctorsVersion());
+ * if (request.checkNotModified(etag)) {
+ *     return ConditionalGet.notModified();
+ * }
+ * return ConditionalGet.ok(etag, ...);
+ * </pre>
+ * Both answers carry Cache-Control: private, no-cache, which replaces Spring Security's no-store
+ * so the client keeps its copy and revalidates it on every use.
+ */
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Quoted strong ETag for a resource (name and id) built from the stamps of everything the response shows
+     */
+    static String etag(String resource, VersionStamp... stamps) {
+        StringBuilder tag = new StringBuilder("\"").append(resource);
+        for (VersionStamp stamp : stamps) {
+            // Micros: the precision updated_at is stored with
+            tag.append('-').append(stamp.getRows())
+                    .append('-').append(stamp.getIdSum() != null ? stamp.getIdSum() : 0)
+                    .append('-').append(stamp.getLastUpdated() != null
+                            ? ChronoUnit.MICROS.between(EPOCH, stamp.getLastUpdated())
+                            : 0);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * The answer once WebRequest.checkNotModified has matched, which already set the status and the ETag
+     */
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body);
+    }
+}
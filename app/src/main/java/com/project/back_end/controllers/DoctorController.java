@@ -3,7 +3,10 @@ package com.project.back_end.controllers;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,23 +18,31 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.project.back_end.DTO.ApiResponse;
 import com.project.back_end.DTO.AppointmentListResponse;
 import com.project.back_end.DTO.AvailabilityResponse;
+import com.project.back_end.DTO.AvailableSlot;
 import com.project.back_end.DTO.DoctorListResponse;
 import com.project.back_end.DTO.DoctorStatisticsResponse;
+import com.project.back_end.DTO.ListResponse;
 import com.project.back_end.DTO.Login;
 import com.project.back_end.DTO.LoginResponse;
 import com.project.back_end.DTO.MessageResponse;
 import com.project.back_end.DTO.ScheduleResponse;
 import com.project.back_end.DTO.TokenValidationResponse;
+import com.project.back_end.DTO.VersionStamp;
+import com.project.back_end.exception.AuthThrottledException;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.DoctorSchedule;
 import com.project.back_end.models.ScheduleException;
+import com.project.back_end.services.AppointmentEventStream;
 import com.project.back_end.services.AppointmentService;
 import com.project.back_end.services.AuthenticationService;
 import com.project.back_end.services.DoctorService;
+import com.project.back_end.services.EarliestSlotService;
 import com.project.back_end.services.ScheduleService;
 
 import jakarta.validation.Valid;
@@ -47,6 +58,8 @@ public class DoctorController {
     private final ScheduleService scheduleService;
     private final AppointmentService appointmentService;
     private final AuthenticationService authenticationService;
+    private final AppointmentEventStream appointmentEventStream;
+    private final EarliestSlotService earliestSlotService;
 
     /**
      * US-D001: Doctor Login
@@ -61,13 +74,17 @@ public class DoctorController {
 
     /**
      * US-P004: Get All Doctors (for patient search)
-     * Retrieve list of all active doctors
+     * Retrieve list of all active doctors (conditional: 304 while the client's ETag is current)
      */
     @GetMapping
-    public ResponseEntity<DoctorListResponse> getAllDoctors() {
+    public ResponseEntity<DoctorListResponse> getAllDoctors(WebRequest request) {
         try {
+            String etag = ConditionalGet.etag("doctors", doctorService.getActiveDoctorsVersion());
+            if (request.checkNotModified(etag)) {
+                return ConditionalGet.notModified();
+            }
             List<Doctor> doctors = doctorService.getAllDoctors();
-            return ResponseEntity.ok(DoctorListResponse.of(doctors));
+            return ConditionalGet.ok(etag, DoctorListResponse.of(doctors));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new DoctorListResponse(List.of(), 0));
@@ -93,19 +110,46 @@ public class DoctorController {
         }
     }
 
+    /**
+     * US-P004: Earliest Available Slots
+     * First free slots across all doctors of a specialization, earliest first
+     */
+    @GetMapping("/earliest-slots")
+    public ResponseEntity<ListResponse<AvailableSlot>> getEarliestSlots(
+            @RequestParam String specialization,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) Integer days) {
+
+        try {
+            return ResponseEntity.ok(earliestSlotService.findEarliestSlots(specialization, limit, days));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ListResponse<>(List.of(), 0));
+        }
+    }
+
     /**
      * US-D002: Get Doctor Profile
-     * Retrieve doctor details
+     * Retrieve doctor details (conditional: 304 while the client's ETag is current)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Doctor>> getDoctor(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Doctor>> getDoctor(@PathVariable Long id, WebRequest request) {
         try {
+            VersionStamp version = doctorService.getDoctorVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Doctor not found"));
+            }
+            String etag = ConditionalGet.etag("doctor-" + id, version);
+            if (request.checkNotModified(etag)) {
+                return ConditionalGet.notModified();
+            }
             Doctor doctor = doctorService.getDoctorById(id);
             if (doctor == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Doctor not found"));
             }
-            return ResponseEntity.ok(ApiResponse.success(doctor));
+            return ConditionalGet.ok(etag, ApiResponse.success(doctor));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("Doctor not found"));
@@ -131,6 +175,8 @@ public class DoctorController {
             ApiResponse<Doctor> result = doctorService.createDoctor(doctor);
             HttpStatus status = result.isSuccess() ? HttpStatus.CREATED : HttpStatus.CONFLICT;
             return ResponseEntity.status(status).body(result);
+        } catch (AuthThrottledException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error creating doctor: " + e.getMessage()));
@@ -190,12 +236,13 @@ public class DoctorController {
 
     /**
      * US-D003: Get Doctor's Schedule
-     * Retrieve doctor's weekly schedule
+     * Retrieve doctor's weekly schedule (conditional: 304 while the client's ETag is current)
      */
     @GetMapping("/{id}/schedule")
     public ResponseEntity<ScheduleResponse> getDoctorSchedule(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            WebRequest request) {
 
         TokenValidationResponse validation = authenticationService.validateToken(token, "patient", "doctor", "admin");
         if (!validation.isValid()) {
@@ -204,8 +251,12 @@ public class DoctorController {
         }
 
         try {
+            String etag = ConditionalGet.etag("schedule-" + id, scheduleService.getDoctorScheduleVersion(id));
+            if (request.checkNotModified(etag)) {
+                return ConditionalGet.notModified();
+            }
             ScheduleResponse schedule = scheduleService.getDoctorSchedule(id);
-            return ResponseEntity.ok(schedule);
+            return ConditionalGet.ok(etag, schedule);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ScheduleResponse(List.of()));
@@ -331,4 +382,20 @@ public class DoctorController {
                     .body(AvailabilityResponse.of(false));
         }
     }
+
+    /**
+     * US-D005: Live Appointment Updates
+     * Server-Sent Events stream of booked/cancelled/rescheduled/completed appointments
+     * Authentication is automatically handled by JwtAuthenticationFilter (session or Bearer token)
+     */
+    @GetMapping(value = "/api/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAppointmentEvents(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Doctor doctor = doctorService.getDoctorByEmail(auth.getName());
+        if (doctor == null || !doctor.getId().equals(id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(appointmentEventStream.subscribe(id));
+    }
 }
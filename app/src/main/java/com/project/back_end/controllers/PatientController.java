@@ -6,9 +6,12 @@ import com.project.back_end.DTO.Login;
 import com.project.back_end.DTO.LoginResponse;
 import com.project.back_end.DTO.MessageResponse;
 import com.project.back_end.DTO.PrescriptionListResponse;
+import com.project.back_end.DTO.TimelinePage;
 import com.project.back_end.DTO.TokenValidationResponse;
+import com.project.back_end.exception.AuthThrottledException;
 import com.project.back_end.models.Patient;
 import com.project.back_end.services.PatientService;
+import com.project.back_end.services.PatientTimelineService;
 import com.project.back_end.services.AuthenticationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 public class PatientController {
 
     private final PatientService patientService;
+    private final PatientTimelineService patientTimelineService;
     private final AuthenticationService authenticationService;
 
     /**
@@ -46,6 +50,8 @@ public class PatientController {
             LoginResponse<Patient> result = patientService.registerPatient(patient);
             HttpStatus status = result.isSuccess() ? HttpStatus.CREATED : HttpStatus.CONFLICT;
             return ResponseEntity.status(status).body(result);
+        } catch (AuthThrottledException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(MessageResponse.error("Error creating patient: " + e.getMessage()));
@@ -177,4 +183,32 @@ public class PatientController {
                 .body(MessageResponse.error("Error fetching prescriptions: " + e.getMessage()));
         }
     }
+
+    /**
+     * US-P006, US-P009: Patient Timeline
+     * Appointments and prescriptions merged newest first, one keyset page at a time
+     * Pass back nextCursor to fetch the following page
+     */
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<?> getPatientTimeline(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient");
+        if (!validation.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation);
+        }
+
+        try {
+            TimelinePage timeline = patientTimelineService.getTimeline(id, cursor, size);
+            return ResponseEntity.ok(timeline);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(MessageResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(MessageResponse.error("Error fetching timeline: " + e.getMessage()));
+        }
+    }
 }
@@ -4,6 +4,7 @@ import com.project.back_end.DTO.ApiResponse;
 import com.project.back_end.DTO.MessageResponse;
 import com.project.back_end.DTO.PrescriptionListResponse;
 import com.project.back_end.DTO.TokenValidationResponse;
+import com.project.back_end.DTO.VersionStamp;
 import com.project.back_end.models.Prescription;
 import com.project.back_end.services.PrescriptionService;
 import com.project.back_end.services.AuthenticationService;
@@ -13,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("${api.path}prescriptions")
@@ -103,12 +105,13 @@ public class PrescriptionController {
 
     /**
      * Get Prescription by ID (MongoDB ObjectId)
-     * Retrieve prescription details by its unique ID
+     * Retrieve prescription details by its unique ID (conditional: 304 while the client's ETag is current)
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> getPrescriptionById(
             @PathVariable String id,
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            WebRequest request) {
         
         TokenValidationResponse validation = authenticationService.validateToken(token, "patient", "doctor", "admin");
         if (!validation.isValid()) {
@@ -116,12 +119,19 @@ public class PrescriptionController {
         }
 
         try {
+            // Prescriptions written before updatedAt existed have no version and are sent in full
+            VersionStamp version = prescriptionService.getPrescriptionVersion(id);
+            String etag = version != null ? ConditionalGet.etag("prescription-" + id, version) : null;
+            if (etag != null && request.checkNotModified(etag)) {
+                return ConditionalGet.notModified();
+            }
             Prescription prescription = prescriptionService.getPrescriptionById(id);
             if (prescription == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(MessageResponse.error("Prescription not found"));
             }
-            return ResponseEntity.ok(ApiResponse.success("Prescription retrieved successfully", prescription));
+            ApiResponse<Prescription> body = ApiResponse.success("Prescription retrieved successfully", prescription);
+            return etag != null ? ConditionalGet.ok(etag, body) : ResponseEntity.ok(body);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(MessageResponse.error("Error fetching prescription: " + e.getMessage()));
@@ -0,0 +1,143 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.DTO.TokenValidationResponse;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.services.AuthenticationService;
+import com.project.back_end.services.ReactivePrescriptionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking prescription API alongside PrescriptionController.
+ * Single documents are returned as Mono; lists are streamed as NDJSON, one prescription per line,
+ * written as they arrive from the Mongo cursor and requested only as fast as the client reads.
+ */
+@RestController
+@RequestMapping("${api.path}reactive/prescriptions")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReactivePrescriptionController {
+
+    private final ReactivePrescriptionService reactivePrescriptionService;
+    private final AuthenticationService authenticationService;
+
+    /**
+     * US-D010: Add Prescription (reactive)
+     */
+    @PostMapping
+    public Mono<ResponseEntity<?>> createPrescription(
+            @Valid @RequestBody Prescription prescription,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "doctor");
+        if (!validation.isValid()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation));
+        }
+
+        prescription.setDoctorId(validation.getUserId());
+        return reactivePrescriptionService.createPrescription(prescription)
+                .map(result -> ResponseEntity.status(result.isSuccess() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                        .body(result));
+    }
+
+    /**
+     * US-P009: View Prescription by Appointment (reactive)
+     */
+    @GetMapping("/appointment/{appointmentId}")
+    public Mono<ResponseEntity<?>> getPrescriptionByAppointment(
+            @PathVariable Long appointmentId,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient", "doctor", "admin");
+        if (!validation.isValid()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation));
+        }
+
+        return found(reactivePrescriptionService.getPrescriptionByAppointmentId(appointmentId),
+                "Prescription not found for this appointment");
+    }
+
+    /**
+     * US-P009: Stream All Patient Prescriptions (reactive, NDJSON)
+     */
+    @GetMapping(value = "/patient/{patientId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Prescription>> streamPatientPrescriptions(
+            @PathVariable Long patientId,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient", "doctor", "admin");
+        if (!validation.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(reactivePrescriptionService.streamPatientPrescriptions(patientId));
+    }
+
+    /**
+     * Stream Doctor's Prescriptions (reactive, NDJSON)
+     */
+    @GetMapping(value = "/doctor/{doctorId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Prescription>> streamDoctorPrescriptions(
+            @PathVariable Long doctorId,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "doctor", "admin");
+        if (!validation.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(reactivePrescriptionService.streamDoctorPrescriptions(doctorId));
+    }
+
+    /**
+     * Get Prescription by ID (reactive)
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getPrescriptionById(
+            @PathVariable String id,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "patient", "doctor", "admin");
+        if (!validation.isValid()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation));
+        }
+
+        return found(reactivePrescriptionService.getPrescriptionById(id), "Prescription not found");
+    }
+
+    /**
+     * Update Prescription (reactive)
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updatePrescription(
+            @PathVariable String id,
+            @Valid @RequestBody Prescription prescription,
+            @RequestHeader("Authorization") String token) {
+
+        TokenValidationResponse validation = authenticationService.validateToken(token, "doctor");
+        if (!validation.isValid()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(validation));
+        }
+
+        prescription.setId(id);
+        return reactivePrescriptionService.updatePrescription(prescription)
+                .map(result -> ResponseEntity.status(result.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST)
+                        .body(result));
+    }
+
+    private Mono<ResponseEntity<?>> found(Mono<Prescription> prescription, String notFoundMessage) {
+        return prescription
+                .<ResponseEntity<?>>map(p -> ResponseEntity.ok(ApiResponse.success("Prescription retrieved successfully", p)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(MessageResponse.error(notFoundMessage)))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(MessageResponse.error("Error fetching prescription: " + e.getMessage()))));
+    }
+}
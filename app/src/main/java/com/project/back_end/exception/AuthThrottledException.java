@@ -0,0 +1,28 @@
+package com.project.back_end.exception;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a login or registration is refused before any password work is done:
+ * 429 when a caller exceeds its rate limit, 503 when the hashing pool is saturated.
+ */
+@Getter
+public class AuthThrottledException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public AuthThrottledException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public static AuthThrottledException tooManyRequests() {
+        return new AuthThrottledException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please try again later");
+    }
+
+    public static AuthThrottledException overloaded() {
+        return new AuthThrottledException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, please try again shortly");
+    }
+}
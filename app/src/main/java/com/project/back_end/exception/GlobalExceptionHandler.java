@@ -1,6 +1,7 @@
 package com.project.back_end.exception;
 
 import com.project.back_end.DTO.MessageResponse;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -36,6 +37,45 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
 
+    /**
+     * Handle login/registration throttling (429) and hashing pool saturation (503)
+     */
+    @ExceptionHandler(AuthThrottledException.class)
+    public ResponseEntity<MessageResponse> handleAuthThrottledException(AuthThrottledException ex) {
+        MessageResponse response = new MessageResponse();
+        response.setSuccess(false);
+        response.setMessage(ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .header("Retry-After", "1")
+                .body(response);
+    }
+
+    /**
+     * Handle writes refused while a doctor's appointments move between shards (503)
+     */
+    @ExceptionHandler(ShardMigrationException.class)
+    public ResponseEntity<MessageResponse> handleShardMigrationException(ShardMigrationException ex) {
+        MessageResponse response = new MessageResponse();
+        response.setSuccess(false);
+        response.setMessage(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "2")
+                .body(response);
+    }
+
+    /**
+     * Handle shard reads that did not answer within appointment.sharding.read-timeout-ms (503)
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<MessageResponse> handleQueryTimeoutException(QueryTimeoutException ex) {
+        MessageResponse response = new MessageResponse();
+        response.setSuccess(false);
+        response.setMessage(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "2")
+                .body(response);
+    }
+
     /**
      * Handle các exceptions chung
      */
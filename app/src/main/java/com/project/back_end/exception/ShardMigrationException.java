@@ -0,0 +1,12 @@
+package com.project.back_end.exception;
+
+/**
+ * Thrown when a doctor's appointments are being moved between shards and writes for that doctor
+ * are briefly refused; answered with 503 and Retry-After so clients try again.
+ */
+public class ShardMigrationException extends RuntimeException {
+
+    public ShardMigrationException(Long doctorId) {
+        super("Appointments for doctor " + doctorId + " are being migrated, please try again shortly");
+    }
+}
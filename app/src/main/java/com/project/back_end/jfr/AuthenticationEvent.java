@@ -0,0 +1,23 @@
+package com.project.back_end.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.project.clinic.Authentication")
+@Label("Authentication")
+@Description("A login, or a check of an access token")
+public class AuthenticationEvent extends DatabaseEvent {
+
+    @Label("Operation")
+    private final String operation;
+
+    @Label("Roles")
+    @Description("Role logging in, or roles the token must carry")
+    private final String roles;
+
+    public AuthenticationEvent(String operation, String roles) {
+        this.operation = operation;
+        this.roles = roles;
+    }
+}
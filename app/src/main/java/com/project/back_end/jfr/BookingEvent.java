@@ -0,0 +1,16 @@
+package com.project.back_end.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.project.clinic.Booking")
+@Label("Appointment Booking")
+public class BookingEvent extends DatabaseEvent {
+
+    @Label("Doctor Id")
+    private final long doctorId;
+
+    public BookingEvent(long doctorId) {
+        this.doctorId = doctorId;
+    }
+}
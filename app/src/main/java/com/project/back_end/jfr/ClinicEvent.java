@@ -0,0 +1,60 @@
+package com.project.back_end.jfr;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the application's Java Flight Recorder events. They cost next to nothing until a
+ * recording enables them (POST /admin/api/diagnostics/recordings, or jcmd JFR.start), so they stay
+ * in place in production.
+ */
+@Category("Clinic")
+@StackTrace(false)
+public abstract class ClinicEvent extends Event {
+
+    @Label("Outcome")
+    protected String outcome;
+
+    /**
+     * Run work as this event: the event spans it, and its outcome is taken from the result, or is
+     * the exception's class name when it throws
+     */
+    public <T> T record(Supplier<T> work, Function<? super T, String> outcomeOf) {
+        boolean enabled = isEnabled();
+        if (enabled) {
+            started();
+            begin();
+        }
+        String result = null;
+        try {
+            T value = work.get();
+            if (enabled) {
+                result = outcomeOf.apply(value);
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            result = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (enabled) {
+                end();
+                finished();
+                if (shouldCommit()) {
+                    outcome = result;
+                    commit();
+                }
+            }
+        }
+    }
+
+    protected void started() {
+    }
+
+    protected void finished() {
+    }
+}
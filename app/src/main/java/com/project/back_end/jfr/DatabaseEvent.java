@@ -0,0 +1,37 @@
+package com.project.back_end.jfr;
+
+import com.project.back_end.config.JdbcTime;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Timespan;
+
+/**
+ * Event that also reports how much of its duration went to the database on its own thread
+ */
+public abstract class DatabaseEvent extends ClinicEvent {
+
+    @Label("Database Time")
+    @Description("Time executing SQL statements")
+    @Timespan(Timespan.NANOSECONDS)
+    protected long databaseTime;
+
+    @Label("Lock Wait")
+    @Description("Time blocked waiting for a pooled database connection")
+    @Timespan(Timespan.NANOSECONDS)
+    protected long lockWait;
+
+    private transient JdbcTime.Scope jdbc;
+
+    @Override
+    protected void started() {
+        jdbc = JdbcTime.begin();
+    }
+
+    @Override
+    protected void finished() {
+        JdbcTime.end(jdbc);
+        databaseTime = jdbc.statementNanos();
+        lockWait = jdbc.connectionWaitNanos();
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.back_end.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.project.clinic.Token")
+@Label("Access Token")
+@Description("Signing or verifying an access token")
+public class TokenEvent extends ClinicEvent {
+
+    @Label("Operation")
+    private final String operation;
+
+    public TokenEvent(String operation) {
+        this.operation = operation;
+    }
+}
@@ -16,6 +16,7 @@ import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -26,7 +27,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "IDX_appointments_patient_date", columnList = "patient_id, appointment_date, appointment_time"),
+        @Index(name = "IDX_appointments_doctor_date", columnList = "doctor_id, appointment_date, appointment_time"),
+        @Index(name = "IDX_appointments_date", columnList = "appointment_date")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -38,12 +43,12 @@ public class Appointment {
     private Long id;
 
     @NotNull
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "patient_id", nullable = false, foreignKey = @ForeignKey(name = "FK_appointments_patients"))
     private Patient patient;
 
     @NotNull
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "doctor_id", nullable = false, foreignKey = @ForeignKey(name = "FK_appointments_doctors"))
     private Doctor doctor;
 
@@ -0,0 +1,56 @@
+package com.project.back_end.models;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Directory entry for a doctor whose appointments were moved off their hashed shard by resharding.
+ * While moving, reads stay on the source shard and writes are refused; once moved, both go to the
+ * target. Lives on the primary and is polled by every node.
+ */
+@Entity
+@Table(name = "appointment_shard_moves")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AppointmentShardMove {
+
+    @Id
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @NotNull
+    @Column(name = "source_shard", nullable = false)
+    private Integer sourceShard;
+
+    @NotNull
+    @Column(name = "target_shard", nullable = false)
+    private Integer targetShard;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private State state;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum State {
+        moving, moved
+    }
+}
@@ -11,7 +11,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "IDX_audit_logs_user_type_action", columnList = "user_type, action"),
+        @Index(name = "IDX_audit_logs_action", columnList = "action")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
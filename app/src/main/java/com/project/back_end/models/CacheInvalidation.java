@@ -0,0 +1,52 @@
+package com.project.back_end.models;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outbox row announcing that cached data changed. Written in the same transaction as the change
+ * itself; every node tails this table by id and evicts the key from its local caches.
+ * A null key means the whole region. Rows are pruned after a retention window.
+ */
+@Entity
+@Table(name = "cache_invalidations",
+        indexes = @Index(name = "IDX_cache_invalidations_created_at", columnList = "created_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(nullable = false, length = 50)
+    private String region;
+
+    @Column(name = "entry_key", length = 100)
+    private String entryKey;
+
+    @NotNull
+    @Column(name = "origin_node", nullable = false, length = 64)
+    private String originNode;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -38,6 +39,10 @@ public class Prescription {
   private String diagnosis;
   private String doctorNotes;
 
+  // Set on every save (MongoAuditingConfig); the prescription's ETag is built from it
+  @LastModifiedDate
+  private LocalDateTime updatedAt;
+
   @NoArgsConstructor
   @AllArgsConstructor
   @Getter
@@ -0,0 +1,76 @@
+package com.project.back_end.models;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single-use refresh token. Only the SHA-256 of the token is stored; every refresh consumes
+ * the row and issues a new one in the same family, so replaying a consumed token revokes the
+ * whole family (the login session it came from).
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "UK_refresh_tokens_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "IDX_refresh_tokens_family", columnList = "family_id"),
+                @Index(name = "IDX_refresh_tokens_user", columnList = "role, user_id")
+        })
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @NotNull
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @NotNull
+    @Column(nullable = false)
+    private String email;
+
+    @NotNull
+    @Column(nullable = false, length = 20)
+    private String role;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(nullable = false)
+    private Boolean revoked = false;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,50 @@
+package com.project.back_end.models;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Access token revoked before its expiry (logout). Append-only: each node tails this table by
+ * id into its in-memory revocation list. Rows are pruned once the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "UK_revoked_tokens_jti", columnNames = "jti"),
+        indexes = @Index(name = "IDX_revoked_tokens_expires_at", columnList = "expires_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(nullable = false, length = 36)
+    private String jti;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,66 @@
+package com.project.back_end.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Short-lived reservation of a doctor's slot while a patient completes the booking form.
+ * The unique key on the slot makes the database the arbiter across app nodes; doctor and
+ * patient are kept as plain ids because holds are transient and read far more than joined.
+ */
+@Entity
+@Table(name = "slot_holds",
+        uniqueConstraints = @UniqueConstraint(name = "UK_slot_holds_slot",
+                columnNames = { "doctor_id", "appointment_date", "appointment_time" }),
+        indexes = @Index(name = "IDX_slot_holds_expires_at", columnList = "expires_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SlotHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @NotNull
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @NotNull
+    @Column(name = "appointment_date", nullable = false)
+    private LocalDate appointmentDate;
+
+    @NotNull
+    @Column(name = "appointment_time", nullable = false)
+    private LocalTime appointmentTime;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,78 @@
+package com.project.back_end.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A patient's interest in any freed slot with a doctor within a date window.
+ * Entries are served first come, first served; an offer holds the freed slot for the patient.
+ */
+@Entity
+@Table(name = "waitlist_entries",
+        indexes = @Index(name = "IDX_waitlist_entries_doctor_status", columnList = "doctor_id, status"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @NotNull
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @NotNull
+    @Column(name = "date_from", nullable = false)
+    private LocalDate dateFrom;
+
+    @NotNull
+    @Column(name = "date_to", nullable = false)
+    private LocalDate dateTo;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.waiting;
+
+    @Column(name = "offered_date")
+    private LocalDate offeredDate;
+
+    @Column(name = "offered_time")
+    private LocalTime offeredTime;
+
+    @Column(name = "offered_at")
+    private LocalDateTime offeredAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        waiting, offered, cancelled
+    }
+}
@@ -14,6 +14,7 @@ import com.project.back_end.models.Admin;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
 import com.project.back_end.services.AuthenticationService;
+import com.project.back_end.services.RefreshTokenService;
 
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
@@ -28,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 public class AuthController {
 
     private final AuthenticationService authenticationService;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Show doctor login page
@@ -65,6 +67,7 @@ public class AuthController {
 
         // Store authentication info in session
         session.setAttribute("token", response.getToken());
+        session.setAttribute("refreshToken", response.getRefreshToken());
         session.setAttribute("userRole", "doctor");
         session.setAttribute("userId", response.getUser().getId());
         session.setAttribute("userName", response.getUser().getUsername());
@@ -105,6 +108,7 @@ public class AuthController {
         }
 
         session.setAttribute("token", response.getToken());
+        session.setAttribute("refreshToken", response.getRefreshToken());
         session.setAttribute("userRole", "patient");
         session.setAttribute("userId", response.getUser().getId());
         session.setAttribute("userName", response.getUser().getUsername());
@@ -146,6 +150,7 @@ public class AuthController {
 
         // Store authentication info in session
         session.setAttribute("token", response.getToken());
+        session.setAttribute("refreshToken", response.getRefreshToken());
         session.setAttribute("userRole", "admin");
         session.setAttribute("userId", response.getUser().getId());
         session.setAttribute("userName", response.getUser().getUsername());
@@ -166,6 +171,8 @@ public class AuthController {
      */
     @GetMapping("/logout")
     public String logout(HttpSession session, RedirectAttributes redirectAttributes) {
+        refreshTokenService.revoke((String) session.getAttribute("token"),
+                (String) session.getAttribute("refreshToken"));
         session.invalidate();
         redirectAttributes.addFlashAttribute("success", "Logged out successfully!");
         return "redirect:/";
@@ -62,6 +62,7 @@ public class PatientRegistrationController {
 
         // Auto login after successful registration
         session.setAttribute("token", response.getToken());
+        session.setAttribute("refreshToken", response.getRefreshToken());
         session.setAttribute("userRole", "patient");
         session.setAttribute("userId", response.getUser().getId());
         session.setAttribute("userName", response.getUser().getUsername());
@@ -1,15 +1,44 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.UserSummary;
 import com.project.back_end.models.Admin;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     
     Admin findByUsername(String username);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Admin findByEmail(String email);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Admin findByUsernameOrEmail(String username, String email);
+
+    @Query("SELECT new com.project.back_end.DTO.UserSummary(a.id, a.username, a.email, a.phone, a.isActive, a.createdAt) "
+            + "FROM Admin a WHERE a.id > :afterId "
+            + "AND (:isActive IS NULL OR a.isActive = :isActive) "
+            + "AND (:search IS NULL OR a.username LIKE :search ESCAPE '!' OR a.email LIKE :search ESCAPE '!') "
+            + "ORDER BY a.id ASC")
+    List<UserSummary> findUserSummaries(@Param("afterId") long afterId, @Param("isActive") Boolean isActive,
+            @Param("search") String search, Limit limit);
+    
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "5000"))
+    long countByIsActive(Boolean isActive);
+    
+    /**
+     * count() with a statement timeout, so a slow count under write load gives its connection back
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "5000"))
+    @Query("SELECT COUNT(x) FROM Admin x")
+    long countAllWithTimeout();
 }
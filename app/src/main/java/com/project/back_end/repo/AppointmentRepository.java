@@ -1,37 +1,94 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.TakenSlot;
+import com.project.back_end.DTO.TimelineItem;
 import com.project.back_end.models.Appointment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-    
+
+    // Finders whose results are rendered as JSON fetch doctor and patient with the appointments:
+    // open-in-view is off, so lazy proxies could not be loaded during serialization
+    @Override
+    @EntityGraph(attributePaths = { "doctor", "patient" })
+    List<Appointment> findAll();
+
+    @EntityGraph(attributePaths = { "doctor", "patient" })
     List<Appointment> findByPatientIdOrderByAppointmentDateDesc(Long patientId);
+
+    /**
+     * Keyset page of a patient's appointments, newest first, strictly after the given position
+     * (pass a null afterDate for the first page)
+     */
+    @Query("SELECT new com.project.back_end.DTO.TimelineItem(a.id, a.appointmentDate, a.appointmentTime, "
+            + "a.status, d.id, d.username, a.appointmentReason) "
+            + "FROM Appointment a JOIN a.doctor d "
+            + "WHERE a.patient.id = :patientId "
+            + "AND (:afterDate IS NULL OR a.appointmentDate < :afterDate "
+            + "OR (a.appointmentDate = :afterDate AND (a.appointmentTime < :afterTime "
+            + "OR (a.appointmentTime = :afterTime AND a.id < :afterId)))) "
+            + "ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC")
+    List<TimelineItem> findTimelineItems(@Param("patientId") Long patientId, @Param("afterDate") LocalDate afterDate,
+            @Param("afterTime") LocalTime afterTime, @Param("afterId") Long afterId, Limit limit);
     
+@EntityGraph(attributePaths = { "doctor", "patient" })
     List<Appointment> findByPatientIdAndStatus(Long patientId, Appointment.AppointmentStatus status);
     
+@EntityGraph(attributePaths = { "doctor", "patient" })
     List<Appointment> findByPatientIdAndAppointmentDateBetween(Long patientId, LocalDate dateFrom, LocalDate dateTo);
     
+@EntityGraph(attributePaths = { "doctor", "patient" })
     List<Appointment> findByDoctorIdOrderByAppointmentDateDesc(Long doctorId);
     
+@EntityGraph(attributePaths = { "doctor", "patient" })
     List<Appointment> findByDoctorIdAndPatientId(Long doctorId, Long patientId);
     
+    List<Appointment> findByDoctorIdAndAppointmentDateBetweenAndStatusNot(Long doctorId, LocalDate dateFrom, LocalDate dateTo, Appointment.AppointmentStatus status);
+
+    /**
+     * Slots several doctors have booked in a date range, in one statement
+     */
+    @Query("SELECT new com.project.back_end.DTO.TakenSlot(a.doctor.id, a.appointmentDate, a.appointmentTime) "
+            + "FROM Appointment a WHERE a.doctor.id IN :doctorIds "
+            + "AND a.appointmentDate BETWEEN :dateFrom AND :dateTo AND a.status <> :status")
+    List<TakenSlot> findTakenSlots(@Param("doctorIds") Collection<Long> doctorIds, @Param("dateFrom") LocalDate dateFrom,
+            @Param("dateTo") LocalDate dateTo, @Param("status") Appointment.AppointmentStatus status);
+    
+@EntityGraph(attributePaths = { "doctor", "patient" })
     List<Appointment> findByDoctorIdAndAppointmentDateGreaterThanEqualOrderByAppointmentDateAsc(Long doctorId, LocalDate date);
     
     boolean existsByDoctorIdAndAppointmentDateAndAppointmentTime(Long doctorId, LocalDate appointmentDate, LocalTime appointmentTime);
     
+    boolean existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(Long doctorId, LocalDate appointmentDate, LocalTime appointmentTime, Appointment.AppointmentStatus status);
+    
     long countByDoctorId(Long doctorId);
     
     long countByDoctorIdAndStatus(Long doctorId, Appointment.AppointmentStatus status);
     
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "5000"))
     long countByAppointmentDate(LocalDate date);
+
+    /**
+     * count() with a statement timeout, so a slow count under write load gives its connection back
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "5000"))
+    @Query("SELECT COUNT(a) FROM Appointment a")
+    long countAllWithTimeout();
     
     @Modifying
     @Transactional
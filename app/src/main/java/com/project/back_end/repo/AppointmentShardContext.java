@@ -0,0 +1,34 @@
+package com.project.back_end.repo;
+
+/**
+ * Appointment shard the current thread's next transaction should use. Unset means the primary
+ * (shard 0), which also holds every table that is not sharded.
+ */
+public final class AppointmentShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private AppointmentShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Switch to a shard and return the previous one, to be handed back to {@link #restore}
+     */
+    static Integer enter(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
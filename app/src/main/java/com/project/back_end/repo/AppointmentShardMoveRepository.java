@@ -0,0 +1,10 @@
+package com.project.back_end.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.project.back_end.models.AppointmentShardMove;
+
+@Repository
+public interface AppointmentShardMoveRepository extends JpaRepository<AppointmentShardMove, Long> {
+}
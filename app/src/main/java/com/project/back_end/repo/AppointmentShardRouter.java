@@ -0,0 +1,13 @@
+package com.project.back_end.repo;
+
+/**
+ * Maps a doctor to the shard that stores their appointments. Replace the bean to change the
+ * placement strategy; explicit per-doctor moves made by resharding take precedence over it.
+ */
+public interface AppointmentShardRouter {
+
+    /**
+     * Shard index in [0, shardCount) for a doctor's appointments
+     */
+    int shardFor(long doctorId, int shardCount);
+}
@@ -0,0 +1,221 @@
+package com.project.back_end.repo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.back_end.exception.ShardMigrationException;
+import com.project.back_end.models.AppointmentShardMove;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Placement and execution for sharded appointments.
+ *
+ * Shard 0 is the primary (spring.datasource.*); appointment.sharding.urls adds shards 1..N-1.
+ * A doctor's appointments live on router.shardFor(doctorId, activeShards) unless the move
+ * directory says otherwise. Work for a shard runs in its own transaction with the shard selected
+ * for the connection, so it never joins a caller's transaction on another shard. Read-only work
+ * may be served by a replica of the shard when replicas are configured; see {@link #readPrimary}.
+ *
+ * Scatter reads run on a pool of their own rather than the application task executor, whose
+ * threads are often the callers waiting on them. The pool has no queue: a read that finds every
+ * thread busy runs on the calling thread, and the caller waits at most read-timeout-ms overall.
+ *
+ * With no extra shards configured everything runs inline on the primary, exactly as before.
+ */
+@Component
+public class AppointmentShards {
+
+    private final AppointmentShardRouter router;
+    private final AppointmentShardMoveRepository moveRepository;
+    private final ThreadPoolExecutor executor;
+    private final long readTimeoutMillis;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int shardCount;
+    private final int activeShards;
+
+    private volatile Map<Long, AppointmentShardMove> directory = Map.of();
+
+    public AppointmentShards(AppointmentShardRouter router,
+            AppointmentShardMoveRepository moveRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${appointment.sharding.urls:}") List<String> urls,
+            @Value("${appointment.sharding.active-shards:0}") int activeShards,
+            @Value("${appointment.sharding.read-threads:16}") int readThreads,
+            @Value("${appointment.sharding.read-timeout-ms:10000}") long readTimeoutMillis) {
+        this.router = router;
+        this.moveRepository = moveRepository;
+        this.shardCount = 1 + (int) urls.stream().filter(url -> !url.isBlank()).count();
+        this.activeShards = activeShards > 0 ? Math.min(activeShards, shardCount) : shardCount;
+        this.readTimeoutMillis = readTimeoutMillis;
+
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, readThreads);
+        this.executor = !isSharded() ? null : new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "appointment-shard-read-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        if (executor != null) {
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * Number of configured shard databases, including the primary
+     */
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Number of shards the router currently hashes over (may lag shardCount until a reshard completes)
+     */
+    public int activeShards() {
+        return activeShards;
+    }
+
+    /**
+     * Shard holding a doctor's appointments, for reads
+     */
+    public int shardOf(Long doctorId) {
+        AppointmentShardMove move = directory.get(doctorId);
+        if (move != null) {
+            return move.getState() == AppointmentShardMove.State.moving ? move.getSourceShard() : move.getTargetShard();
+        }
+        return router.shardFor(doctorId, activeShards);
+    }
+
+    /**
+     * Shard a doctor's appointment writes go to; refused while the doctor is being moved
+     */
+    public int writableShardOf(Long doctorId) {
+        AppointmentShardMove move = directory.get(doctorId);
+        if (move != null && move.getState() == AppointmentShardMove.State.moving) {
+            throw new ShardMigrationException(doctorId);
+        }
+        return shardOf(doctorId);
+    }
+
+    /**
+     * Run work in a read-only transaction on one shard
+     */
+    public <T> T read(int shard, Supplier<T> work) {
+        return run(shard, readTransaction, work);
+    }
+
+    /**
+     * Run a read on one shard's primary, never a replica, for reads that must see every committed
+     * write: double-booking checks and the resharder's copies
+     */
+    public <T> T readPrimary(int shard, Supplier<T> work) {
+        // A read-write transaction is what keeps the lazy primary/replica router on the primary
+        return run(shard, writeTransaction, work);
+    }
+
+    /**
+     * Run work in a read-write transaction on one shard
+     */
+    public <T> T write(int shard, Supplier<T> work) {
+        return run(shard, writeTransaction, work);
+    }
+
+    /**
+     * Run a read on every shard concurrently and return the per-shard results in shard order
+     */
+    public <T> List<T> readAll(IntFunction<T> work) {
+        if (!isSharded()) {
+            return List.of(work.apply(0));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(readTimeoutMillis);
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> read(target, () -> work.apply(target)), executor));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new QueryTimeoutException("Appointment shards did not answer within " + readTimeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted while reading appointment shards");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reload the move directory; resharding waits out this interval before each state change matters
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${appointment.sharding.directory-refresh-ms:1000}")
+    public void refreshDirectory() {
+        if (!isSharded()) {
+            return;
+        }
+        directory = moveRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(AppointmentShardMove::getDoctorId, move -> move));
+    }
+
+    private <T> T run(int shard, TransactionTemplate transaction, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        Integer previous = AppointmentShardContext.enter(shard);
+        try {
+            return transaction.execute(status -> work.get());
+        } finally {
+            AppointmentShardContext.restore(previous);
+        }
+    }
+}
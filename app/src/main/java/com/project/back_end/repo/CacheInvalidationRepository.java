@@ -0,0 +1,37 @@
+package com.project.back_end.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.back_end.models.CacheInvalidation;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    List<CacheInvalidation> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<CacheInvalidation> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM CacheInvalidation c")
+    long findMaxId();
+
+    @Query(value = "SELECT @@auto_increment_increment", nativeQuery = true)
+    Number findAutoIncrementIncrement();
+
+    @Query(value = "SELECT @@auto_increment_offset", nativeQuery = true)
+    Number findAutoIncrementOffset();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -1,7 +1,15 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.UserSummary;
+import com.project.back_end.DTO.VersionStamp;
 import com.project.back_end.models.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,10 +17,12 @@ import java.util.List;
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Doctor findByEmail(String email);
     
     Doctor findByUsername(String username);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Doctor findByEmailOrUsername(String email, String username);
     
     List<Doctor> findByUsernameContainingIgnoreCase(String username);
@@ -24,4 +34,42 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     List<Doctor> findByIsActiveTrue();
     
     List<Doctor> findByIsActiveFalse();
+
+    @Query("SELECT d.id FROM Doctor d ORDER BY d.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT new com.project.back_end.DTO.UserSummary(d.id, d.username, d.email, d.phone, d.isActive, d.createdAt) "
+            + "FROM Doctor d WHERE d.id > :afterId "
+            + "AND (:isActive IS NULL OR d.isActive = :isActive) "
+            + "AND (:search IS NULL OR d.username LIKE :search ESCAPE '!' OR d.email LIKE :search ESCAPE '!') "
+            + "ORDER BY d.id ASC")
+    List<UserSummary> findUserSummaries(@Param("afterId") long afterId, @Param("isActive") Boolean isActive,
+            @Param("search") String search, Limit limit);
+    
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "5000"))
+    long countByIsActive(Boolean isActive);
+    
+    /**
+     * count() with a statement timeout, so a slow count under write load gives its connection back
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "5000"))
+    @Query("SELECT COUNT(x) FROM Doctor x")
+    long countAllWithTimeout();
+
+    /**
+     * Version of the active doctor list, for its ETag; cached like the lookups above and dropped
+     * with them when a doctor changes on any node
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.project.back_end.DTO.VersionStamp(COUNT(d), SUM(d.id), MAX(d.updatedAt)) "
+            + "FROM Doctor d WHERE d.isActive = true")
+    VersionStamp findActiveVersion();
+
+    /**
+     * Version of one doctor, for its ETag (no rows if the doctor does not exist)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.project.back_end.DTO.VersionStamp(COUNT(d), SUM(d.id), MAX(d.updatedAt)) "
+            + "FROM Doctor d WHERE d.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
 }
@@ -1,21 +1,45 @@
 package com.project.back_end.repo;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.project.back_end.DTO.VersionStamp;
 import com.project.back_end.models.DoctorSchedule;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface DoctorScheduleRepository extends JpaRepository<DoctorSchedule, Long> {
     
+    // Rendered as JSON with its doctor, so the doctor is fetched along (open-in-view is off)
+    @EntityGraph(attributePaths = "doctor")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<DoctorSchedule> findByDoctorId(Long doctorId);
     
+    /**
+     * Version of a doctor's schedule, for its ETag: the rows, and the doctor each of them is rendered with
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.project.back_end.DTO.VersionStamp(COUNT(s), SUM(s.id), MAX(GREATEST(s.updatedAt, d.updatedAt))) "
+            + "FROM DoctorSchedule s JOIN s.doctor d WHERE d.id = :doctorId")
+    VersionStamp findVersionByDoctorId(@Param("doctorId") Long doctorId);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<DoctorSchedule> findByDoctorIdAndDayOfWeek(Long doctorId, DoctorSchedule.DayOfWeek dayOfWeek);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<DoctorSchedule> findByDoctorIdIn(Collection<Long> doctorIds);
+    
     @Modifying
     @Transactional
     void deleteByDoctorId(Long doctorId);
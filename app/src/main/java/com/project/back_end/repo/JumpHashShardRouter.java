@@ -0,0 +1,28 @@
+package com.project.back_end.repo;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Jump consistent hash (Lamping &amp; Veach): growing from N to N+1 shards moves only ~1/(N+1) of
+ * the doctors, all of them onto the new shard, which keeps resharding runs short.
+ */
+@Component
+public class JumpHashShardRouter implements AppointmentShardRouter {
+
+    @Override
+    public int shardFor(long doctorId, int shardCount) {
+        if (shardCount <= 1) {
+            return 0;
+        }
+        // Spread sequential ids before jumping
+        long key = doctorId * 0x9E3779B97F4A7C15L;
+        long bucket = -1;
+        long jump = 0;
+        while (jump < shardCount) {
+            bucket = jump;
+            key = key * 2862933555777941757L + 1;
+            jump = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
@@ -1,7 +1,13 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.UserSummary;
 import com.project.back_end.models.Patient;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +24,22 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     Patient findByEmailOrPhone(String email, String phone);
     
     List<Patient> findByIsActive(Boolean isActive);
+
+    @Query("SELECT new com.project.back_end.DTO.UserSummary(p.id, p.username, p.email, p.phone, p.isActive, p.createdAt) "
+            + "FROM Patient p WHERE p.id > :afterId "
+            + "AND (:isActive IS NULL OR p.isActive = :isActive) "
+            + "AND (:search IS NULL OR p.username LIKE :search ESCAPE '!' OR p.email LIKE :search ESCAPE '!') "
+            + "ORDER BY p.id ASC")
+    List<UserSummary> findUserSummaries(@Param("afterId") long afterId, @Param("isActive") Boolean isActive,
+            @Param("search") String search, Limit limit);
+    
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "5000"))
+    long countByIsActive(Boolean isActive);
+    
+    /**
+     * count() with a statement timeout, so a slow count under write load gives its connection back
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "5000"))
+    @Query("SELECT COUNT(x) FROM Patient x")
+    long countAllWithTimeout();
 }
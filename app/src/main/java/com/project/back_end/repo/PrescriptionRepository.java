@@ -1,10 +1,15 @@
 package com.project.back_end.repo;
 
 import com.project.back_end.models.Prescription;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PrescriptionRepository extends MongoRepository<Prescription, String> {
@@ -14,4 +19,31 @@ public interface PrescriptionRepository extends MongoRepository<Prescription, St
     List<Prescription> findByPatientId(Long patientId);
     
     List<Prescription> findByDoctorId(Long doctorId);
+
+    /**
+     * Just the id and updatedAt of a prescription, for its ETag
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'updatedAt': 1 }")
+    Optional<Prescription> findVersionById(String id);
+
+    /**
+     * First keyset page of a patient's prescriptions, newest first (undated ones sort last)
+     */
+    @Query(value = "{ 'patientId': ?0 }", sort = "{ 'prescriptionDate': -1, '_id': -1 }")
+    List<Prescription> findTimelinePage(Long patientId, Pageable page);
+
+    /**
+     * Keyset page strictly after a dated prescription
+     */
+    @Query(value = "{ 'patientId': ?0, '$or': [ { 'prescriptionDate': { '$lt': ?1 } }, "
+            + "{ 'prescriptionDate': ?1, '_id': { '$lt': ?2 } }, { 'prescriptionDate': null } ] }",
+            sort = "{ 'prescriptionDate': -1, '_id': -1 }")
+    List<Prescription> findTimelinePageAfter(Long patientId, LocalDateTime afterDate, ObjectId afterId, Pageable page);
+
+    /**
+     * Keyset page strictly after an undated prescription
+     */
+    @Query(value = "{ 'patientId': ?0, 'prescriptionDate': null, '_id': { '$lt': ?1 } }",
+            sort = "{ '_id': -1 }")
+    List<Prescription> findUndatedTimelinePageAfter(Long patientId, ObjectId afterId, Pageable page);
 }
@@ -0,0 +1,22 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Prescription;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of PrescriptionRepository on the reactive Mongo driver
+ */
+@Repository
+public interface ReactivePrescriptionRepository extends ReactiveMongoRepository<Prescription, String> {
+
+    Mono<Prescription> findFirstByAppointmentId(Long appointmentId);
+
+    Mono<Boolean> existsByAppointmentId(Long appointmentId);
+
+    Flux<Prescription> findByPatientId(Long patientId);
+
+    Flux<Prescription> findByDoctorId(Long doctorId);
+}
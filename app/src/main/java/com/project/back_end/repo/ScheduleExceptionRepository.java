@@ -1,6 +1,7 @@
 package com.project.back_end.repo;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,4 +15,9 @@ public interface ScheduleExceptionRepository extends JpaRepository<ScheduleExcep
     List<ScheduleException> findByDoctorId(Long doctorId);
     
     List<ScheduleException> findByDoctorIdAndExceptionDate(Long doctorId, LocalDate exceptionDate);
+    
+    List<ScheduleException> findByDoctorIdAndExceptionDateBetween(Long doctorId, LocalDate dateFrom, LocalDate dateTo);
+
+    List<ScheduleException> findByDoctorIdInAndExceptionDateBetween(Collection<Long> doctorIds, LocalDate dateFrom,
+            LocalDate dateTo);
 }
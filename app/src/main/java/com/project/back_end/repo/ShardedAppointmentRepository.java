@@ -0,0 +1,243 @@
+package com.project.back_end.repo;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import com.project.back_end.DTO.TakenSlot;
+import com.project.back_end.DTO.TimelineItem;
+import com.project.back_end.models.Appointment;
+
+/**
+ * Shard-aware front for {@link AppointmentRepository}; services use this instead of the JPA repository.
+ *
+ * Doctor-scoped queries and writes go to the doctor's shard. Patient-scoped queries and lookups by
+ * id are scattered to every shard in parallel and merged; ordered results are k-way merged so each
+ * shard's index order is reused instead of re-sorting everything. Rows a shard holds for a doctor
+ * it does not own (copies in flight during resharding) are dropped, so nothing is returned twice.
+ * When sharded, appointments outlive their shard's transaction, so doctor and patient are loaded
+ * before it ends.
+ */
+@Repository
+public class ShardedAppointmentRepository {
+
+    private static final Comparator<Appointment> BY_DATE_DESC =
+            Comparator.comparing(Appointment::getAppointmentDate).reversed();
+
+    private static final Comparator<TimelineItem> TIMELINE_ORDER =
+            Comparator.comparing(TimelineItem::getOccurredAt)
+                    .thenComparing(TimelineItem::getAppointmentId)
+                    .reversed();
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentShards shards;
+
+    public ShardedAppointmentRepository(AppointmentRepository appointmentRepository, AppointmentShards shards) {
+        this.appointmentRepository = appointmentRepository;
+        this.shards = shards;
+    }
+
+    public Appointment save(Appointment appointment) {
+        int shard = shards.writableShardOf(appointment.getDoctor().getId());
+        return shards.write(shard, () -> appointmentRepository.save(appointment));
+    }
+
+    public Optional<Appointment> findById(Long id) {
+        return shards.readAll(shard -> appointmentRepository.findById(id)
+                .filter(appointment -> ownedBy(shard, appointment.getDoctor().getId()))
+                .map(this::loaded)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    public List<Appointment> findAll() {
+        return concat(shards.readAll(shard -> owned(shard, appointmentRepository.findAll())));
+    }
+
+    public List<Appointment> findByPatientIdOrderByAppointmentDateDesc(Long patientId) {
+        return mergeSorted(shards.readAll(
+                shard -> owned(shard, appointmentRepository.findByPatientIdOrderByAppointmentDateDesc(patientId))),
+                BY_DATE_DESC, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Keyset page of a patient's appointments across shards: each shard returns at most one page past
+     * the position, and the merged result is cut back to one page
+     */
+    public List<TimelineItem> findTimelineItems(Long patientId, LocalDate afterDate, LocalTime afterTime, Long afterId,
+            Limit limit) {
+        List<List<TimelineItem>> pages = shards.readAll(
+                shard -> appointmentRepository.findTimelineItems(patientId, afterDate, afterTime, afterId, limit).stream()
+                        .filter(item -> ownedBy(shard, item.getDoctorId()))
+                        .toList());
+        return mergeSorted(pages, TIMELINE_ORDER, limit.isLimited() ? limit.max() : Integer.MAX_VALUE);
+    }
+
+    public List<Appointment> findByPatientIdAndStatus(Long patientId, Appointment.AppointmentStatus status) {
+        return concat(shards.readAll(
+                shard -> owned(shard, appointmentRepository.findByPatientIdAndStatus(patientId, status))));
+    }
+
+    public List<Appointment> findByPatientIdAndAppointmentDateBetween(Long patientId, LocalDate dateFrom, LocalDate dateTo) {
+        return concat(shards.readAll(shard -> owned(shard,
+                appointmentRepository.findByPatientIdAndAppointmentDateBetween(patientId, dateFrom, dateTo))));
+    }
+
+    public List<Appointment> findByDoctorIdOrderByAppointmentDateDesc(Long doctorId) {
+        return shards.read(shards.shardOf(doctorId),
+                () -> loaded(appointmentRepository.findByDoctorIdOrderByAppointmentDateDesc(doctorId)));
+    }
+
+    public List<Appointment> findByDoctorIdAndPatientId(Long doctorId, Long patientId) {
+        return shards.read(shards.shardOf(doctorId),
+                () -> loaded(appointmentRepository.findByDoctorIdAndPatientId(doctorId, patientId)));
+    }
+
+    public List<Appointment> findByDoctorIdAndAppointmentDateBetweenAndStatusNot(Long doctorId, LocalDate dateFrom,
+            LocalDate dateTo, Appointment.AppointmentStatus status) {
+        return shards.read(shards.shardOf(doctorId), () -> loaded(appointmentRepository
+                .findByDoctorIdAndAppointmentDateBetweenAndStatusNot(doctorId, dateFrom, dateTo, status)));
+    }
+
+    /**
+     * Booked slots of several doctors: one statement per shard that owns any of them
+     */
+    public List<TakenSlot> findTakenSlots(Collection<Long> doctorIds, LocalDate dateFrom, LocalDate dateTo,
+            Appointment.AppointmentStatus status) {
+        Map<Integer, List<Long>> byShard = doctorIds.stream().collect(Collectors.groupingBy(shards::shardOf));
+        List<TakenSlot> taken = new ArrayList<>();
+        byShard.forEach((shard, ids) -> taken.addAll(shards.read(shard,
+                () -> appointmentRepository.findTakenSlots(ids, dateFrom, dateTo, status))));
+        return taken;
+    }
+
+    public List<Appointment> findByDoctorIdAndAppointmentDateGreaterThanEqualOrderByAppointmentDateAsc(Long doctorId,
+            LocalDate date) {
+        return shards.read(shards.shardOf(doctorId), () -> loaded(appointmentRepository
+                .findByDoctorIdAndAppointmentDateGreaterThanEqualOrderByAppointmentDateAsc(doctorId, date)));
+    }
+
+    public boolean existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(Long doctorId,
+            LocalDate appointmentDate, LocalTime appointmentTime, Appointment.AppointmentStatus status) {
+        // Guards against double booking, so a lagging replica must not answer it
+        return shards.readPrimary(shards.shardOf(doctorId), () -> appointmentRepository
+                .existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(doctorId, appointmentDate,
+                        appointmentTime, status));
+    }
+
+    public long countByDoctorId(Long doctorId) {
+        return shards.read(shards.shardOf(doctorId), () -> appointmentRepository.countByDoctorId(doctorId));
+    }
+
+    public long countByDoctorIdAndStatus(Long doctorId, Appointment.AppointmentStatus status) {
+        return shards.read(shards.shardOf(doctorId),
+                () -> appointmentRepository.countByDoctorIdAndStatus(doctorId, status));
+    }
+
+    public long countByAppointmentDate(LocalDate date) {
+        return shards.readAll(shard -> appointmentRepository.countByAppointmentDate(date)).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+
+    public long countAllWithTimeout() {
+        return shards.readAll(shard -> appointmentRepository.countAllWithTimeout()).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+
+    public void deleteAllByDoctorId(Long doctorId) {
+        shards.write(shards.writableShardOf(doctorId), () -> {
+            appointmentRepository.deleteAllByDoctorId(doctorId);
+            return null;
+        });
+    }
+
+    // Counts may briefly include in-flight copies during resharding; they are dashboard figures only
+    private boolean ownedBy(int shard, Long doctorId) {
+        return !shards.isSharded() || shards.shardOf(doctorId) == shard;
+    }
+
+    private List<Appointment> owned(int shard, List<Appointment> appointments) {
+        if (!shards.isSharded()) {
+            return appointments;
+        }
+        return loaded(appointments.stream()
+                .filter(appointment -> ownedBy(shard, appointment.getDoctor().getId()))
+                .toList());
+    }
+
+    private List<Appointment> loaded(List<Appointment> appointments) {
+        if (shards.isSharded()) {
+            appointments.forEach(this::loaded);
+        }
+        return appointments;
+    }
+
+    private Appointment loaded(Appointment appointment) {
+        if (shards.isSharded()) {
+            Hibernate.initialize(appointment.getDoctor());
+            Hibernate.initialize(appointment.getPatient());
+        }
+        return appointment;
+    }
+
+    private static <T> List<T> concat(List<List<T>> perShard) {
+        if (perShard.size() == 1) {
+            return perShard.get(0);
+        }
+        List<T> all = new ArrayList<>();
+        perShard.forEach(all::addAll);
+        return all;
+    }
+
+    // K-way merge of lists already sorted by the same order
+    private static <T> List<T> mergeSorted(List<List<T>> perShard, Comparator<T> order, int limit) {
+        if (perShard.size() == 1) {
+            List<T> only = perShard.get(0);
+            return only.size() > limit ? only.subList(0, limit) : only;
+        }
+
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.head(), b.head()));
+        for (List<T> list : perShard) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor<>(list));
+            }
+        }
+        List<T> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor<T> {
+        private final List<T> list;
+        private int position;
+
+        private Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        private T head() {
+            return list.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < list.size();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.project.back_end.repo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.back_end.models.SlotHold;
+
+@Repository
+public interface SlotHoldRepository extends JpaRepository<SlotHold, Long> {
+
+    @Query("SELECT h FROM SlotHold h WHERE h.doctorId = :doctorId AND h.appointmentDate = :date "
+            + "AND h.appointmentTime = :time AND h.expiresAt > :now")
+    Optional<SlotHold> findActiveHold(@Param("doctorId") Long doctorId, @Param("date") LocalDate date,
+            @Param("time") LocalTime time, @Param("now") LocalDateTime now);
+
+    List<SlotHold> findByDoctorIdAndAppointmentDateBetweenAndExpiresAtAfter(Long doctorId, LocalDate dateFrom,
+            LocalDate dateTo, LocalDateTime now);
+
+    List<SlotHold> findByDoctorIdInAndAppointmentDateBetweenAndExpiresAtAfter(Collection<Long> doctorIds,
+            LocalDate dateFrom, LocalDate dateTo, LocalDateTime now);
+
+    Optional<SlotHold> findByDoctorIdAndAppointmentDateAndAppointmentTime(Long doctorId, LocalDate date,
+            LocalTime time);
+
+    List<SlotHold> findByExpiresAtLessThanEqual(LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SlotHold h WHERE h.id = :id AND h.expiresAt <= :now")
+    int deleteIfExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    long deleteByIdAndPatientId(Long id, Long patientId);
+
+    /**
+     * Delete one hold; 0 if it is already gone. The row lock makes a concurrent consumer wait
+     * for this transaction and then see 0.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SlotHold h WHERE h.id = :id")
+    int deleteHold(@Param("id") Long id);
+}
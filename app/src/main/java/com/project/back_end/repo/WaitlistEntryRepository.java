@@ -0,0 +1,52 @@
+package com.project.back_end.repo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.back_end.models.WaitlistEntry;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByPatientIdOrderByCreatedAtDesc(Long patientId);
+
+    List<WaitlistEntry> findByDoctorIdAndStatusAndDateToGreaterThanEqual(Long doctorId,
+            WaitlistEntry.Status status, LocalDate date);
+
+    Optional<WaitlistEntry> findByDoctorIdAndPatientIdAndStatusAndOfferedDateAndOfferedTime(Long doctorId,
+            Long patientId, WaitlistEntry.Status status, LocalDate offeredDate, LocalTime offeredTime);
+
+    boolean existsByDoctorIdAndPatientIdAndStatus(Long doctorId, Long patientId, WaitlistEntry.Status status);
+
+    /**
+     * Claim a waiting entry for an offer; returns 0 if another node already claimed or it was cancelled
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WaitlistEntry w SET w.status = 'offered', w.offeredDate = :date, w.offeredTime = :time, "
+            + "w.offeredAt = :now WHERE w.id = :id AND w.status = 'waiting'")
+    int claimForOffer(@Param("id") Long id, @Param("date") LocalDate date, @Param("time") LocalTime time,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE WaitlistEntry w SET w.status = 'waiting', w.offeredDate = null, w.offeredTime = null, "
+            + "w.offeredAt = null WHERE w.id = :id AND w.status = 'offered'")
+    int revertOffer(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE WaitlistEntry w SET w.status = 'cancelled' WHERE w.id = :id AND w.patientId = :patientId "
+            + "AND w.status = 'waiting'")
+    int cancel(@Param("id") Long id, @Param("patientId") Long patientId);
+}
@@ -1,14 +1,20 @@
 package com.project.back_end.security;
 
 import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
 
+import com.project.back_end.DTO.LoginResponse;
 import com.project.back_end.DTO.TokenValidationResponse;
 import com.project.back_end.services.AuthenticationService;
+import com.project.back_end.services.RefreshTokenService;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,14 +24,27 @@ import jakarta.servlet.http.HttpSession;
 /**
  * JWT Authentication Filter
  * Supports both JWT token (for REST API) and session-based authentication (for MVC)
+ * Authorizes from the token's role claim alone; no database lookup per request
+ * Authentication is observed as clinic.jwt.authentication (a timer and a span, tagged with the
+ * outcome); the rest of the chain runs outside it
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String OBSERVATION = "clinic.jwt.authentication";
+
+    private static final String REFRESH_LOCK_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".REFRESH_LOCK";
+
     private final AuthenticationService authenticationService;
+    private final RefreshTokenService refreshTokenService;
+    private final ObservationRegistry observationRegistry;
 
-    public JwtAuthenticationFilter(AuthenticationService authenticationService) {
+    public JwtAuthenticationFilter(AuthenticationService authenticationService,
+            RefreshTokenService refreshTokenService,
+            ObservationRegistry observationRegistry) {
         this.authenticationService = authenticationService;
+        this.refreshTokenService = refreshTokenService;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
@@ -33,8 +52,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
+        Observation observation = Observation.createNotStarted(OBSERVATION, observationRegistry);
+        observation.observe(() -> observation.lowCardinalityKeyValue("outcome", authenticate(request)));
+
+        // Continue with filter chain
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Set the SecurityContext from the request's token, if it has a valid one
+     * @return authenticated, rejected or anonymous
+     */
+    private String authenticate(HttpServletRequest request) {
         String token = null;
-        String role = null;
+        HttpSession session = null;
 
         System.out.println("🔍 [JwtFilter] Processing request: " + request.getRequestURI());
 
@@ -42,54 +73,87 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
-            role = determineRoleFromPath(request.getRequestURI());
-            System.out.println("   ✅ Token from Authorization header, role: " + role);
+            System.out.println("   ✅ Token from Authorization header");
         }
         // 2. If no token in header, try to get from session (MVC)
         else {
-            HttpSession session = request.getSession(false);
+            session = request.getSession(false);
             if (session != null) {
                 token = (String) session.getAttribute("token");
-                role = (String) session.getAttribute("userRole");
-                System.out.println("   ✅ Token from session, role: " + role);
+                System.out.println("   ✅ Token from session");
                 System.out.println("   📝 Session ID: " + session.getId());
             } else {
                 System.out.println("   ❌ No session found");
             }
         }
 
-        // Validate token if found
-        if (token != null && role != null) {
-            TokenValidationResponse validation = authenticationService.validateToken(token, role);
+        // Validate token if found - role and user id are read from the token claims
+        if (token != null) {
+            TokenValidationResponse validation = authenticationService.authenticate(token);
+
+            // Session access tokens are short-lived; renew them from the session's refresh token
+            if (!validation.isValid() && session != null) {
+                validation = refreshSessionToken(session);
+            }
 
             if (validation.isValid()) {
                 // Create authentication object and set into SecurityContext
-                JwtAuthentication authentication = new JwtAuthentication(validation.getEmail(), role);
+                JwtAuthentication authentication = new JwtAuthentication(validation.getEmail(), validation.getRole());
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 System.out.println("   ✅ Authentication set: " + validation.getEmail() + " with authorities: " + authentication.getAuthorities());
-            } else {
-                System.out.println("   ❌ Token validation failed: " + validation.getMessage());
+                return "authenticated";
             }
-        } else {
-            System.out.println("   ⚠️  No token or role found (token: " + (token != null) + ", role: " + role + ")");
+            System.out.println("   ❌ Token validation failed: " + validation.getMessage());
+            return "rejected";
         }
-
-        // Continue with filter chain
-        filterChain.doFilter(request, response);
+        System.out.println("   ⚠️  No token found");
+        return "anonymous";
     }
 
     /**
-     * Determine role based on request path
+     * Rotate the session's refresh token and store the new token pair in the session
      */
-    private String determineRoleFromPath(String path) {
-        if (path.startsWith("/admin/")) {
-            return "admin";
-        } else if (path.startsWith("/doctor/")) {
-            return "doctor";
-        } else if (path.startsWith("/patient/")) {
-            return "patient";
+    private TokenValidationResponse refreshSessionToken(HttpSession session) {
+        // Serialize per session so parallel page requests don't replay the same refresh token.
+        // A ReentrantLock rather than synchronized: the rotation does I/O, which would pin a virtual thread
+        ReentrantLock lock = refreshLockFor(session);
+        lock.lock();
+        try {
+            String current = (String) session.getAttribute("token");
+            if (current != null) {
+                TokenValidationResponse validation = authenticationService.authenticate(current);
+                if (validation.isValid()) {
+                    return validation;
+                }
+            }
+
+            String refreshToken = (String) session.getAttribute("refreshToken");
+            if (refreshToken == null) {
+                return TokenValidationResponse.error("Session token expired");
+            }
+
+            LoginResponse<Void> refreshed = refreshTokenService.rotate(refreshToken);
+            if (!refreshed.isSuccess()) {
+                return TokenValidationResponse.error(refreshed.getMessage());
+            }
+
+            session.setAttribute("token", refreshed.getToken());
+            session.setAttribute("refreshToken", refreshed.getRefreshToken());
+            return authenticationService.authenticate(refreshed.getToken());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock refreshLockFor(HttpSession session) {
+        synchronized (WebUtils.getSessionMutex(session)) {
+            ReentrantLock lock = (ReentrantLock) session.getAttribute(REFRESH_LOCK_ATTRIBUTE);
+            if (lock == null) {
+                lock = new ReentrantLock();
+                session.setAttribute(REFRESH_LOCK_ATTRIBUTE, lock);
+            }
+            return lock;
         }
-        return null;
     }
 
     /**
@@ -108,7 +172,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 path.startsWith("/images/") ||
                 path.startsWith("/pages/") ||
                 path.startsWith("/static/") ||
-                path.startsWith("/actuator/") ||
+                path.startsWith("/actuator/health") ||
+                path.equals("/actuator/prometheus") ||
                 path.endsWith("/login");
     }
 }
@@ -0,0 +1,171 @@
+package com.project.back_end.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.DTO.AdminDashboardResponse;
+import com.project.back_end.repo.ShardedAppointmentRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Admin dashboard counters loaded in parallel within a fixed latency budget.
+ *
+ * Each counter is cached for a short TTL. Expired counters are refreshed concurrently on a small
+ * bounded pool; whatever has not answered when the budget runs out is served from its last known
+ * value and marked stale, while the query keeps running and refreshes the cache for the next call.
+ * At most one refresh per counter is in flight, so a slow table is never hit by a pile of retries.
+ * Counters are cached by metric; the per-day counter also records its date, so after midnight it is
+ * refreshed at once and, until the new count arrives, yesterday's value is served as stale.
+ */
+@Component
+public class AdminDashboardStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminDashboardStatistics.class);
+
+    static final String TOTAL_PATIENTS = "totalPatients";
+    static final String TOTAL_DOCTORS = "totalDoctors";
+    static final String TOTAL_APPOINTMENTS = "totalAppointments";
+    static final String TODAY_APPOINTMENTS = "todayAppointments";
+
+    private final UserCountCache userCountCache;
+    private final ShardedAppointmentRepository appointmentRepository;
+    private final ThreadPoolExecutor executor;
+    private final long budgetMillis;
+    private final long ttlMillis;
+
+    private final Map<String, CachedValue> values = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
+
+    public AdminDashboardStatistics(UserCountCache userCountCache,
+            ShardedAppointmentRepository appointmentRepository,
+            @Value("${admin.dashboard.threads:4}") int threads,
+            @Value("${admin.dashboard.budget-ms:800}") long budgetMillis,
+            @Value("${admin.dashboard.ttl-ms:30000}") long ttlMillis) {
+        this.userCountCache = userCountCache;
+        this.appointmentRepository = appointmentRepository;
+        this.budgetMillis = budgetMillis;
+        this.ttlMillis = ttlMillis;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "admin-dashboard-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Get the dashboard counters, refreshing expired ones in parallel within the budget
+     */
+    public AdminDashboardResponse getStatistics() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        LocalDate today = LocalDate.now();
+
+        Map<String, CompletableFuture<Long>> pending = new LinkedHashMap<>();
+        pending.put(TOTAL_PATIENTS, refresh(TOTAL_PATIENTS, null, () -> userCountCache.count("patient", null)));
+        pending.put(TOTAL_DOCTORS, refresh(TOTAL_DOCTORS, null, () -> userCountCache.count("doctor", null)));
+        pending.put(TOTAL_APPOINTMENTS,
+                refresh(TOTAL_APPOINTMENTS, null, appointmentRepository::countAllWithTimeout));
+        pending.put(TODAY_APPOINTMENTS,
+                refresh(TODAY_APPOINTMENTS, today, () -> appointmentRepository.countByAppointmentDate(today)));
+
+        Map<String, Long> results = new LinkedHashMap<>();
+        Map<String, LocalDateTime> stale = new LinkedHashMap<>();
+        pending.forEach((metric, future) -> {
+            Long value = await(future, deadline);
+            if (value != null) {
+                results.put(metric, value);
+                return;
+            }
+            CachedValue last = values.get(metric);
+            results.put(metric, last != null ? last.value() : null);
+            stale.put(metric, last != null ? last.loadedAt() : null);
+        });
+
+        return AdminDashboardResponse.of(results.get(TOTAL_PATIENTS), results.get(TOTAL_DOCTORS),
+                results.get(TOTAL_APPOINTMENTS), results.get(TODAY_APPOINTMENTS), stale);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fresh cached value, the refresh already in flight, or a newly started refresh. A counter
+     * for a given date is only fresh for that date; dateless counters pass null.
+     */
+    private CompletableFuture<Long> refresh(String metric, LocalDate date, Supplier<Long> query) {
+        CachedValue cached = values.get(metric);
+        if (cached != null && Objects.equals(cached.date(), date)
+                && System.currentTimeMillis() - cached.loadedAtMillis() < ttlMillis) {
+            return CompletableFuture.completedFuture(cached.value());
+        }
+
+        // In-flight entries are removed on completion, so the date suffix does not accumulate
+        String key = date != null ? metric + ":" + date : metric;
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        CompletableFuture<Long> running = inFlight.putIfAbsent(key, started);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    Long value = query.get();
+                    // A refresh for yesterday that finishes late must not replace today's count
+                    values.merge(metric, new CachedValue(value, date, LocalDateTime.now(), System.currentTimeMillis()),
+                            (old, fresh) -> date != null && old.date() != null && old.date().isAfter(date) ? old : fresh);
+                    started.complete(value);
+                } catch (RuntimeException e) {
+                    logger.warn("Dashboard counter {} failed: {}", key, e.getMessage());
+                    started.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, started);
+            started.completeExceptionally(e);
+        }
+        return started;
+    }
+
+    private Long await(CompletableFuture<Long> future, long deadlineNanos) {
+        try {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private record CachedValue(long value, LocalDate date, LocalDateTime loadedAt, long loadedAtMillis) {
+    }
+}
@@ -1,22 +1,22 @@
 package com.project.back_end.services;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.project.back_end.DTO.AdminDashboardResponse;
 import com.project.back_end.DTO.AuditLogsResponse;
 import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.DTO.UserPage;
+import com.project.back_end.DTO.UserSummary;
 import com.project.back_end.DTO.UsersResponse;
 import com.project.back_end.models.Admin;
 import com.project.back_end.models.AuditLog;
 import com.project.back_end.models.Doctor;
-import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AdminRepository;
-import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.AuditLogRepository;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.PatientRepository;
@@ -30,24 +30,25 @@ public class AdminService {
     private final AdminRepository adminRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
-    private final AppointmentRepository appointmentRepository;
     private final AuditLogRepository auditLogRepository;
+    private final UserCountCache userCountCache;
+    private final AdminDashboardStatistics adminDashboardStatistics;
+    private final RefreshTokenService refreshTokenService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private static final int MAX_USERS_PAGE_SIZE = 100;
 
     /**
      * Get admin dashboard statistics
      */
     public AdminDashboardResponse getAdminDashboardStatistics() {
-        long totalPatients = patientRepository.count();
-        long totalDoctors = doctorRepository.count();
-        long totalAppointments = appointmentRepository.count();
-        long todayAppointments = appointmentRepository.countByAppointmentDate(LocalDate.now());
-
-        return AdminDashboardResponse.of(totalPatients, totalDoctors, totalAppointments, todayAppointments);
+        return adminDashboardStatistics.getStatistics();
     }
 
     /**
      * Get audit logs
      */
+    @Transactional(readOnly = true)
     public AuditLogsResponse getAuditLogs(String userType, String action, String dateFrom, String dateTo) {
         List<AuditLog> logs = auditLogRepository.findAll();
         // Apply filters if needed
@@ -64,30 +65,54 @@ public class AdminService {
     }
 
     /**
-     * Get all users
+     * Get one page of the user directory
+     * Each user type is paged independently with its own keyset cursor (last seen id)
      */
-    public UsersResponse getAllUsers(String userType, Boolean isActive) {
-        List<Patient> patients = null;
-        List<Doctor> doctors = null;
-        List<Admin> admins = null;
+    @Transactional(readOnly = true)
+    public UsersResponse getAllUsers(String userType, Boolean isActive, String search,
+            Long patientCursor, Long doctorCursor, Long adminCursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_USERS_PAGE_SIZE));
+        String pattern = search == null || search.isBlank() ? null : escapeLike(search.trim()) + "%";
+        Limit limit = Limit.of(pageSize);
+
+        UserPage patients = null;
+        UserPage doctors = null;
+        UserPage admins = null;
 
         if (userType == null || userType.equals("patient")) {
-            patients = isActive != null ? patientRepository.findByIsActive(isActive) : patientRepository.findAll();
+            List<UserSummary> items = patientRepository.findUserSummaries(
+                    cursorOf(patientCursor), isActive, pattern, limit);
+            patients = UserPage.of(items, pageSize, totalOf("patient", isActive, pattern));
         }
 
         if (userType == null || userType.equals("doctor")) {
-            doctors = isActive != null
-                    ? (isActive ? doctorRepository.findByIsActiveTrue() : doctorRepository.findByIsActiveFalse())
-                    : doctorRepository.findAll();
+            List<UserSummary> items = doctorRepository.findUserSummaries(
+                    cursorOf(doctorCursor), isActive, pattern, limit);
+            doctors = UserPage.of(items, pageSize, totalOf("doctor", isActive, pattern));
         }
 
         if (userType == null || userType.equals("admin")) {
-            admins = adminRepository.findAll();
+            List<UserSummary> items = adminRepository.findUserSummaries(
+                    cursorOf(adminCursor), isActive, pattern, limit);
+            admins = UserPage.of(items, pageSize, totalOf("admin", isActive, pattern));
         }
 
         return UsersResponse.builder().admins(admins).patients(patients).doctors(doctors).build();
     }
 
+    // '!' is the ESCAPE character of the findUserSummaries queries, so typed % and _ match themselves
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private long cursorOf(Long cursor) {
+        return cursor != null ? cursor : 0L;
+    }
+
+    private Long totalOf(String userType, Boolean isActive, String pattern) {
+        return pattern == null ? userCountCache.count(userType, isActive) : null;
+    }
+
     /**
      * Deactivate user
      */
@@ -107,6 +132,7 @@ public class AdminService {
                     return MessageResponse.error("Doctor not found");
                 doctor.get().setIsActive(false);
                 doctorRepository.save(doctor.get());
+                cacheInvalidationBus.publish(Doctor.class, userId);
             }
             case "admin" -> {
                 var admin = adminRepository.findById(userId);
@@ -114,11 +140,14 @@ public class AdminService {
                     return MessageResponse.error("Admin not found");
                 admin.get().setIsActive(false);
                 adminRepository.save(admin.get());
+                cacheInvalidationBus.publish(Admin.class, userId);
             }
             default -> {
                 return MessageResponse.error("Invalid user type");
             }
         }
+        userCountCache.invalidate(userType);
+        refreshTokenService.revokeAllForUser(userType, userId);
         return MessageResponse.success("User deactivated successfully");
     }
 
@@ -141,6 +170,7 @@ public class AdminService {
                     return MessageResponse.error("Doctor not found");
                 doctor.get().setIsActive(true);
                 doctorRepository.save(doctor.get());
+                cacheInvalidationBus.publish(Doctor.class, userId);
             }
             case "admin" -> {
                 var admin = adminRepository.findById(userId);
@@ -148,11 +178,13 @@ public class AdminService {
                     return MessageResponse.error("Admin not found");
                 admin.get().setIsActive(true);
                 adminRepository.save(admin.get());
+                cacheInvalidationBus.publish(Admin.class, userId);
             }
             default -> {
                 return MessageResponse.error("Invalid user type");
             }
         }
+        userCountCache.invalidate(userType);
         return MessageResponse.success("User activated successfully");
     }
 
@@ -169,6 +201,7 @@ public class AdminService {
         try {
             admin.get().setRole(Admin.Role.valueOf(role.toUpperCase()));
             adminRepository.save(admin.get());
+            cacheInvalidationBus.publish(Admin.class, adminId);
             return MessageResponse.success("Admin role updated successfully");
         } catch (IllegalArgumentException e) {
             return MessageResponse.error("Invalid role: " + role);
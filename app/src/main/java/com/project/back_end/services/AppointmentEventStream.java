@@ -0,0 +1,180 @@
+package com.project.back_end.services;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.project.back_end.DTO.AppointmentEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-Sent Events fan-out of appointment changes to open doctor dashboards.
+ *
+ * Idle connections hold no thread: each subscriber is an async SseEmitter plus a small
+ * outbound queue. Publishing only enqueues; a shared sender pool drains the queues, so a
+ * slow browser never blocks AppointmentService. A subscriber that falls more than
+ * MAX_PENDING_EVENTS behind is disconnected and is expected to reconnect and refetch.
+ */
+@Component
+public class AppointmentEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentEventStream.class);
+
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static final long HEARTBEAT_SECONDS = 25;
+    private static final int MAX_PENDING_EVENTS = 64;
+    private static final int SENDER_THREADS = 2;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newFixedThreadPool(SENDER_THREADS, daemon("sse-sender"));
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("sse-heartbeat"));
+
+    public AppointmentEventStream() {
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Open a live event stream for a doctor
+     */
+    public SseEmitter subscribe(Long doctorId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Subscriber subscriber = new Subscriber(doctorId, emitter);
+
+        subscribers.computeIfAbsent(doctorId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscriber.offer(SseEmitter.event().name("connected").data(doctorId));
+        return emitter;
+    }
+
+    /**
+     * Fan an appointment change out to the doctor's subscribers once the transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentEvent(AppointmentEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getDoctorId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(SseEmitter.event().name(event.getType().name()).data(event));
+        }
+    }
+
+    /**
+     * Number of open dashboard connections
+     */
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.doctorId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One open connection with its bounded outbound queue
+     */
+    private final class Subscriber {
+        private final Long doctorId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long doctorId, SseEmitter emitter) {
+            this.doctorId = doctorId;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (size.incrementAndGet() > MAX_PENDING_EVENTS) {
+                logger.warn("Dropping slow SSE subscriber for doctor {}", doctorId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been queued after the last poll but before draining was released
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
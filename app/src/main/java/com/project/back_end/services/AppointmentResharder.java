@@ -0,0 +1,262 @@
+package com.project.back_end.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.ReshardStatus;
+import com.project.back_end.models.AppointmentShardMove;
+import com.project.back_end.repo.AppointmentShardMoveRepository;
+import com.project.back_end.repo.AppointmentShardRouter;
+import com.project.back_end.repo.AppointmentShards;
+import com.project.back_end.repo.DoctorRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Online resharding of appointments to a new shard count.
+ *
+ * Doctors whose shard changes are moved in batches while the application keeps serving:
+ * 1. copy their rows to the target shard (writes still go to the source);
+ * 2. mark them moving and wait for every node to see it, which freezes their writes;
+ * 3. copy again to catch changes made during step 1, then check both shards hold the same rows;
+ * 4. mark them moved and wait again, so all reads and writes now go to the target;
+ * 5. delete their rows from the source.
+ * Writes for a doctor are refused (503, retry) only between steps 2 and 4. Every read goes to the
+ * shard's primary: a replica behind the fence would make step 3 drop rows that step 5 then deletes
+ * for good. A copy replaces whatever the target held for the doctor, so copies left by a failed
+ * run never survive, and a failure before step 4 removes the batch's copies again. Once a run is
+ * done, set appointment.sharding.active-shards to the new count; the next run purges the now
+ * redundant directory entries.
+ */
+@Service
+public class AppointmentResharder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentResharder.class);
+
+    private final AppointmentShards shards;
+    private final AppointmentShardRouter router;
+    private final AppointmentShardMoveRepository moveRepository;
+    private final DoctorRepository doctorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int batchSize;
+    private final long fenceMillis;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "appointment-resharder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ReshardStatus status = ReshardStatus.idle();
+
+    public AppointmentResharder(AppointmentShards shards,
+            AppointmentShardRouter router,
+            AppointmentShardMoveRepository moveRepository,
+            DoctorRepository doctorRepository,
+            DataSource dataSource,
+            @Value("${appointment.sharding.reshard-batch-size:50}") int batchSize,
+            @Value("${appointment.sharding.directory-refresh-ms:1000}") long directoryRefreshMillis) {
+        this.shards = shards;
+        this.router = router;
+        this.moveRepository = moveRepository;
+        this.doctorRepository = doctorRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.batchSize = Math.max(1, batchSize);
+        // Two refresh periods plus slack: every node has reloaded the directory at least once
+        this.fenceMillis = 2 * directoryRefreshMillis + 500;
+    }
+
+    /**
+     * Start moving appointments so they are spread over targetShards shards
+     */
+    public synchronized ApiResponse<ReshardStatus> start(int targetShards) {
+        if (!shards.isSharded()) {
+            return ApiResponse.error("Appointment sharding is not configured");
+        }
+        if (targetShards < 1 || targetShards > shards.shardCount()) {
+            return ApiResponse.error("Target shard count must be between 1 and " + shards.shardCount());
+        }
+        if ("running".equals(status.getState())) {
+            return ApiResponse.error("A resharding run is already in progress");
+        }
+
+        status = new ReshardStatus("running", targetShards, 0, 0, 0, LocalDateTime.now(), null, null);
+        runner.submit(() -> run(targetShards));
+        return ApiResponse.success("Resharding started", status);
+    }
+
+    public ReshardStatus getStatus() {
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private void run(int targetShards) {
+        try {
+            purgeSettledMoves();
+
+            List<Long> toMove = doctorRepository.findAllIds().stream()
+                    .filter(doctorId -> shards.shardOf(doctorId) != router.shardFor(doctorId, targetShards))
+                    .toList();
+            update(toMove.size(), 0, 0);
+
+            long rowsCopied = 0;
+            for (int from = 0; from < toMove.size(); from += batchSize) {
+                List<Long> batch = toMove.subList(from, Math.min(from + batchSize, toMove.size()));
+                rowsCopied += moveBatch(batch, targetShards);
+                update(toMove.size(), from + batch.size(), rowsCopied);
+            }
+
+            status = withState("done", null);
+            logger.info("Resharding to {} shards done: {} doctors, {} rows", targetShards, toMove.size(), rowsCopied);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rollBackPendingMoves();
+            status = withState("failed", "Interrupted");
+        } catch (Exception e) {
+            logger.error("Resharding to {} shards failed", targetShards, e);
+            rollBackPendingMoves();
+            status = withState("failed", e.getMessage());
+        }
+    }
+
+    // Doctors left frozen by a failed batch go back to their source shard, minus the partial copies
+    private void rollBackPendingMoves() {
+        try {
+            for (AppointmentShardMove move : moveRepository.findAll()) {
+                if (move.getState() == AppointmentShardMove.State.moving) {
+                    deleteRows(move.getTargetShard(), move.getDoctorId());
+                    moveRepository.delete(move);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Could not roll back pending appointment moves; check appointment_shard_moves", e);
+        }
+    }
+
+    private long moveBatch(List<Long> doctorIds, int targetShards) throws InterruptedException {
+        List<AppointmentShardMove> moves = new ArrayList<>(doctorIds.size());
+        for (Long doctorId : doctorIds) {
+            moves.add(new AppointmentShardMove(doctorId, shards.shardOf(doctorId),
+                    router.shardFor(doctorId, targetShards), AppointmentShardMove.State.moving, null));
+        }
+
+        // 1. Bulk copy while the source keeps taking writes; nothing points at the copies yet
+        long copied = 0;
+        try {
+            for (AppointmentShardMove move : moves) {
+                copied += copy(move);
+            }
+        } catch (RuntimeException e) {
+            moves.forEach(move -> deleteRows(move.getTargetShard(), move.getDoctorId()));
+            throw e;
+        }
+
+        // 2. Freeze writes for these doctors on every node
+        moveRepository.saveAll(moves);
+        Thread.sleep(fenceMillis);
+
+        // 3. Catch up with changes made during the bulk copy; a mismatch rolls the batch back
+        for (AppointmentShardMove move : moves) {
+            copy(move);
+            long source = countRows(move.getSourceShard(), move.getDoctorId());
+            long target = countRows(move.getTargetShard(), move.getDoctorId());
+            if (source != target) {
+                throw new IllegalStateException("Doctor " + move.getDoctorId() + " has " + source
+                        + " appointments on shard " + move.getSourceShard() + " but " + target
+                        + " on shard " + move.getTargetShard() + " after copying");
+            }
+        }
+
+        // 4. Switch reads and writes to the target
+        moves.forEach(move -> move.setState(AppointmentShardMove.State.moved));
+        moveRepository.saveAll(moves);
+        Thread.sleep(fenceMillis);
+
+        // 5. Nothing reads the source copy any more
+        for (AppointmentShardMove move : moves) {
+            deleteRows(move.getSourceShard(), move.getDoctorId());
+        }
+        return copied;
+    }
+
+    // Upsert a doctor's rows from source to target and drop target rows the source no longer has
+    private int copy(AppointmentShardMove move) {
+        List<Map<String, Object>> rows = shards.readPrimary(move.getSourceShard(),
+                () -> jdbcTemplate.queryForList("SELECT * FROM appointments WHERE doctor_id = ?", move.getDoctorId()));
+
+        shards.write(move.getTargetShard(), () -> {
+            if (!rows.isEmpty()) {
+                List<String> columns = new ArrayList<>(rows.get(0).keySet());
+                String sql = "INSERT INTO appointments (" + String.join(", ", columns) + ") VALUES ("
+                        + columns.stream().map(column -> "?").collect(Collectors.joining(", "))
+                        + ") ON DUPLICATE KEY UPDATE "
+                        + columns.stream().map(column -> column + " = VALUES(" + column + ")")
+                                .collect(Collectors.joining(", "));
+                jdbcTemplate.batchUpdate(sql, rows.stream()
+                        .map(row -> columns.stream().map(row::get).toArray())
+                        .toList());
+            }
+            List<Object> ids = rows.stream().map(row -> row.get("id")).toList();
+            MapSqlParameterSource params = new MapSqlParameterSource("doctorId", move.getDoctorId());
+            if (ids.isEmpty()) {
+                namedJdbcTemplate.update("DELETE FROM appointments WHERE doctor_id = :doctorId", params);
+            } else {
+                namedJdbcTemplate.update("DELETE FROM appointments WHERE doctor_id = :doctorId AND id NOT IN (:ids)",
+                        params.addValue("ids", ids));
+            }
+            return null;
+        });
+        return rows.size();
+    }
+
+    private long countRows(int shard, Long doctorId) {
+        return shards.readPrimary(shard, () -> jdbcTemplate
+                .queryForObject("SELECT COUNT(*) FROM appointments WHERE doctor_id = ?", Long.class, doctorId));
+    }
+
+    private void deleteRows(int shard, Long doctorId) {
+        shards.write(shard, () -> jdbcTemplate.update("DELETE FROM appointments WHERE doctor_id = ?", doctorId));
+    }
+
+    // Entries that now agree with the hash under the active shard count are no longer needed
+    private void purgeSettledMoves() {
+        List<AppointmentShardMove> settled = moveRepository.findAll().stream()
+                .filter(move -> move.getState() == AppointmentShardMove.State.moved)
+                .filter(move -> move.getTargetShard() == router.shardFor(move.getDoctorId(), shards.activeShards()))
+                .toList();
+        moveRepository.deleteAll(settled);
+    }
+
+    private void update(int doctorsToMove, int doctorsMoved, long rowsCopied) {
+        ReshardStatus current = status;
+        status = new ReshardStatus(current.getState(), current.getTargetShards(), doctorsToMove, doctorsMoved,
+                rowsCopied, current.getStartedAt(), null, null);
+    }
+
+    private ReshardStatus withState(String state, String error) {
+        ReshardStatus current = status;
+        return new ReshardStatus(state, current.getTargetShards(), current.getDoctorsToMove(),
+                current.getDoctorsMoved(), current.getRowsCopied(), current.getStartedAt(), LocalDateTime.now(), error);
+    }
+}
@@ -1,12 +1,16 @@
 package com.project.back_end.services;
 
 import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.AppointmentEvent;
 import com.project.back_end.DTO.AppointmentListResponse;
 import com.project.back_end.DTO.AvailabilityResponse;
 import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.exception.ShardMigrationException;
+import com.project.back_end.jfr.BookingEvent;
 import com.project.back_end.models.Appointment;
-import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,13 +18,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentService {
 
-    private final AppointmentRepository appointmentRepository;
+    private final ShardedAppointmentRepository appointmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotHoldService slotHoldService;
 
     /**
      * Check doctor availability
@@ -29,9 +36,9 @@ public class AppointmentService {
         LocalDate appointmentDate = LocalDate.parse(date);
         LocalTime appointmentTime = LocalTime.parse(time);
         
-        // Check if there's an existing appointment at this time
-        boolean isBooked = appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTime(
-            doctorId, appointmentDate, appointmentTime);
+        // Check if there's an existing (non-cancelled) appointment at this time
+        boolean isBooked = appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(
+            doctorId, appointmentDate, appointmentTime, Appointment.AppointmentStatus.cancelled);
         
         return AvailabilityResponse.of(!isBooked);
     }
@@ -41,22 +48,42 @@ public class AppointmentService {
      */
     @Transactional
     public ApiResponse<Appointment> bookAppointment(Appointment appointment) {
+        return new BookingEvent(appointment.getDoctor().getId()).record(() -> book(appointment),
+                response -> response.isSuccess() ? "booked" : response.getMessage());
+    }
+
+    private ApiResponse<Appointment> book(Appointment appointment) {
         try {
-            // Check availability
-            boolean isBooked = appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTime(
+            // Check availability; cancelled appointments free their slot
+            boolean isBooked = appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(
                 appointment.getDoctor().getId(), 
                 appointment.getAppointmentDate(), 
-                appointment.getAppointmentTime()
+                appointment.getAppointmentTime(),
+                Appointment.AppointmentStatus.cancelled
             );
 
             if (isBooked) {
                 return ApiResponse.error("Time slot already booked");
             }
 
+            // Honour temporary holds; the patient's own hold is consumed by this booking
+            String holdError = slotHoldService.consumeHold(
+                appointment.getDoctor().getId(),
+                appointment.getPatient().getId(),
+                appointment.getAppointmentDate(),
+                appointment.getAppointmentTime()
+            );
+            if (holdError != null) {
+                return ApiResponse.error(holdError);
+            }
+
             appointment.setStatus(Appointment.AppointmentStatus.scheduled);
             Appointment saved = appointmentRepository.save(appointment);
+            eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.Type.booked, saved));
             
             return ApiResponse.success("Appointment booked successfully", saved);
+        } catch (ShardMigrationException e) {
+            throw e;
         } catch (Exception e) {
             return ApiResponse.error("Error: " + e.getMessage());
         }
@@ -71,16 +98,45 @@ public class AppointmentService {
 
     /**
      * Update appointment
+     * A new doctor, date or time goes through the same slot checks as a reschedule
      */
     @Transactional
     public ApiResponse<Appointment> updateAppointment(Appointment appointment) {
         try {
-            if (appointmentRepository.findById(appointment.getId()).isEmpty()) {
+            Optional<Appointment> existing = appointmentRepository.findById(appointment.getId());
+            if (existing.isEmpty()) {
                 return ApiResponse.error("Appointment not found");
             }
+            // Read before save: save merges the new state into this same managed instance
+            Appointment before = existing.get();
+            Long doctorId = appointment.getDoctor() != null ? appointment.getDoctor().getId() : before.getDoctor().getId();
+            Long patientId = appointment.getPatient() != null ? appointment.getPatient().getId() : before.getPatient().getId();
+            boolean moved = !Objects.equals(before.getDoctor().getId(), doctorId)
+                    || !Objects.equals(before.getAppointmentDate(), appointment.getAppointmentDate())
+                    || !Objects.equals(before.getAppointmentTime(), appointment.getAppointmentTime());
+            boolean cancelled = appointment.getStatus() == Appointment.AppointmentStatus.cancelled
+                    && before.getStatus() != Appointment.AppointmentStatus.cancelled;
+
+            // A cancelled appointment holds no slot, so only a live one is checked
+            if (moved && appointment.getStatus() != Appointment.AppointmentStatus.cancelled) {
+                String slotError = slotError(doctorId, patientId, appointment.getAppointmentDate(),
+                        appointment.getAppointmentTime());
+                if (slotError != null) {
+                    return ApiResponse.error(slotError);
+                }
+            }
+            if (cancelled && appointment.getCancelledAt() == null) {
+                appointment.setCancelledAt(LocalDateTime.now());
+            }
 
             Appointment saved = appointmentRepository.save(appointment);
+            AppointmentEvent.Type type = cancelled ? AppointmentEvent.Type.cancelled
+                    : moved ? AppointmentEvent.Type.rescheduled
+                    : AppointmentEvent.Type.updated;
+            eventPublisher.publishEvent(AppointmentEvent.of(type, saved));
             return ApiResponse.success("Appointment updated successfully", saved);
+        } catch (ShardMigrationException e) {
+            throw e;
         } catch (Exception e) {
             return ApiResponse.error("Error: " + e.getMessage());
         }
@@ -98,16 +154,44 @@ public class AppointmentService {
             }
 
             Appointment appointment = optionalAppointment.get();
-            appointment.setAppointmentDate(LocalDate.parse(date));
-            appointment.setAppointmentTime(LocalTime.parse(time));
+            LocalDate newDate = LocalDate.parse(date);
+            LocalTime newTime = LocalTime.parse(time);
+            if (newDate.equals(appointment.getAppointmentDate()) && newTime.equals(appointment.getAppointmentTime())) {
+                return ApiResponse.success("Appointment rescheduled successfully", appointment);
+            }
+
+            String slotError = slotError(appointment.getDoctor().getId(), appointment.getPatient().getId(),
+                    newDate, newTime);
+            if (slotError != null) {
+                return ApiResponse.error(slotError);
+            }
+
+            appointment.setAppointmentDate(newDate);
+            appointment.setAppointmentTime(newTime);
             
             appointmentRepository.save(appointment);
+            eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.Type.rescheduled, appointment));
             return ApiResponse.success("Appointment rescheduled successfully", appointment);
+        } catch (ShardMigrationException e) {
+            throw e;
         } catch (Exception e) {
             return ApiResponse.error("Error: " + e.getMessage());
         }
     }
 
+    // A new slot goes through the same checks as a booking; the patient's own hold on it is consumed
+    private String slotError(Long doctorId, Long patientId, LocalDate date, LocalTime time) {
+        String slotError = slotHoldService.slotError(doctorId, date, time, LocalDateTime.now());
+        if (slotError != null) {
+            return slotError;
+        }
+        if (appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(
+                doctorId, date, time, Appointment.AppointmentStatus.cancelled)) {
+            return "Time slot already booked";
+        }
+        return slotHoldService.consumeHold(doctorId, patientId, date, time);
+    }
+
     /**
      * Cancel appointment
      */
@@ -121,6 +205,7 @@ public class AppointmentService {
         appointment.get().setStatus(Appointment.AppointmentStatus.cancelled);
         appointment.get().setCancelledAt(LocalDateTime.now());
         appointmentRepository.save(appointment.get());
+        eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.Type.cancelled, appointment.get()));
         return MessageResponse.success("Appointment cancelled successfully");
     }
 
@@ -140,12 +225,14 @@ public class AppointmentService {
             appointment.get().setConsultationNotes(notes);
         }
         appointmentRepository.save(appointment.get());
+        eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.Type.completed, appointment.get()));
         return MessageResponse.success("Appointment completed successfully");
     }
 
     /**
      * Filter appointments
      */
+    @Transactional(readOnly = true)
     public AppointmentListResponse filterAppointments(String status, String dateFrom, String dateTo, Long doctorId, Long patientId) {
         List<Appointment> appointments;
         
@@ -3,14 +3,16 @@ package com.project.back_end.services;
 import com.project.back_end.DTO.Login;
 import com.project.back_end.DTO.LoginResponse;
 import com.project.back_end.DTO.TokenValidationResponse;
+import com.project.back_end.exception.AuthThrottledException;
+import com.project.back_end.jfr.AuthenticationEvent;
 import com.project.back_end.models.Admin;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AdminRepository;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.PatientRepository;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,67 +20,87 @@ import org.springframework.stereotype.Service;
 public class AuthenticationService {
 
     private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
     private final AdminRepository adminRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
 
     /**
      * Validate JWT token and check user roles
+     * Role and user id come from the token's claims, so no database lookup is needed
      */
     public TokenValidationResponse validateToken(String token, String... allowedRoles) {
-        try {
-            // Remove "Bearer " prefix if present
-            if (token.startsWith("Bearer ")) {
-                token = token.substring(7);
+        return new AuthenticationEvent("validateToken", String.join(",", allowedRoles)).record(() -> {
+            TokenValidationResponse validation = verify(token);
+            if (!validation.isValid()) {
+                return validation;
             }
 
-            String email = tokenService.extractEmail(token);
-            
-            // Check each allowed role
             for (String role : allowedRoles) {
-                if (tokenService.validateToken(token, role)) {
-                    // Get user ID based on role
-                    Long userId = getUserIdByEmailAndRole(email, role);
-                    return TokenValidationResponse.success(email, role, userId);
+                if (role.equalsIgnoreCase(validation.getRole())) {
+                    return validation;
                 }
             }
 
             return TokenValidationResponse.error("Unauthorized");
-        } catch (Exception e) {
-            return TokenValidationResponse.error("Invalid token: " + e.getMessage());
-        }
+        }, AuthenticationService::outcomeOf);
     }
 
-    private Long getUserIdByEmailAndRole(String email, String role) {
-        return switch (role.toLowerCase()) {
-            case "admin" -> {
-                Admin admin = adminRepository.findByEmail(email);
-                yield admin != null ? admin.getId() : null;
+    /**
+     * Validate JWT token signature, expiry and revocation, whatever its role
+     */
+    public TokenValidationResponse authenticate(String token) {
+        return new AuthenticationEvent("authenticate", "any").record(() -> verify(token),
+                AuthenticationService::outcomeOf);
+    }
+
+    private TokenValidationResponse verify(String token) {
+        try {
+            // Remove "Bearer " prefix if present
+            if (token.startsWith("Bearer ")) {
+                token = token.substring(7);
             }
-            case "doctor" -> {
-                Doctor doctor = doctorRepository.findByEmail(email);
-                yield doctor != null ? doctor.getId() : null;
+
+            Claims claims = tokenService.parseClaims(token);
+            if (tokenRevocationList.isRevoked(claims.getId())) {
+                return TokenValidationResponse.error("Token has been revoked");
             }
-            case "patient" -> {
-                Patient patient = patientRepository.findByEmail(email);
-                yield patient != null ? patient.getId() : null;
+
+            String role = claims.get(TokenService.ROLE_CLAIM, String.class);
+            Number userId = claims.get(TokenService.USER_ID_CLAIM, Number.class);
+            if (role == null || userId == null) {
+                return TokenValidationResponse.error("Invalid token: missing role claims");
             }
-            default -> null;
-        };
+
+            return TokenValidationResponse.success(claims.getSubject(), role, userId.longValue());
+        } catch (Exception e) {
+            return TokenValidationResponse.error("Invalid token: " + e.getMessage());
+        }
     }
 
     /**
      * Admin login validation
      */
     public LoginResponse<Admin> validateAdmin(Login login) {
+        return new AuthenticationEvent("validateAdmin", "admin").record(() -> loginAdmin(login),
+                AuthenticationService::outcomeOf);
+    }
+
+    private LoginResponse<Admin> loginAdmin(Login login) {
+        if (!loginThrottle.tryAcquireAccount(login.getUsername())) {
+            throw AuthThrottledException.tooManyRequests();
+        }
+
         try {
             Admin admin = adminRepository.findByUsernameOrEmail(login.getUsername(), login.getUsername());
             if (admin == null) {
                 return LoginResponse.error("Admin not found");
             }
 
-            if (!passwordEncoder.matches(login.getPassword(), admin.getPasswordHash())) {
+            if (!passwordHashingService.matches(login.getPassword(), admin.getPasswordHash())) {
                 return LoginResponse.error("Invalid password");
             }
 
@@ -86,8 +108,12 @@ public class AuthenticationService {
                 return LoginResponse.error("Account is deactivated");
             }
 
-            String token = tokenService.generateToken(admin.getEmail());
-            return LoginResponse.success(token, admin);
+            String token = tokenService.generateToken(admin.getEmail(), "admin", admin.getId());
+            String refreshToken = refreshTokenService.issue(admin.getEmail(), "admin", admin.getId());
+            loginThrottle.refundAccount(login.getUsername());
+            return LoginResponse.success(token, refreshToken, admin);
+        } catch (AuthThrottledException e) {
+            throw e;
         } catch (Exception e) {
             return LoginResponse.error("Error: " + e.getMessage());
         }
@@ -97,13 +123,22 @@ public class AuthenticationService {
      * Patient login validation
      */
     public LoginResponse<Patient> validatePatient(Login login) {
+        return new AuthenticationEvent("validatePatient", "patient").record(() -> loginPatient(login),
+                AuthenticationService::outcomeOf);
+    }
+
+    private LoginResponse<Patient> loginPatient(Login login) {
+        if (!loginThrottle.tryAcquireAccount(login.getUsername())) {
+            throw AuthThrottledException.tooManyRequests();
+        }
+
         try {
             Patient patient = patientRepository.findByEmailOrUsername(login.getUsername(), login.getUsername());
             if (patient == null) {
                 return LoginResponse.error("Patient not found");
             }
 
-            if (!passwordEncoder.matches(login.getPassword(), patient.getPasswordHash())) {
+            if (!passwordHashingService.matches(login.getPassword(), patient.getPasswordHash())) {
                 return LoginResponse.error("Invalid password");
             }
 
@@ -111,8 +146,12 @@ public class AuthenticationService {
                 return LoginResponse.error("Account is deactivated");
             }
 
-            String token = tokenService.generateToken(patient.getEmail());
-            return LoginResponse.success(token, patient);
+            String token = tokenService.generateToken(patient.getEmail(), "patient", patient.getId());
+            String refreshToken = refreshTokenService.issue(patient.getEmail(), "patient", patient.getId());
+            loginThrottle.refundAccount(login.getUsername());
+            return LoginResponse.success(token, refreshToken, patient);
+        } catch (AuthThrottledException e) {
+            throw e;
         } catch (Exception e) {
             return LoginResponse.error("Error: " + e.getMessage());
         }
@@ -122,13 +161,22 @@ public class AuthenticationService {
      * Doctor login validation
      */
     public LoginResponse<Doctor> validateDoctor(Login login) {
+        return new AuthenticationEvent("validateDoctor", "doctor").record(() -> loginDoctor(login),
+                AuthenticationService::outcomeOf);
+    }
+
+    private LoginResponse<Doctor> loginDoctor(Login login) {
+        if (!loginThrottle.tryAcquireAccount(login.getUsername())) {
+            throw AuthThrottledException.tooManyRequests();
+        }
+
         try {
             Doctor doctor = doctorRepository.findByEmailOrUsername(login.getUsername(), login.getUsername());
             if (doctor == null) {
                 return LoginResponse.error("Doctor not found");
             }
 
-            if (!passwordEncoder.matches(login.getPassword(), doctor.getPasswordHash())) {
+            if (!passwordHashingService.matches(login.getPassword(), doctor.getPasswordHash())) {
                 return LoginResponse.error("Invalid password");
             }
 
@@ -136,10 +184,22 @@ public class AuthenticationService {
                 return LoginResponse.error("Account is deactivated");
             }
 
-            String token = tokenService.generateToken(doctor.getEmail());
-            return LoginResponse.success(token, doctor);
+            String token = tokenService.generateToken(doctor.getEmail(), "doctor", doctor.getId());
+            String refreshToken = refreshTokenService.issue(doctor.getEmail(), "doctor", doctor.getId());
+            loginThrottle.refundAccount(login.getUsername());
+            return LoginResponse.success(token, refreshToken, doctor);
+        } catch (AuthThrottledException e) {
+            throw e;
         } catch (Exception e) {
             return LoginResponse.error("Error: " + e.getMessage());
         }
     }
+
+    private static String outcomeOf(TokenValidationResponse validation) {
+        return validation.isValid() ? "valid" : validation.getMessage();
+    }
+
+    private static String outcomeOf(LoginResponse<?> response) {
+        return response.isSuccess() ? "success" : response.getMessage();
+    }
 }
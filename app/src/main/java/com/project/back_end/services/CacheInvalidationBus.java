@@ -0,0 +1,260 @@
+package com.project.back_end.services;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.DTO.CacheInvalidationStats;
+import com.project.back_end.models.Admin;
+import com.project.back_end.models.CacheInvalidation;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.DoctorSchedule;
+import com.project.back_end.repo.CacheInvalidationRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Broker-less invalidation bus that keeps node-local caches coherent across instances.
+ *
+ * A change is published as a cache_invalidations row inside the transaction that makes it, so
+ * the event commits or rolls back with the data. Every node tails the table by id (its
+ * high-water mark) every poll interval and evicts the key from its own caches; its own events
+ * are skipped because the local cache was already updated in place.
+ *
+ * Identity ids are handed out before commit, so a slow transaction can commit a lower id after
+ * a higher one has been read. Skipped ids are remembered as gaps and re-checked on each poll
+ * until they show up or are older than gap-timeout-ms (a rolled-back insert never fills its gap).
+ * Only ids this server can hand out count as gaps: with auto_increment_increment above 1 (e.g. on
+ * a sharded primary) the ids in between are never used, so the bus steps by the server's increment
+ * and offset, read at startup.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final long RATE_WINDOW_MILLIS = 60_000;
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final SessionFactory sessionFactory;
+    private final String nodeId;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final Duration retention;
+
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+
+    // Poll state, only touched by the scheduler thread
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private volatile long lastSeenId = -1L;
+    private long idStep = 1;
+    private long idOffset = 1;
+    private volatile int pendingGaps;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder abandonedGaps = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile RateWindow currentWindow = new RateWindow(System.currentTimeMillis(), 0, 0);
+    private volatile RateWindow previousWindow;
+
+    public CacheInvalidationBus(CacheInvalidationRepository cacheInvalidationRepository,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${cache.invalidation.node-id:}") String nodeId,
+            @Value("${cache.invalidation.batch-size:500}") int batchSize,
+            @Value("${cache.invalidation.gap-timeout-ms:30000}") long gapTimeoutMillis,
+            @Value("${cache.invalidation.retention-minutes:60}") long retentionMinutes) {
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.nodeId = resolveNodeId(nodeId);
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+
+        registerEntityRegion(Doctor.class);
+        registerEntityRegion(DoctorSchedule.class);
+        registerEntityRegion(Admin.class);
+    }
+
+    /**
+     * Evict an entity (or, with a null id, all entities of its type) on every other node
+     */
+    public void publish(Class<?> entityClass, Object id) {
+        publish(entityClass.getSimpleName(), id);
+    }
+
+    /**
+     * Evict a key (or, with a null key, the whole region) on every other node.
+     * Call inside the transaction that makes the change so both commit together.
+     */
+    public void publish(String region, Object key) {
+        cacheInvalidationRepository.save(
+                new CacheInvalidation(null, region, key != null ? key.toString() : null, nodeId, null));
+        published.increment();
+    }
+
+    /**
+     * Register the local eviction for a region; the handler receives the key, or null for the whole region
+     */
+    public void subscribe(String region, Consumer<String> handler) {
+        handlers.put(region, handler);
+    }
+
+    /**
+     * Apply events committed by other nodes since the high-water mark
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        if (lastSeenId < 0) {
+            // Nothing is cached yet at startup, so history does not need replaying
+            lastSeenId = cacheInvalidationRepository.findMaxId();
+            readIdSequence();
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (!gaps.isEmpty()) {
+            for (CacheInvalidation late : cacheInvalidationRepository.findByIdIn(gaps.keySet())) {
+                gaps.remove(late.getId());
+                apply(late);
+            }
+            int before = gaps.size();
+            gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMillis);
+            abandonedGaps.add(before - gaps.size());
+        }
+
+        List<CacheInvalidation> rows;
+        do {
+            rows = cacheInvalidationRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, Limit.of(batchSize));
+            for (CacheInvalidation row : rows) {
+                // A jump wider than a batch is an auto-increment skip, not in-flight transactions
+                if ((row.getId() - lastSeenId) / idStep - 1 <= batchSize) {
+                    for (long missing = nextId(lastSeenId); missing < row.getId(); missing += idStep) {
+                        gaps.put(missing, now);
+                    }
+                }
+                apply(row);
+                lastSeenId = row.getId();
+            }
+        } while (rows.size() == batchSize);
+
+        pendingGaps = gaps.size();
+        rollRateWindow(now);
+    }
+
+    /**
+     * Drop events older than the retention window; every node has long since applied them
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.prune-interval-ms:600000}")
+    public void prune() {
+        cacheInvalidationRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+
+    /**
+     * Bus throughput and propagation lag for this node
+     */
+    public CacheInvalidationStats getStats() {
+        long appliedCount = applied.sum();
+        // Rates over the last complete minute, or since startup during the first one
+        RateWindow from = previousWindow != null ? previousWindow : currentWindow;
+        RateWindow to = previousWindow != null
+                ? currentWindow
+                : new RateWindow(System.currentTimeMillis(), published.sum(), appliedCount);
+        double seconds = Math.max(1, to.startedAt() - from.startedAt()) / 1000.0;
+
+        return new CacheInvalidationStats(
+                nodeId,
+                published.sum(),
+                appliedCount,
+                Math.max(lastSeenId, 0),
+                pendingGaps,
+                abandonedGaps.sum(),
+                (to.published() - from.published()) / seconds,
+                (to.applied() - from.applied()) / seconds,
+                lastLagMillis.get(),
+                maxLagMillis.get(),
+                appliedCount == 0 ? 0 : (double) totalLagMillis.sum() / appliedCount);
+    }
+
+    /**
+     * The id sequence of the server the table lives on; databases without the MySQL
+     * variables (H2 in tests) hand out consecutive ids
+     */
+    private void readIdSequence() {
+        try {
+            idStep = Math.max(1, cacheInvalidationRepository.findAutoIncrementIncrement().longValue());
+            long offset = cacheInvalidationRepository.findAutoIncrementOffset().longValue();
+            // MySQL ignores an offset larger than the increment
+            idOffset = offset >= 1 && offset <= idStep ? offset : 1;
+        } catch (RuntimeException e) {
+            idStep = 1;
+            idOffset = 1;
+        }
+    }
+
+    /**
+     * The smallest id above the given one that this server can hand out
+     */
+    private long nextId(long after) {
+        return idOffset + (Math.floorDiv(after - idOffset, idStep) + 1) * idStep;
+    }
+
+    private void apply(CacheInvalidation event) {
+        if (nodeId.equals(event.getOriginNode())) {
+            return;
+        }
+        Consumer<String> handler = handlers.get(event.getRegion());
+        if (handler != null) {
+            handler.accept(event.getEntryKey());
+        }
+
+        applied.increment();
+        // Writer's clock vs ours; good enough for seconds-scale lag, clamped against skew
+        long lag = Math.max(0, Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis());
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        totalLagMillis.add(lag);
+    }
+
+    private void registerEntityRegion(Class<?> entityClass) {
+        subscribe(entityClass.getSimpleName(), key -> {
+            if (key == null) {
+                sessionFactory.getCache().evictEntityData(entityClass);
+            } else {
+                sessionFactory.getCache().evictEntityData(entityClass, Long.valueOf(key));
+            }
+            // Cached query results may hold the old membership (e.g. a new email, a replaced schedule)
+            sessionFactory.getCache().evictDefaultQueryRegion();
+        });
+    }
+
+    private void rollRateWindow(long now) {
+        if (now - currentWindow.startedAt() >= RATE_WINDOW_MILLIS) {
+            previousWindow = currentWindow;
+            currentWindow = new RateWindow(now, published.sum(), applied.sum());
+        }
+    }
+
+    private static String resolveNodeId(String configured) {
+        String id = configured != null && !configured.isBlank()
+                ? configured
+                : ManagementFactory.getRuntimeMXBean().getName(); // pid@hostname
+        return id.length() > 64 ? id.substring(0, 64) : id;
+    }
+
+    private record RateWindow(long startedAt, long published, long applied) {
+    }
+}
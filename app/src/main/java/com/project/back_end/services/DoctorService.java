@@ -3,12 +3,13 @@ package com.project.back_end.services;
 import com.project.back_end.DTO.ApiResponse;
 import com.project.back_end.DTO.AppointmentListResponse;
 import com.project.back_end.DTO.DoctorStatisticsResponse;
+import com.project.back_end.DTO.VersionStamp;
+import com.project.back_end.exception.AuthThrottledException;
 import com.project.back_end.models.Appointment;
 import com.project.back_end.models.Doctor;
-import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,19 +21,32 @@ import java.util.List;
 public class DoctorService {
 
     private final DoctorRepository doctorRepository;
-    private final AppointmentRepository appointmentRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final ShardedAppointmentRepository appointmentRepository;
+    private final UserCountCache userCountCache;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingService passwordHashingService;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Get all active doctors
      */
+    @Transactional(readOnly = true)
     public List<Doctor> getAllDoctors() {
         return doctorRepository.findByIsActiveTrue();
     }
 
+    /**
+     * Version of the active doctor list, read without loading it
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getActiveDoctorsVersion() {
+        return doctorRepository.findActiveVersion();
+    }
+
     /**
      * Filter doctors by name, specialization, or date
      */
+    @Transactional(readOnly = true)
     public List<Doctor> filterDoctors(String name, String specialization, String date) {
         if (name != null && specialization != null) {
             return doctorRepository.findByUsernameContainingIgnoreCaseAndSpecialization(name, specialization);
@@ -52,6 +66,21 @@ public class DoctorService {
         return doctorRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Version of a doctor, read without loading it (no rows if there is no such doctor)
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getDoctorVersion(Long id) {
+        return doctorRepository.findVersionById(id);
+    }
+
+    /**
+     * Get doctor by email
+     */
+    public Doctor getDoctorByEmail(String email) {
+        return doctorRepository.findByEmail(email);
+    }
+
     /**
      * Create doctor (admin only)
      */
@@ -62,11 +91,15 @@ public class DoctorService {
                 return ApiResponse.error("Email already registered");
             }
 
-            doctor.setPasswordHash(passwordEncoder.encode(doctor.getPasswordHash()));
+            doctor.setPasswordHash(passwordHashingService.encode(doctor.getPasswordHash()));
             doctor.setIsActive(true);
 
             Doctor saved = doctorRepository.save(doctor);
+            cacheInvalidationBus.publish(Doctor.class, saved.getId());
+            userCountCache.invalidate("doctor");
             return ApiResponse.success("Doctor created successfully", saved);
+        } catch (AuthThrottledException e) {
+            throw e;
         } catch (Exception e) {
             return ApiResponse.error("Error: " + e.getMessage());
         }
@@ -83,6 +116,7 @@ public class DoctorService {
             }
 
             Doctor saved = doctorRepository.save(doctor);
+            cacheInvalidationBus.publish(Doctor.class, saved.getId());
             return ApiResponse.success("Doctor profile updated successfully", saved);
         } catch (Exception e) {
             return ApiResponse.error("Error: " + e.getMessage());
@@ -97,12 +131,16 @@ public class DoctorService {
         doctorRepository.findById(id).ifPresent(doctor -> {
             doctor.setIsActive(false);
             doctorRepository.save(doctor);
+            cacheInvalidationBus.publish(Doctor.class, id);
+            userCountCache.invalidate("doctor");
+            refreshTokenService.revokeAllForUser("doctor", id);
         });
     }
 
     /**
      * Get doctor appointments
      */
+    @Transactional(readOnly = true)
     public AppointmentListResponse getDoctorAppointments(Long doctorId) {
         List<Appointment> appointments = appointmentRepository.findByDoctorIdOrderByAppointmentDateDesc(doctorId);
         return AppointmentListResponse.of(appointments);
@@ -111,6 +149,7 @@ public class DoctorService {
     /**
      * Get doctor statistics
      */
+    @Transactional(readOnly = true)
     public DoctorStatisticsResponse getDoctorStatistics(Long doctorId) {
         long totalAppointments = appointmentRepository.countByDoctorId(doctorId);
         long completedAppointments = appointmentRepository.countByDoctorIdAndStatus(doctorId, Appointment.AppointmentStatus.completed);
@@ -122,6 +161,7 @@ public class DoctorService {
     /**
      * Get doctor upcoming appointments
      */
+    @Transactional(readOnly = true)
     public AppointmentListResponse getDoctorUpcomingAppointments(Long doctorId) {
         LocalDate today = LocalDate.now();
         List<Appointment> appointments = appointmentRepository.findByDoctorIdAndAppointmentDateGreaterThanEqualOrderByAppointmentDateAsc(
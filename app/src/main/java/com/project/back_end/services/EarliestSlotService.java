@@ -0,0 +1,265 @@
+package com.project.back_end.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.back_end.DTO.AvailableSlot;
+import com.project.back_end.DTO.ListResponse;
+import com.project.back_end.DTO.TakenSlot;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.DoctorSchedule;
+import com.project.back_end.models.ScheduleException;
+import com.project.back_end.models.SlotHold;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.DoctorScheduleRepository;
+import com.project.back_end.repo.ScheduleExceptionRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
+import com.project.back_end.repo.SlotHoldRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Earliest free slots across every doctor of a specialization.
+ *
+ * Each doctor contributes a lazy, time-ordered stream of free slots built from the weekly
+ * schedule minus exceptions, booked appointments and active holds. Streams are loaded a
+ * few days at a time and only when the k-way merge needs the next slot from that doctor,
+ * so the search stops as soon as the requested number of slots has been found. Every
+ * cursor needs its first chunk to enter the merge, so those are read for all candidate
+ * doctors at once, one statement each for exceptions, bookings and holds.
+ */
+@Service
+@RequiredArgsConstructor
+public class EarliestSlotService {
+
+    private static final int CHUNK_DAYS = 7;
+    private static final int DEFAULT_HORIZON_DAYS = 30;
+    private static final int MAX_HORIZON_DAYS = 90;
+    private static final int MAX_RESULTS = 50;
+
+    private static final Comparator<AvailableSlot> EARLIEST_FIRST = Comparator
+            .comparing(AvailableSlot::getDate)
+            .thenComparing(AvailableSlot::getTime)
+            .thenComparing(AvailableSlot::getDoctorId);
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final ScheduleExceptionRepository scheduleExceptionRepository;
+    private final ShardedAppointmentRepository appointmentRepository;
+    private final SlotHoldRepository slotHoldRepository;
+
+    /**
+     * Find the earliest free slots for a specialization
+     */
+    @Transactional(readOnly = true)
+    public ListResponse<AvailableSlot> findEarliestSlots(String specialization, int limit, Integer days) {
+        int wanted = Math.max(1, Math.min(limit, MAX_RESULTS));
+        int horizonDays = days == null ? DEFAULT_HORIZON_DAYS : Math.max(1, Math.min(days, MAX_HORIZON_DAYS));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate horizon = now.toLocalDate().plusDays(horizonDays - 1L);
+
+        List<Doctor> doctors = doctorRepository.findBySpecialization(specialization).stream()
+                .filter(Doctor::getIsActive)
+                .toList();
+        if (doctors.isEmpty()) {
+            return ListResponse.of(List.of());
+        }
+
+        Map<Long, List<DoctorSchedule>> schedules = doctorScheduleRepository
+                .findByDoctorIdIn(doctors.stream().map(Doctor::getId).toList()).stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getDoctor().getId()));
+
+        // Doctors without working hours have nothing to offer
+        List<Long> candidates = doctors.stream().map(Doctor::getId).filter(schedules::containsKey).toList();
+        if (candidates.isEmpty()) {
+            return ListResponse.of(List.of());
+        }
+
+        LocalDate firstFrom = now.toLocalDate();
+        LocalDate firstTo = chunkEnd(firstFrom, horizon);
+        Map<Long, List<ScheduleException>> firstExceptions = scheduleExceptionRepository
+                .findByDoctorIdInAndExceptionDateBetween(candidates, firstFrom, firstTo).stream()
+                .collect(Collectors.groupingBy(exception -> exception.getDoctor().getId()));
+        Map<Long, Set<LocalDateTime>> firstTaken = new HashMap<>();
+        for (TakenSlot slot : appointmentRepository.findTakenSlots(candidates, firstFrom, firstTo,
+                Appointment.AppointmentStatus.cancelled)) {
+            firstTaken.computeIfAbsent(slot.getDoctorId(), id -> new HashSet<>())
+                    .add(LocalDateTime.of(slot.getDate(), slot.getTime()));
+        }
+        for (SlotHold hold : slotHoldRepository.findByDoctorIdInAndAppointmentDateBetweenAndExpiresAtAfter(
+                candidates, firstFrom, firstTo, now)) {
+            firstTaken.computeIfAbsent(hold.getDoctorId(), id -> new HashSet<>())
+                    .add(LocalDateTime.of(hold.getAppointmentDate(), hold.getAppointmentTime()));
+        }
+
+        PriorityQueue<DoctorSlotCursor> merge = new PriorityQueue<>(
+                Comparator.comparing(DoctorSlotCursor::peek, EARLIEST_FIRST));
+        for (Doctor doctor : doctors) {
+            List<DoctorSchedule> weekly = schedules.get(doctor.getId());
+            if (weekly == null) {
+                continue;
+            }
+            DoctorSlotCursor cursor = new DoctorSlotCursor(doctor, weekly, now, horizon);
+            cursor.fill(firstFrom, firstTo, firstExceptions.getOrDefault(doctor.getId(), List.of()),
+                    firstTaken.getOrDefault(doctor.getId(), Set.of()));
+            if (cursor.peek() != null) {
+                merge.add(cursor);
+            }
+        }
+
+        List<AvailableSlot> slots = new ArrayList<>(wanted);
+        while (slots.size() < wanted && !merge.isEmpty()) {
+            DoctorSlotCursor cursor = merge.poll();
+            slots.add(cursor.next());
+            if (cursor.peek() != null) {
+                merge.add(cursor);
+            }
+        }
+        return ListResponse.of(slots);
+    }
+
+    private static LocalDate chunkEnd(LocalDate from, LocalDate horizon) {
+        LocalDate to = from.plusDays(CHUNK_DAYS - 1L);
+        return to.isAfter(horizon) ? horizon : to;
+    }
+
+    /**
+     * Lazily generated free slots for one doctor, loaded CHUNK_DAYS at a time
+     */
+    private final class DoctorSlotCursor {
+        private final Doctor doctor;
+        private final Map<DoctorSchedule.DayOfWeek, List<DoctorSchedule>> weekly =
+                new EnumMap<>(DoctorSchedule.DayOfWeek.class);
+        private final LocalDateTime now;
+        private final LocalDate horizon;
+        private final Deque<AvailableSlot> buffered = new ArrayDeque<>();
+        private LocalDate nextChunkStart;
+
+        private DoctorSlotCursor(Doctor doctor, List<DoctorSchedule> schedules, LocalDateTime now, LocalDate horizon) {
+            this.doctor = doctor;
+            this.now = now;
+            this.horizon = horizon;
+            this.nextChunkStart = now.toLocalDate();
+            for (DoctorSchedule schedule : schedules) {
+                if (Boolean.TRUE.equals(schedule.getIsAvailable())) {
+                    weekly.computeIfAbsent(schedule.getDayOfWeek(), day -> new ArrayList<>()).add(schedule);
+                }
+            }
+        }
+
+        private AvailableSlot peek() {
+            while (buffered.isEmpty() && !nextChunkStart.isAfter(horizon)) {
+                loadChunk();
+            }
+            return buffered.peekFirst();
+        }
+
+        private AvailableSlot next() {
+            peek();
+            return buffered.pollFirst();
+        }
+
+        private void loadChunk() {
+            LocalDate from = nextChunkStart;
+            LocalDate to = chunkEnd(from, horizon);
+            nextChunkStart = to.plusDays(1);
+
+            List<ScheduleException> exceptions = scheduleExceptionRepository
+                    .findByDoctorIdAndExceptionDateBetween(doctor.getId(), from, to);
+            if (weekly.isEmpty() && exceptions.stream().noneMatch(e -> Boolean.TRUE.equals(e.getIsAvailable()))) {
+                return;
+            }
+
+            Set<LocalDateTime> taken = new HashSet<>();
+            for (Appointment appointment : appointmentRepository.findByDoctorIdAndAppointmentDateBetweenAndStatusNot(
+                    doctor.getId(), from, to, Appointment.AppointmentStatus.cancelled)) {
+                taken.add(LocalDateTime.of(appointment.getAppointmentDate(), appointment.getAppointmentTime()));
+            }
+            for (SlotHold hold : slotHoldRepository.findByDoctorIdAndAppointmentDateBetweenAndExpiresAtAfter(
+                    doctor.getId(), from, to, now)) {
+                taken.add(LocalDateTime.of(hold.getAppointmentDate(), hold.getAppointmentTime()));
+            }
+            fill(from, to, exceptions, taken);
+        }
+
+        /**
+         * Buffer the free slots of [from, to] from already loaded exceptions and taken slots
+         */
+        private void fill(LocalDate from, LocalDate to, List<ScheduleException> exceptions,
+                Set<LocalDateTime> taken) {
+            nextChunkStart = to.plusDays(1);
+            Map<LocalDate, List<ScheduleException>> exceptionsByDate = new HashMap<>();
+            for (ScheduleException exception : exceptions) {
+                exceptionsByDate.computeIfAbsent(exception.getExceptionDate(), d -> new ArrayList<>()).add(exception);
+            }
+
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                for (LocalTime time : freeSlotsOn(date, exceptionsByDate.getOrDefault(date, List.of()), taken)) {
+                    buffered.addLast(new AvailableSlot(doctor.getId(), doctor.getUsername(),
+                            doctor.getSpecialization(), date, time));
+                }
+            }
+        }
+
+        private TreeSet<LocalTime> freeSlotsOn(LocalDate date, List<ScheduleException> exceptions,
+                Set<LocalDateTime> taken) {
+            List<LocalTime[]> windows = new ArrayList<>();
+            List<LocalTime[]> blocked = new ArrayList<>();
+
+            DoctorSchedule.DayOfWeek day = DoctorSchedule.DayOfWeek.values()[date.getDayOfWeek().getValue() - 1];
+            for (DoctorSchedule schedule : weekly.getOrDefault(day, List.of())) {
+                windows.add(new LocalTime[] { schedule.getStartTime(), schedule.getEndTime() });
+            }
+            for (ScheduleException exception : exceptions) {
+                LocalTime[] range = { exception.getStartTime(), exception.getEndTime() };
+                (Boolean.TRUE.equals(exception.getIsAvailable()) ? windows : blocked).add(range);
+            }
+
+            TreeSet<LocalTime> free = new TreeSet<>();
+            for (LocalTime[] window : windows) {
+                for (LocalTime start = window[0]; fits(start, window[1]);
+                        start = start.plusMinutes(SlotHoldService.SLOT_MINUTES)) {
+                    LocalDateTime slot = LocalDateTime.of(date, start);
+                    if (!slot.isAfter(now) || taken.contains(slot) || overlaps(start, blocked)) {
+                        continue;
+                    }
+                    free.add(start);
+                }
+            }
+            return free;
+        }
+
+        private boolean fits(LocalTime start, LocalTime windowEnd) {
+            LocalTime end = start.plusMinutes(SlotHoldService.SLOT_MINUTES);
+            return end.isAfter(start) && !end.isAfter(windowEnd); // isAfter(start) stops at midnight wrap-around
+        }
+
+        private boolean overlaps(LocalTime start, List<LocalTime[]> blocked) {
+            LocalTime end = start.plusMinutes(SlotHoldService.SLOT_MINUTES);
+            for (LocalTime[] range : blocked) {
+                if (start.isBefore(range[1]) && end.isAfter(range[0])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
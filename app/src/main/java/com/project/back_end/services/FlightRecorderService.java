@@ -0,0 +1,143 @@
+package com.project.back_end.services;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.RecordingStatus;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * One on-demand Java Flight Recorder recording per node, started and dumped without a restart.
+ *
+ * The recording keeps a rolling window of max-age minutes on disk; each dump writes that window to
+ * a .jfr file under jfr.dump-directory for JDK Mission Control or the jfr tool. Only the newest
+ * jfr.max-dumps files are kept; older ones are deleted when a new dump is written. Besides the
+ * JVM's own events it holds the com.project.clinic.* events (bookings, logins, token checks).
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String FILE_GLOB = "clinic-*.jfr";
+
+    private final Path dumpDirectory;
+    private final long defaultMaxAgeMinutes;
+    private final int maxDumps;
+
+    private Recording recording;
+    private String settings;
+
+    public FlightRecorderService(@Value("${jfr.dump-directory:${java.io.tmpdir}}") String dumpDirectory,
+            @Value("${jfr.max-age-minutes:15}") long defaultMaxAgeMinutes,
+            @Value("${jfr.max-dumps:5}") int maxDumps) {
+        this.dumpDirectory = Path.of(dumpDirectory);
+        this.defaultMaxAgeMinutes = defaultMaxAgeMinutes;
+        this.maxDumps = Math.max(1, maxDumps);
+    }
+
+    /**
+     * Start recording with a JDK settings file: "default" (about 1% overhead) or "profile" (more detail)
+     */
+    public synchronized ApiResponse<RecordingStatus> start(String settingsName, Long maxAgeMinutes) {
+        if (!FlightRecorder.isAvailable()) {
+            return ApiResponse.error("Flight Recorder is not available in this JVM");
+        }
+        if (recording != null) {
+            return ApiResponse.error("A recording is already running");
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            return ApiResponse.error("Unknown recording settings: " + settingsName);
+        }
+
+        Recording started = new Recording(configuration);
+        started.setName("clinic-on-demand");
+        started.setToDisk(true);
+        started.setMaxAge(Duration.ofMinutes(maxAgeMinutes != null && maxAgeMinutes > 0
+                ? maxAgeMinutes
+                : defaultMaxAgeMinutes));
+        started.start();
+        recording = started;
+        settings = settingsName;
+        logger.info("Flight recording started with '{}' settings", settingsName);
+        return ApiResponse.success("Recording started", getStatus());
+    }
+
+    public synchronized RecordingStatus getStatus() {
+        if (recording == null) {
+            return RecordingStatus.none();
+        }
+        return new RecordingStatus(recording.getState().name().toLowerCase(), settings, recording.getStartTime(),
+                recording.getMaxAge().toMinutes(), recording.getSize());
+    }
+
+    /**
+     * Write what has been recorded so far to a new file and drop all but the newest max-dumps
+     * files; the recording keeps running
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        Files.createDirectories(dumpDirectory);
+        Path file = dumpDirectory.resolve("clinic-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+        recording.dump(file);
+        logger.info("Flight recording dumped to {}", file);
+        pruneDumps();
+        return file;
+    }
+
+    public synchronized ApiResponse<RecordingStatus> stop() {
+        if (recording == null) {
+            return ApiResponse.error("No recording is running");
+        }
+        recording.close();
+        recording = null;
+        settings = null;
+        return ApiResponse.success("Recording stopped", RecordingStatus.none());
+    }
+
+    // File names sort by time; a dump still being downloaded keeps streaming from its open handle
+    private void pruneDumps() throws IOException {
+        List<Path> dumps = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dumpDirectory, FILE_GLOB)) {
+            files.forEach(dumps::add);
+        }
+        dumps.sort(Comparator.comparing(Path::getFileName));
+        for (Path old : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
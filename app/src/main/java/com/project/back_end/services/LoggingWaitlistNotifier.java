@@ -0,0 +1,24 @@
+package com.project.back_end.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.models.SlotHold;
+import com.project.back_end.models.WaitlistEntry;
+
+/**
+ * Default waitlist notifier; records the offer until a real delivery channel is configured
+ */
+@Component
+public class LoggingWaitlistNotifier implements WaitlistNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingWaitlistNotifier.class);
+
+    @Override
+    public void notifyOffer(WaitlistEntry entry, SlotHold hold) {
+        logger.info("Waitlist offer for patient {}: doctor {} on {} at {} held until {}",
+                entry.getPatientId(), hold.getDoctorId(), hold.getAppointmentDate(),
+                hold.getAppointmentTime(), hold.getExpiresAt());
+    }
+}
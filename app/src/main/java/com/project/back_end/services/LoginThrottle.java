@@ -0,0 +1,112 @@
+package com.project.back_end.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token-bucket rate limits for logins and registrations, per account and per client IP.
+ * Checked before any password hashing so a throttled caller costs no BCrypt work.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final long IDLE_EVICTION_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final int accountCapacity;
+    private final double accountRefillPerNano;
+    private final int ipCapacity;
+    private final double ipRefillPerNano;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public LoginThrottle(
+            @Value("${auth.throttle.account.capacity:5}") int accountCapacity,
+            @Value("${auth.throttle.account.refill-per-minute:5}") int accountRefillPerMinute,
+            @Value("${auth.throttle.ip.capacity:30}") int ipCapacity,
+            @Value("${auth.throttle.ip.refill-per-minute:60}") int ipRefillPerMinute) {
+        this.accountCapacity = accountCapacity;
+        this.accountRefillPerNano = accountRefillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerNano = ipRefillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+    }
+
+    /**
+     * Take one attempt for an account (username or email); false if the account is throttled
+     */
+    public boolean tryAcquireAccount(String account) {
+        if (account == null) {
+            return true;
+        }
+        return buckets.computeIfAbsent("account:" + account.toLowerCase(),
+                key -> new TokenBucket(accountCapacity, accountRefillPerNano)).tryConsume();
+    }
+
+    /**
+     * Give back the attempt a successful login took, so only failed attempts count against an
+     * account and signing in repeatedly can never lock its owner out
+     */
+    public void refundAccount(String account) {
+        if (account == null) {
+            return;
+        }
+        TokenBucket bucket = buckets.get("account:" + account.toLowerCase());
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    /**
+     * Take one attempt for a client IP; false if the IP is throttled
+     */
+    public boolean tryAcquireIp(String ip) {
+        return buckets.computeIfAbsent("ip:" + ip,
+                key -> new TokenBucket(ipCapacity, ipRefillPerNano)).tryConsume();
+    }
+
+    /**
+     * Drop buckets that have been idle long enough to be full again
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.idleSince(now) > IDLE_EVICTION_NANOS);
+    }
+
+    private static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(int capacity, double refillPerNano) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        private synchronized boolean tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        private synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        private synchronized long idleSince(long now) {
+            return now - lastRefill;
+        }
+    }
+}
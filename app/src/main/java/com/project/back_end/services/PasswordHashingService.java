@@ -0,0 +1,158 @@
+package com.project.back_end.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.project.back_end.DTO.PasswordHashingStats;
+import com.project.back_end.exception.AuthThrottledException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs BCrypt on a dedicated, bounded CPU pool instead of Tomcat request threads.
+ *
+ * At most `threads` hashes run at once and at most `queue-capacity` wait; anything beyond
+ * that is refused immediately with a 503 so a login storm cannot starve booking and
+ * search requests of threads or CPU. A hash is also refused up front when the work already
+ * queued ahead of it, at the average hash time, would not finish within `timeout-ms`: a
+ * running BCrypt cannot be interrupted, so the request thread should not wait for one
+ * that is bound to time out. A hash whose caller gave up is dropped from the queue and a
+ * queued hash past its deadline is skipped when a thread picks it up.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int poolSize;
+    private final long timeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${auth.hashing.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+
+        this.poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Check a raw password against a stored hash
+     */
+    public boolean matches(String rawPassword, String passwordHash) {
+        return run(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    /**
+     * Hash a new password
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Snapshot of pool saturation and hash latency
+     */
+    public PasswordHashingStats getStats() {
+        long count = completed.sum();
+        double averageMillis = count == 0 ? 0 : totalNanos.sum() / (double) count / 1_000_000;
+        return new PasswordHashingStats(count, rejected.sum(), timedOut.sum(), executor.getQueue().size(),
+                executor.getActiveCount(), averageMillis, maxNanos.get() / 1_000_000.0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> work) {
+        if (expectedWaitMillis() > timeoutMillis) {
+            rejected.increment();
+            throw AuthThrottledException.overloaded();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(work, deadline));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw AuthThrottledException.overloaded();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Dequeues a hash that has not started; one already running finishes on its own
+            future.cancel(false);
+            timedOut.increment();
+            throw AuthThrottledException.overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw AuthThrottledException.overloaded();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * How long a hash submitted now would take to finish: the hashes running and queued ahead of it
+     * plus itself, spread over the pool, at the average hash time so far
+     */
+    private double expectedWaitMillis() {
+        long count = completed.sum();
+        if (count == 0) {
+            return 0;
+        }
+        double averageMillis = totalNanos.sum() / (double) count / 1_000_000;
+        int ahead = executor.getActiveCount() + executor.getQueue().size();
+        return Math.ceil((ahead + 1) / (double) poolSize) * averageMillis;
+    }
+
+    private <T> T timed(Callable<T> work, long deadline) throws Exception {
+        if (System.nanoTime() - deadline > 0) {
+            // The caller has given up by now (and counted the timeout); don't spend a core on it
+            throw AuthThrottledException.overloaded();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.call();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            completed.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,12 +11,13 @@ import com.project.back_end.DTO.ApiResponse;
 import com.project.back_end.DTO.AppointmentListResponse;
 import com.project.back_end.DTO.LoginResponse;
 import com.project.back_end.DTO.PrescriptionListResponse;
+import com.project.back_end.exception.AuthThrottledException;
 import com.project.back_end.models.Appointment;
 import com.project.back_end.models.Patient;
 import com.project.back_end.models.Prescription;
-import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.PatientRepository;
 import com.project.back_end.repo.PrescriptionRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,10 +26,12 @@ import lombok.RequiredArgsConstructor;
 public class PatientService {
 
     private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
     private final PatientRepository patientRepository;
-    private final AppointmentRepository appointmentRepository;
+    private final ShardedAppointmentRepository appointmentRepository;
     private final PrescriptionRepository prescriptionRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final UserCountCache userCountCache;
+    private final PasswordHashingService passwordHashingService;
 
     /**
      * Register new patient
@@ -46,13 +48,17 @@ public class PatientService {
             }
 
             // Hash password
-            patient.setPasswordHash(passwordEncoder.encode(patient.getPasswordHash()));
+            patient.setPasswordHash(passwordHashingService.encode(patient.getPasswordHash()));
             patient.setIsActive(true);
 
             Patient saved = patientRepository.save(patient);
-            String token = tokenService.generateToken(saved.getEmail());
+            userCountCache.invalidate("patient");
+            String token = tokenService.generateToken(saved.getEmail(), "patient", saved.getId());
+            String refreshToken = refreshTokenService.issue(saved.getEmail(), "patient", saved.getId());
 
-            return LoginResponse.success(token, saved);
+            return LoginResponse.success(token, refreshToken, saved);
+        } catch (AuthThrottledException e) {
+            throw e;
         } catch (Exception e) {
             return LoginResponse.error("Error: " + e.getMessage());
         }
@@ -92,6 +98,7 @@ public class PatientService {
     /**
      * Get patient appointments
      */
+    @Transactional(readOnly = true)
     public AppointmentListResponse getPatientAppointments(Long patientId) {
         List<Appointment> appointments = appointmentRepository.findByPatientIdOrderByAppointmentDateDesc(patientId);
         return AppointmentListResponse.of(appointments);
@@ -100,6 +107,7 @@ public class PatientService {
     /**
      * Filter patient appointments
      */
+    @Transactional(readOnly = true)
     public AppointmentListResponse filterPatientAppointments(Long patientId, String status, String dateFrom, String dateTo) {
         List<Appointment> appointments;
         
@@ -0,0 +1,204 @@
+package com.project.back_end.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.project.back_end.DTO.TimelineItem;
+import com.project.back_end.DTO.TimelinePage;
+import com.project.back_end.repo.PrescriptionRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
+
+/**
+ * Patient timeline merging MySQL appointments and Mongo prescriptions, newest first.
+ *
+ * Both stores are queried concurrently, each for at most one page past its own keyset position,
+ * so latency is the slower of the two calls rather than their sum. The two sorted pages are merged
+ * and the cursor records how far each source was consumed, so no item is skipped or repeated.
+ */
+@Service
+public class PatientTimelineService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String START = "";
+    private static final String EXHAUSTED = "-";
+
+    private final ShardedAppointmentRepository appointmentRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final Executor executor;
+    private final long timeoutMillis;
+
+    public PatientTimelineService(ShardedAppointmentRepository appointmentRepository,
+            PrescriptionRepository prescriptionRepository,
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            @Value("${patient.timeline.timeout-ms:5000}") long timeoutMillis) {
+        this.appointmentRepository = appointmentRepository;
+        this.prescriptionRepository = prescriptionRepository;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Get one page of a patient's timeline
+     */
+    public TimelinePage getTimeline(Long patientId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Parsed here, so a bad cursor is the caller's error rather than a failed source query
+        Cursor positions = decode(cursor);
+
+        CompletableFuture<List<TimelineItem>> appointments = CompletableFuture.supplyAsync(
+                () -> loadAppointments(patientId, positions.appointments(), pageSize), executor);
+        CompletableFuture<List<TimelineItem>> prescriptions = CompletableFuture.supplyAsync(
+                () -> loadPrescriptions(patientId, positions.prescriptions(), pageSize), executor);
+
+        try {
+            CompletableFuture.allOf(appointments, prescriptions).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return merge(appointments.join(), prescriptions.join(), positions, pageSize);
+        } catch (TimeoutException e) {
+            appointments.cancel(true);
+            prescriptions.cancel(true);
+            throw new IllegalStateException("Timeline sources did not respond in time");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading timeline");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private List<TimelineItem> loadAppointments(Long patientId, Position<Long> position, int pageSize) {
+        if (position.isExhausted()) {
+            return List.of();
+        }
+        if (position.isStart()) {
+            return appointmentRepository.findTimelineItems(patientId, null, null, null, Limit.of(pageSize));
+        }
+        return appointmentRepository.findTimelineItems(patientId, position.after().toLocalDate(),
+                position.after().toLocalTime(), position.id(), Limit.of(pageSize));
+    }
+
+    private List<TimelineItem> loadPrescriptions(Long patientId, Position<ObjectId> position, int pageSize) {
+        if (position.isExhausted()) {
+            return List.of();
+        }
+        PageRequest page = PageRequest.of(0, pageSize);
+        if (position.isStart()) {
+            return prescriptionRepository.findTimelinePage(patientId, page).stream().map(TimelineItem::of).toList();
+        }
+        var rows = position.after() == null
+                ? prescriptionRepository.findUndatedTimelinePageAfter(patientId, position.id(), page)
+                : prescriptionRepository.findTimelinePageAfter(patientId, position.after(), position.id(), page);
+        return rows.stream().map(TimelineItem::of).toList();
+    }
+
+    /**
+     * Two-way merge of the sorted source pages, tracking each source's last consumed item
+     */
+    private TimelinePage merge(List<TimelineItem> appointments, List<TimelineItem> prescriptions,
+            Cursor positions, int pageSize) {
+        List<TimelineItem> items = new ArrayList<>(pageSize);
+        int a = 0;
+        int p = 0;
+        while (items.size() < pageSize && (a < appointments.size() || p < prescriptions.size())) {
+            boolean takeAppointment = p >= prescriptions.size()
+                    || (a < appointments.size() && isNewer(appointments.get(a), prescriptions.get(p)));
+            items.add(takeAppointment ? appointments.get(a++) : prescriptions.get(p++));
+        }
+
+        String appointmentPosition = positionAfter(appointments, a, pageSize, positions.appointments().raw());
+        String prescriptionPosition = positionAfter(prescriptions, p, pageSize, positions.prescriptions().raw());
+        String nextCursor = EXHAUSTED.equals(appointmentPosition) && EXHAUSTED.equals(prescriptionPosition)
+                ? null
+                : encode(appointmentPosition, prescriptionPosition);
+        return new TimelinePage(items, nextCursor);
+    }
+
+    // Newest first; undated items sort last, matching the Mongo sort
+    private static boolean isNewer(TimelineItem left, TimelineItem right) {
+        if (right.getOccurredAt() == null) {
+            return true;
+        }
+        return left.getOccurredAt() != null && !left.getOccurredAt().isBefore(right.getOccurredAt());
+    }
+
+    private static String positionAfter(List<TimelineItem> source, int consumed, int pageSize, String previous) {
+        if (consumed == source.size() && source.size() < pageSize) {
+            return EXHAUSTED;
+        }
+        if (consumed == 0) {
+            return previous;
+        }
+        TimelineItem last = source.get(consumed - 1);
+        String date = last.getOccurredAt() != null ? last.getOccurredAt().toString() : "";
+        return date + "," + last.getId();
+    }
+
+    private static String encode(String appointmentPosition, String prescriptionPosition) {
+        String raw = appointmentPosition + "|" + prescriptionPosition;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Cursor(new Position<>(START, null, null), new Position<>(START, null, null));
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] positions = raw.split("\\|", -1);
+            if (positions.length != 2) {
+                throw new IllegalArgumentException("Invalid timeline cursor");
+            }
+            return new Cursor(parse(positions[0], false, Long::valueOf), parse(positions[1], true, ObjectId::new));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor");
+        }
+    }
+
+    // "date,id"; only prescriptions may have an empty date (undated, sorted last)
+    private static <I> Position<I> parse(String raw, boolean undatedAllowed, Function<String, I> id) {
+        if (START.equals(raw) || EXHAUSTED.equals(raw)) {
+            return new Position<>(raw, null, null);
+        }
+        String[] parts = raw.split(",", -1);
+        if (parts.length != 2 || (parts[0].isEmpty() && !undatedAllowed)) {
+            throw new IllegalArgumentException("Invalid timeline cursor");
+        }
+        LocalDateTime after = parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]);
+        return new Position<>(raw, after, id.apply(parts[1]));
+    }
+
+    private record Cursor(Position<Long> appointments, Position<ObjectId> prescriptions) {
+    }
+
+    /**
+     * One source's keyset position: START, EXHAUSTED, or the date (null when undated) and id of
+     * the last item consumed
+     */
+    private record Position<I>(String raw, LocalDateTime after, I id) {
+
+        boolean isStart() {
+            return START.equals(raw);
+        }
+
+        boolean isExhausted() {
+            return EXHAUSTED.equals(raw);
+        }
+    }
+}
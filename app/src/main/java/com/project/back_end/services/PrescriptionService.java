@@ -2,12 +2,14 @@ package com.project.back_end.services;
 
 import com.project.back_end.DTO.ApiResponse;
 import com.project.back_end.DTO.PrescriptionListResponse;
+import com.project.back_end.DTO.VersionStamp;
 import com.project.back_end.models.Prescription;
 import com.project.back_end.repo.PrescriptionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -28,6 +30,9 @@ public class PrescriptionService {
             }
 
             prescription.setStatus("active");
+            if (prescription.getPrescriptionDate() == null) {
+                prescription.setPrescriptionDate(LocalDateTime.now());
+            }
             Prescription saved = prescriptionRepository.save(prescription);
             
             return ApiResponse.success("Prescription created successfully", saved);
@@ -51,6 +56,17 @@ public class PrescriptionService {
         return prescriptionRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Version of a prescription, read without loading it; null if it does not exist or was
+     * written before prescriptions carried updatedAt
+     */
+    public VersionStamp getPrescriptionVersion(String id) {
+        return prescriptionRepository.findVersionById(id)
+                .filter(prescription -> prescription.getUpdatedAt() != null)
+                .map(prescription -> new VersionStamp(1L, null, prescription.getUpdatedAt()))
+                .orElse(null);
+    }
+
     /**
      * Update prescription
      */
@@ -0,0 +1,89 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Prescription reads and writes on the reactive Mongo driver.
+ * No servlet thread is held while Mongo works; lists are emitted as documents arrive from the cursor.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactivePrescriptionService {
+
+    /**
+     * Documents requested from the cursor ahead of the client; bounds memory for slow consumers
+     */
+    private static final int PREFETCH = 64;
+
+    private final ReactivePrescriptionRepository reactivePrescriptionRepository;
+
+    /**
+     * Create prescription
+     */
+    public Mono<ApiResponse<Prescription>> createPrescription(Prescription prescription) {
+        return reactivePrescriptionRepository.existsByAppointmentId(prescription.getAppointmentId())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.just(ApiResponse.<Prescription>error("Prescription already exists for this appointment"));
+                    }
+                    prescription.setStatus("active");
+                    if (prescription.getPrescriptionDate() == null) {
+                        prescription.setPrescriptionDate(LocalDateTime.now());
+                    }
+                    return reactivePrescriptionRepository.save(prescription)
+                            .map(saved -> ApiResponse.success("Prescription created successfully", saved));
+                })
+                .onErrorResume(e -> Mono.just(ApiResponse.error("Error: " + e.getMessage())));
+    }
+
+    /**
+     * Update prescription
+     */
+    public Mono<ApiResponse<Prescription>> updatePrescription(Prescription prescription) {
+        return reactivePrescriptionRepository.existsById(prescription.getId())
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.just(ApiResponse.<Prescription>error("Prescription not found"));
+                    }
+                    return reactivePrescriptionRepository.save(prescription)
+                            .map(saved -> ApiResponse.success("Prescription updated successfully", saved));
+                })
+                .onErrorResume(e -> Mono.just(ApiResponse.error("Error: " + e.getMessage())));
+    }
+
+    /**
+     * Get prescription by ID
+     */
+    public Mono<Prescription> getPrescriptionById(String id) {
+        return reactivePrescriptionRepository.findById(id);
+    }
+
+    /**
+     * Get prescription by appointment ID
+     */
+    public Mono<Prescription> getPrescriptionByAppointmentId(Long appointmentId) {
+        return reactivePrescriptionRepository.findFirstByAppointmentId(appointmentId);
+    }
+
+    /**
+     * Stream a patient's prescriptions
+     */
+    public Flux<Prescription> streamPatientPrescriptions(Long patientId) {
+        return reactivePrescriptionRepository.findByPatientId(patientId).limitRate(PREFETCH);
+    }
+
+    /**
+     * Stream a doctor's prescriptions
+     */
+    public Flux<Prescription> streamDoctorPrescriptions(Long doctorId) {
+        return reactivePrescriptionRepository.findByDoctorId(doctorId).limitRate(PREFETCH);
+    }
+}
@@ -0,0 +1,169 @@
+package com.project.back_end.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.back_end.DTO.LoginResponse;
+import com.project.back_end.models.Admin;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.RefreshToken;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.repo.RefreshTokenRepository;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Rotating refresh tokens behind the short-lived access tokens.
+ *
+ * Refresh is the only point where the account is re-checked against the database, so a
+ * deactivated user loses access within one access-token lifetime.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AdminRepository adminRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final TokenService tokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final long refreshTokenTtlDays;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+            AdminRepository adminRepository,
+            DoctorRepository doctorRepository,
+            PatientRepository patientRepository,
+            TokenService tokenService,
+            TokenRevocationList tokenRevocationList,
+            @Value("${jwt.refresh-token-ttl-days:7}") long refreshTokenTtlDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.adminRepository = adminRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.tokenService = tokenService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.refreshTokenTtlDays = refreshTokenTtlDays;
+    }
+
+    /**
+     * Start a new refresh token family at login
+     */
+    public String issue(String email, String role, Long userId) {
+        return issue(UUID.randomUUID().toString(), email, role, userId);
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token
+     * Presenting an already-used token revokes its whole family
+     */
+    public LoginResponse<Void> rotate(String rawToken) {
+        try {
+            RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken));
+            if (current == null || current.getRevoked()) {
+                return LoginResponse.error("Invalid refresh token");
+            }
+            if (!current.getExpiresAt().isAfter(LocalDateTime.now())) {
+                return LoginResponse.error("Refresh token expired");
+            }
+            if (current.getUsedAt() != null
+                    || refreshTokenRepository.markUsed(current.getId(), LocalDateTime.now()) == 0) {
+                refreshTokenRepository.revokeFamily(current.getFamilyId());
+                return LoginResponse.error("Refresh token reuse detected, please log in again");
+            }
+            if (!isActive(current.getRole(), current.getUserId())) {
+                refreshTokenRepository.revokeFamily(current.getFamilyId());
+                return LoginResponse.error("Account is deactivated");
+            }
+
+            String token = tokenService.generateToken(current.getEmail(), current.getRole(), current.getUserId());
+            String refreshToken = issue(current.getFamilyId(), current.getEmail(), current.getRole(),
+                    current.getUserId());
+            return LoginResponse.success(token, refreshToken, null);
+        } catch (Exception e) {
+            return LoginResponse.error("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Logout: revoke the access token (if still valid) and the refresh token's family
+     */
+    public void revoke(String accessToken, String rawRefreshToken) {
+        if (accessToken != null) {
+            try {
+                Claims claims = tokenService.parseClaims(accessToken);
+                tokenRevocationList.revoke(claims.getId(),
+                        LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+            } catch (Exception e) {
+                // Expired or invalid access token - nothing left to revoke
+            }
+        }
+        if (rawRefreshToken != null) {
+            RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawRefreshToken));
+            if (current != null) {
+                refreshTokenRepository.revokeFamily(current.getFamilyId());
+            }
+        }
+    }
+
+    /**
+     * Revoke every refresh token of a user (on deactivation)
+     */
+    public void revokeAllForUser(String role, Long userId) {
+        refreshTokenRepository.revokeAllForUser(role.toLowerCase(), userId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-sweep-interval-ms:3600000}")
+    public void sweepExpiredTokens() {
+        refreshTokenRepository.deleteAllExpired(LocalDateTime.now());
+    }
+
+    private String issue(String familyId, String email, String role, Long userId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setEmail(email);
+        refreshToken.setRole(role);
+        refreshToken.setUserId(userId);
+        refreshToken.setExpiresAt(LocalDateTime.now().plusDays(refreshTokenTtlDays));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    private boolean isActive(String role, Long userId) {
+        return switch (role) {
+            case "admin" -> adminRepository.findById(userId).map(Admin::getIsActive).orElse(false);
+            case "doctor" -> doctorRepository.findById(userId).map(Doctor::getIsActive).orElse(false);
+            case "patient" -> patientRepository.findById(userId).map(Patient::getIsActive).orElse(false);
+            default -> false;
+        };
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.project.back_end.services;
 
 import com.project.back_end.DTO.MessageResponse;
 import com.project.back_end.DTO.ScheduleResponse;
+import com.project.back_end.DTO.VersionStamp;
+import com.project.back_end.models.Doctor;
 import com.project.back_end.models.DoctorSchedule;
 import com.project.back_end.models.ScheduleException;
 import com.project.back_end.repo.DoctorRepository;
@@ -11,6 +13,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @Service
@@ -20,6 +24,7 @@ public class ScheduleService {
     private final DoctorRepository doctorRepository;
     private final DoctorScheduleRepository doctorScheduleRepository;
     private final ScheduleExceptionRepository scheduleExceptionRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Get doctor schedule
@@ -29,6 +34,40 @@ public class ScheduleService {
         return ScheduleResponse.of(schedules);
     }
 
+    /**
+     * Whether a slot of slotMinutes starting at time lies inside the doctor's working hours on
+     * that date: a weekly window or an extra availability exception, and no blocking exception
+     */
+    @Transactional(readOnly = true)
+    public boolean isWithinSchedule(Long doctorId, LocalDate date, LocalTime time, int slotMinutes) {
+        LocalTime end = time.plusMinutes(slotMinutes);
+        if (!end.isAfter(time)) {
+            return false; // runs past midnight
+        }
+        DoctorSchedule.DayOfWeek day = DoctorSchedule.DayOfWeek.values()[date.getDayOfWeek().getValue() - 1];
+        boolean open = doctorScheduleRepository.findByDoctorIdAndDayOfWeek(doctorId, day).stream()
+                .anyMatch(schedule -> Boolean.TRUE.equals(schedule.getIsAvailable())
+                        && !time.isBefore(schedule.getStartTime()) && !end.isAfter(schedule.getEndTime()));
+        for (ScheduleException exception : scheduleExceptionRepository.findByDoctorIdAndExceptionDate(doctorId, date)) {
+            boolean covers = !time.isBefore(exception.getStartTime()) && !end.isAfter(exception.getEndTime());
+            boolean overlaps = time.isBefore(exception.getEndTime()) && end.isAfter(exception.getStartTime());
+            if (Boolean.TRUE.equals(exception.getIsAvailable())) {
+                open |= covers;
+            } else if (overlaps) {
+                return false;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Version of a doctor's schedule, read without loading it
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getDoctorScheduleVersion(Long doctorId) {
+        return doctorScheduleRepository.findVersionByDoctorId(doctorId);
+    }
+
     /**
      * Set doctor availability schedule
      */
@@ -39,10 +78,13 @@ public class ScheduleService {
             doctorScheduleRepository.deleteByDoctorId(doctorId);
             
             // Save new schedules
+            Doctor doctor = doctorRepository.findById(doctorId).orElse(null);
             for (DoctorSchedule schedule : schedules) {
-                schedule.setDoctor(doctorRepository.findById(doctorId).orElse(null));
+                schedule.setDoctor(doctor);
                 doctorScheduleRepository.save(schedule);
             }
+            // Schedule rows are replaced wholesale, so peers drop the whole region
+            cacheInvalidationBus.publish(DoctorSchedule.class, null);
 
             return MessageResponse.success("Schedule updated successfully");
         } catch (Exception e) {
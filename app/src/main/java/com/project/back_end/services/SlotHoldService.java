@@ -0,0 +1,238 @@
+package com.project.back_end.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.HoldExpiredEvent;
+import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.SlotHold;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
+import com.project.back_end.repo.SlotHoldRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Temporary slot holds for the booking flow.
+ *
+ * The slot_holds table (unique per doctor/date/time) is the source of truth, so holds work
+ * across app nodes. Expired rows are ignored by every read, and removed two ways: a local
+ * DelayQueue deletes each hold this node created the moment it expires, and a periodic
+ * indexed sweep on expires_at collects holds left behind by other or restarted nodes.
+ * Whichever path deletes a lapsed hold publishes a {@link HoldExpiredEvent}, once, so the
+ * freed slot can be offered again.
+ */
+@Service
+public class SlotHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotHoldService.class);
+
+    // The booking grid: EarliestSlotService offers these slots and the data generator books them
+    static final int SLOT_MINUTES = 30;
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final ShardedAppointmentRepository appointmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final ScheduleService scheduleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration holdTtl;
+
+    private final DelayQueue<HoldExpiry> expiries = new DelayQueue<>();
+    private Thread expiryThread;
+
+    public SlotHoldService(SlotHoldRepository slotHoldRepository,
+            ShardedAppointmentRepository appointmentRepository,
+            DoctorRepository doctorRepository,
+            ScheduleService scheduleService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${booking.hold.ttl-minutes:5}") long holdTtlMinutes) {
+        this.slotHoldRepository = slotHoldRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.doctorRepository = doctorRepository;
+        this.scheduleService = scheduleService;
+        this.eventPublisher = eventPublisher;
+        this.holdTtl = Duration.ofMinutes(holdTtlMinutes);
+    }
+
+    /**
+     * Hold a slot for a patient; holding the same slot again extends the hold
+     */
+    public ApiResponse<SlotHold> holdSlot(Long doctorId, Long patientId, String date, String time) {
+        LocalDate appointmentDate = LocalDate.parse(date);
+        LocalTime appointmentTime = LocalTime.parse(time);
+        LocalDateTime now = LocalDateTime.now();
+
+        String slotError = slotError(doctorId, appointmentDate, appointmentTime, now);
+        if (slotError != null) {
+            return ApiResponse.error(slotError);
+        }
+        if (appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(
+                doctorId, appointmentDate, appointmentTime, Appointment.AppointmentStatus.cancelled)) {
+            return ApiResponse.error("Time slot already booked");
+        }
+
+        SlotHold hold = slotHoldRepository.findByDoctorIdAndAppointmentDateAndAppointmentTime(
+                doctorId, appointmentDate, appointmentTime).orElse(null);
+        if (hold != null && !hold.getExpiresAt().isAfter(now)) {
+            // Free the unique key if a stale hold for this slot has not been swept yet
+            expire(hold.getId(), HoldExpiredEvent.of(hold), now);
+            hold = null;
+        }
+        if (hold != null && !hold.getPatientId().equals(patientId)) {
+            return ApiResponse.error("Time slot is temporarily held by another patient");
+        }
+
+        if (hold == null) {
+            hold = new SlotHold();
+            hold.setDoctorId(doctorId);
+            hold.setPatientId(patientId);
+            hold.setAppointmentDate(appointmentDate);
+            hold.setAppointmentTime(appointmentTime);
+        }
+        hold.setExpiresAt(now.plus(holdTtl));
+
+        try {
+            SlotHold saved = slotHoldRepository.saveAndFlush(hold);
+            expiries.add(new HoldExpiry(saved.getId(), HoldExpiredEvent.of(saved), saved.getExpiresAt()));
+            return ApiResponse.success("Slot held until " + saved.getExpiresAt(), saved);
+        } catch (DataIntegrityViolationException e) {
+            // Another node inserted a hold for the same slot between our read and insert
+            return ApiResponse.error("Time slot is temporarily held by another patient");
+        }
+    }
+
+    /**
+     * Why a slot cannot be held or moved to: an unknown or inactive doctor, a slot that has
+     * started, or one outside the doctor's schedule; null if it can
+     */
+    public String slotError(Long doctorId, LocalDate date, LocalTime time, LocalDateTime now) {
+        Doctor doctor = doctorRepository.findById(doctorId).orElse(null);
+        if (doctor == null || !Boolean.TRUE.equals(doctor.getIsActive())) {
+            return "Doctor not found";
+        }
+        if (!LocalDateTime.of(date, time).isAfter(now)) {
+            return "Time slot is in the past";
+        }
+        if (!scheduleService.isWithinSchedule(doctorId, date, time, SLOT_MINUTES)) {
+            return "Time slot is outside the doctor's schedule";
+        }
+        return null;
+    }
+
+    /**
+     * Release a hold before it expires
+     */
+    public MessageResponse releaseHold(Long holdId, Long patientId) {
+        if (slotHoldRepository.deleteByIdAndPatientId(holdId, patientId) == 0) {
+            return MessageResponse.error("Hold not found");
+        }
+        return MessageResponse.success("Hold released successfully");
+    }
+
+    /**
+     * Check a slot against active holds when booking and consume the patient's own hold.
+     * Must be called inside the booking transaction.
+     *
+     * @return an error message if another patient holds the slot, otherwise null
+     */
+    public String consumeHold(Long doctorId, Long patientId, LocalDate date, LocalTime time) {
+        Optional<SlotHold> hold = slotHoldRepository.findActiveHold(doctorId, date, time, LocalDateTime.now());
+        if (hold.isEmpty()) {
+            return null;
+        }
+        if (!hold.get().getPatientId().equals(patientId)) {
+            return "Time slot is temporarily held by another patient";
+        }
+        // A second booking racing on the same hold blocks here until the first commits, then finds it gone
+        if (slotHoldRepository.deleteHold(hold.get().getId()) == 0) {
+            return "Time slot hold was already used by another booking";
+        }
+        return null;
+    }
+
+    /**
+     * Sweep holds that expired on any node
+     */
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval-ms:60000}")
+    public void sweepExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        for (SlotHold hold : slotHoldRepository.findByExpiresAtLessThanEqual(now)) {
+            if (expire(hold.getId(), HoldExpiredEvent.of(hold), now)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            logger.debug("Swept {} expired slot holds", removed);
+        }
+    }
+
+    /**
+     * Delete a lapsed hold and announce it; false if it was consumed, released, extended or
+     * already expired by another path
+     */
+    private boolean expire(Long holdId, HoldExpiredEvent event, LocalDateTime now) {
+        if (slotHoldRepository.deleteIfExpired(holdId, now) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(event);
+        return true;
+    }
+
+    @PostConstruct
+    void startExpiryThread() {
+        expiryThread = new Thread(this::expireHolds, "slot-hold-expiry");
+        expiryThread.setDaemon(true);
+        expiryThread.start();
+    }
+
+    @PreDestroy
+    void stopExpiryThread() {
+        expiryThread.interrupt();
+    }
+
+    private void expireHolds() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                HoldExpiry expiry = expiries.take();
+                // No-op if the hold was consumed, released or extended in the meantime
+                expire(expiry.holdId(), expiry.event(), LocalDateTime.now());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.warn("Failed to expire slot hold: {}", e.getMessage());
+            }
+        }
+    }
+
+    private record HoldExpiry(Long holdId, HoldExpiredEvent event, LocalDateTime expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,689 @@
+package com.project.back_end.services;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mongodb.client.model.InsertManyOptions;
+import com.project.back_end.repo.AppointmentShards;
+
+/**
+ * Seeded generator of production-sized data for scale tests (datagen profile).
+ *
+ * Doctors with weekly schedules, patients, appointments with realistic status mixes and the
+ * prescriptions of completed appointments are written with multi-row JDBC inserts and unordered
+ * Mongo bulk inserts from a pool of worker threads. Every row is derived from (seed, row index)
+ * alone, and ids continue after the current maximum, so the same settings produce the same data
+ * whatever the thread count or scheduling. Appointments only land in their doctor's scheduled
+ * hours, never share a slot, and go to the doctor's shard when appointments are sharded.
+ * Doctors and patients are written to the primary only; with shards, the appointment phase waits
+ * until replication has copied every new reference row to each shard, since the shards' joins and
+ * foreign keys need them.
+ */
+@Service
+@Profile("datagen")
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final int DOCTORS_PER_TASK = 1_000;
+    private static final int PATIENTS_PER_TASK = 10_000;
+    private static final int APPOINTMENTS_PER_TASK = 50_000;
+    private static final double PRESCRIPTION_RATE = 0.6;
+    private static final long PROGRESS_INTERVAL_MILLIS = 5_000;
+    private static final long REPLICATION_POLL_MILLIS = 1_000;
+
+    // Independent random streams per table, so adding a column to one leaves the others unchanged
+    private static final long DOCTOR_STREAM = 1;
+    private static final long PATIENT_STREAM = 2;
+    private static final long APPOINTMENT_STREAM = 3;
+    private static final long SCHEDULE_STREAM = 4;
+
+    private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+
+    private static final String[] PATIENT_COLUMNS = { "id", "username", "email", "password_hash", "phone",
+            "date_of_birth", "gender", "address", "allergies", "created_at", "updated_at", "is_active" };
+    private static final String[] DOCTOR_COLUMNS = { "id", "username", "email", "password_hash", "phone",
+            "specialization", "bio", "profile_photo_url", "consultation_fee", "years_of_experience", "created_at",
+            "updated_at", "is_active" };
+    private static final String[] SCHEDULE_COLUMNS = { "doctor_id", "day_of_week", "start_time", "end_time",
+            "is_available", "created_at", "updated_at" };
+    private static final String[] APPOINTMENT_COLUMNS = { "id", "patient_id", "doctor_id", "appointment_date",
+            "appointment_time", "duration_minutes", "status", "appointment_reason", "patient_notes",
+            "cancellation_reason", "consultation_notes", "created_at", "updated_at", "cancelled_at", "completed_at" };
+
+    private static final String[] FIRST_NAMES = { "James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+            "Thomas", "Sarah", "Charles", "Karen", "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark",
+            "Ashley", "Minh", "Lan", "Wei", "Mei", "Arjun", "Priya", "Omar", "Fatima", "Carlos", "Lucia" };
+    private static final String[] LAST_NAMES = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas", "Taylor",
+            "Moore", "Jackson", "Martin", "Lee", "Nguyen", "Tran", "Patel", "Kim", "Chen", "Wang", "Singh", "Khan",
+            "Thompson", "White", "Harris", "Clark", "Lewis", "Walker", "Young", "Allen", "King", "Wright" };
+    private static final String[] STREETS = { "Main St", "Oak Ave", "Pine Rd", "Elm St", "Maple Dr", "Cedar Ln",
+            "Birch Ct", "Spruce Way", "Willow Blvd", "Ash St", "Lake Rd", "Hill St" };
+    private static final String[] CITIES = { "New York, NY", "Los Angeles, CA", "Chicago, IL", "Houston, TX",
+            "Phoenix, AZ", "Philadelphia, PA", "San Antonio, TX", "San Diego, CA", "Dallas, TX", "San Jose, CA" };
+    private static final String[] ALLERGIES = { "Penicillin", "Aspirin", "Pollen", "Latex", "Sulfa drugs",
+            "Iodine", "Peanuts", "Shellfish", "Dust mites" };
+    private static final String[] SPECIALIZATIONS = { "Cardiology", "Pediatrics", "Dermatology", "Orthopedics",
+            "Internal Medicine", "Neurology", "General Practice", "Gynecology", "Psychiatry", "Ophthalmology" };
+    private static final String[] REASONS = { "Annual checkup", "Follow-up visit", "Persistent headache",
+            "Skin rash", "Back pain", "Vaccination", "Chest pain", "Blood pressure check", "Medication review",
+            "Joint pain", "Fever and cough", "Lab results review" };
+    private static final String[] PATIENT_NOTES = { "Symptoms started last week.", "Requesting a morning slot.",
+            "Bringing previous test results.", "Worse at night.", "Second opinion requested." };
+    private static final String[] CANCELLATION_REASONS = { "Schedule conflict", "Feeling better",
+            "Doctor unavailable", "Transportation issue", "Booked with another clinic" };
+    private static final String[] CONSULTATION_NOTES = { "Patient stable, continue current treatment.",
+            "Prescribed medication, review in two weeks.", "Ordered blood work.", "Referred to a specialist.",
+            "Lifestyle changes discussed." };
+    private static final String[] DIAGNOSES = { "Hypertension", "Type 2 diabetes", "Migraine", "Contact dermatitis",
+            "Lower back strain", "Upper respiratory infection", "Seasonal allergies", "Osteoarthritis",
+            "Gastroesophageal reflux", "Anxiety disorder" };
+    private static final String[][] MEDICATIONS = {
+            { "Lisinopril", "lisinopril", "10mg", "tablet" },
+            { "Metformin", "metformin hydrochloride", "500mg", "tablet" },
+            { "Sumatriptan", "sumatriptan", "50mg", "tablet" },
+            { "Hydrocortisone", "hydrocortisone", "1%", "cream" },
+            { "Ibuprofen", "ibuprofen", "400mg", "tablet" },
+            { "Amoxicillin", "amoxicillin", "500mg", "capsule" },
+            { "Cetirizine", "cetirizine", "10mg", "tablet" },
+            { "Omeprazole", "omeprazole", "20mg", "capsule" },
+            { "Sertraline", "sertraline", "50mg", "tablet" } };
+    private static final String[] FREQUENCIES = { "Once daily", "Twice daily", "Three times daily", "As needed" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transaction;
+    private final AppointmentShards shards;
+    private final PasswordEncoder passwordEncoder;
+
+    private final int patients;
+    private final int doctors;
+    private final long appointments;
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final int historyDays;
+    private final int futureDays;
+    private final String configuredReferenceDate;
+    private final String password;
+    private final boolean disableConstraintChecks;
+    private final long replicationWaitMillis;
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong lastProgressLog = new AtomicLong();
+
+    public SyntheticDataGenerator(DataSource dataSource,
+            MongoTemplate mongoTemplate,
+            PlatformTransactionManager transactionManager,
+            AppointmentShards shards,
+            PasswordEncoder passwordEncoder,
+            @Value("${datagen.patients:1000000}") int patients,
+            @Value("${datagen.doctors:5000}") int doctors,
+            @Value("${datagen.appointments:10000000}") long appointments,
+            @Value("${datagen.seed:42}") long seed,
+            @Value("${datagen.threads:0}") int threads,
+            @Value("${datagen.batch-size:1000}") int batchSize,
+            @Value("${datagen.history-days:730}") int historyDays,
+            @Value("${datagen.future-days:60}") int futureDays,
+            @Value("${datagen.reference-date:}") String referenceDate,
+            @Value("${datagen.password:Synthetic123!}") String password,
+            @Value("${datagen.disable-constraint-checks:true}") boolean disableConstraintChecks,
+            @Value("${datagen.replication-wait-seconds:600}") long replicationWaitSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.mongoTemplate = mongoTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.shards = shards;
+        this.passwordEncoder = passwordEncoder;
+        this.patients = patients;
+        this.doctors = doctors;
+        this.appointments = appointments;
+        this.seed = seed;
+        this.threads = threads > 0 ? threads : Math.min(8, Runtime.getRuntime().availableProcessors());
+        this.batchSize = Math.max(1, batchSize);
+        this.historyDays = historyDays;
+        this.futureDays = futureDays;
+        this.configuredReferenceDate = referenceDate;
+        this.password = password;
+        this.disableConstraintChecks = disableConstraintChecks;
+        this.replicationWaitMillis = replicationWaitSeconds * 1000;
+    }
+
+    /**
+     * Generate the configured volumes on top of whatever is already stored
+     */
+    public Summary generate() throws InterruptedException {
+        long started = System.currentTimeMillis();
+        LocalDate referenceDate = configuredReferenceDate == null || configuredReferenceDate.isBlank()
+                ? LocalDate.now()
+                : LocalDate.parse(configuredReferenceDate);
+
+        Plan plan = plan(referenceDate);
+        logger.info("Generating {} doctors, {} patients and {} appointments (seed {}, {} threads, ids after {}/{}/{})",
+                doctors, patients, plan.appointmentTotal(), seed, threads, plan.doctorBase(), plan.patientBase(),
+                plan.appointmentBase());
+        if (plan.appointmentTotal() < appointments) {
+            logger.warn("Doctors' schedules only have room for {} of {} appointments; add doctors or history-days",
+                    plan.appointmentTotal(), appointments);
+        }
+
+        // Every user shares one hash; hashing millions of passwords would dominate the run
+        String passwordHash = passwordEncoder.encode(password);
+        AtomicLong schedules = new AtomicLong();
+        AtomicLong prescriptions = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "datagen-" + WORKER_IDS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Runnable> tasks = new ArrayList<>();
+            for (int from = 0; from < doctors; from += DOCTORS_PER_TASK) {
+                int first = from;
+                int last = Math.min(from + DOCTORS_PER_TASK, doctors);
+                tasks.add(() -> schedules.addAndGet(writeDoctors(plan, first, last, passwordHash)));
+            }
+            for (int from = 0; from < patients; from += PATIENTS_PER_TASK) {
+                int first = from;
+                int last = Math.min(from + PATIENTS_PER_TASK, patients);
+                tasks.add(() -> writePatients(plan, first, last, passwordHash));
+            }
+            runAll(workers, tasks);
+
+            // Appointments reference the rows above, so they start once those are committed and,
+            // when sharded, replicated to every shard
+            awaitReferenceRows(plan);
+            tasks.clear();
+            int first = 0;
+            long pending = 0;
+            for (int doctor = 0; doctor < doctors; doctor++) {
+                pending += plan.appointmentCounts()[doctor];
+                if (pending >= APPOINTMENTS_PER_TASK || doctor == doctors - 1) {
+                    int from = first;
+                    int to = doctor + 1;
+                    tasks.add(() -> prescriptions.addAndGet(writeAppointments(plan, from, to)));
+                    first = to;
+                    pending = 0;
+                }
+            }
+            runAll(workers, tasks);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Summary summary = new Summary(doctors, schedules.get(), patients, plan.appointmentTotal(), prescriptions.get(),
+                System.currentTimeMillis() - started);
+        logger.info("Synthetic data done: {}", summary);
+        return summary;
+    }
+
+    // Per-doctor schedule, popularity and appointment count; everything else is derived row by row
+    private Plan plan(LocalDate referenceDate) {
+        long doctorBase = maxId("doctors");
+        long patientBase = maxId("patients");
+        long appointmentBase = shards.readAll(shard -> maxId("appointments")).stream()
+                .mapToLong(Long::longValue).max().orElse(0);
+
+        LocalDate firstDay = referenceDate.minusDays(historyDays);
+        LocalDate lastDay = referenceDate.plusDays(futureDays);
+        int[] daysPerWeekday = new int[7];
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            daysPerWeekday[day.getDayOfWeek().ordinal()]++;
+        }
+
+        ScheduleTemplate[] templates = new ScheduleTemplate[doctors];
+        double[] weights = new double[doctors];
+        long[] capacities = new long[doctors];
+        double totalWeight = 0;
+        for (int doctor = 0; doctor < doctors; doctor++) {
+            SplittableRandom random = random(SCHEDULE_STREAM, doctor);
+            templates[doctor] = ScheduleTemplate.pick(random);
+            // A few doctors are much busier than most
+            weights[doctor] = Math.exp(random.nextGaussian() * 0.6);
+            totalWeight += weights[doctor];
+            for (DayOfWeek day : templates[doctor].days) {
+                capacities[doctor] += (long) daysPerWeekday[day.ordinal()] * templates[doctor].slotsPerDay();
+            }
+        }
+
+        // Share appointments by popularity, capped by the slots each schedule has in the date range
+        long[] counts = new long[doctors];
+        long assigned = 0;
+        for (int doctor = 0; doctor < doctors; doctor++) {
+            counts[doctor] = Math.min(capacities[doctor], (long) (appointments * weights[doctor] / totalWeight));
+            assigned += counts[doctor];
+        }
+        for (int doctor = 0; assigned < appointments && doctor < doctors; doctor++) {
+            long extra = Math.min(capacities[doctor] - counts[doctor], appointments - assigned);
+            counts[doctor] += extra;
+            assigned += extra;
+        }
+        long[] offsets = new long[doctors + 1];
+        for (int doctor = 0; doctor < doctors; doctor++) {
+            offsets[doctor + 1] = offsets[doctor] + counts[doctor];
+        }
+
+        return new Plan(referenceDate, firstDay, lastDay, doctorBase, patientBase, appointmentBase, templates,
+                counts, offsets, assigned);
+    }
+
+    /**
+     * Wait until each extra shard holds every doctor and patient written by this run. Counting the
+     * id range rather than reading the maximum id: chunks commit, and replicate, out of order.
+     */
+    private void awaitReferenceRows(Plan plan) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + replicationWaitMillis;
+        for (int shard = 1; shard < shards.shardCount(); shard++) {
+            int target = shard;
+            while (true) {
+                long doctorRows = shards.readPrimary(target, () -> countNew("doctors", plan.doctorBase(), doctors));
+                long patientRows = shards.readPrimary(target, () -> countNew("patients", plan.patientBase(), patients));
+                if (doctorRows == doctors && patientRows == patients) {
+                    break;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new IllegalStateException("Shard " + target + " has " + doctorRows + "/" + doctors
+                            + " new doctors and " + patientRows + "/" + patients + " new patients after "
+                            + replicationWaitMillis / 1000 + " s; replicate doctors and patients to every shard");
+                }
+                logger.info("Waiting for shard {} to replicate reference rows ({}/{} doctors, {}/{} patients)",
+                        target, doctorRows, doctors, patientRows, patients);
+                Thread.sleep(REPLICATION_POLL_MILLIS);
+            }
+        }
+    }
+
+    private long countNew(String table, long base, int rows) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id > ? AND id <= ?",
+                Long.class, base, base + rows);
+        return count != null ? count : 0;
+    }
+
+    private long writeDoctors(Plan plan, int from, int to, String passwordHash) {
+        List<Object[]> doctorRows = new ArrayList<>(to - from);
+        List<Object[]> scheduleRows = new ArrayList<>((to - from) * 6);
+        for (int doctor = from; doctor < to; doctor++) {
+            SplittableRandom random = random(DOCTOR_STREAM, doctor);
+            long id = plan.doctorBase() + doctor + 1;
+            String lastName = LAST_NAMES[(int) (Math.floorMod(mix(DOCTOR_STREAM, doctor), (long) LAST_NAMES.length))];
+            int years = 1 + random.nextInt(35);
+            String specialization = pick(random, SPECIALIZATIONS);
+            LocalDateTime joined = plan.referenceDate().minusDays(historyDays + random.nextInt(1_500)).atTime(8, 0);
+            doctorRows.add(new Object[] { id, "dr_" + lastName.toLowerCase() + "_" + id,
+                    "dr." + lastName.toLowerCase() + "." + id + "@smartclinic.test", passwordHash, phone(random),
+                    specialization, specialization + " specialist with " + years + " years of experience", null,
+                    BigDecimal.valueOf(80 + 10 * random.nextInt(23)), years, joined, joined,
+                    random.nextInt(100) < 98 });
+
+            for (DayOfWeek day : plan.templates()[doctor].days) {
+                scheduleRows.add(new Object[] { id, dayName(day), plan.templates()[doctor].start,
+                        plan.templates()[doctor].end, true, joined, joined });
+            }
+        }
+
+        inTransaction(() -> {
+            insert("doctors", DOCTOR_COLUMNS, doctorRows);
+            insert("doctor_schedules", SCHEDULE_COLUMNS, scheduleRows);
+            return null;
+        });
+        progress(doctorRows.size() + scheduleRows.size());
+        return scheduleRows.size();
+    }
+
+    private void writePatients(Plan plan, int from, int to, String passwordHash) {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int patient = from; patient < to; patient++) {
+            SplittableRandom random = random(PATIENT_STREAM, patient);
+            long id = plan.patientBase() + patient + 1;
+            String[] name = patientName(patient).split(" ");
+            String username = (name[0] + "_" + name[1]).toLowerCase() + "_" + id;
+            int genderRoll = random.nextInt(100);
+            String allergies = null;
+            if (random.nextInt(100) < 25) {
+                allergies = pick(random, ALLERGIES);
+                if (random.nextBoolean()) {
+                    String second = pick(random, ALLERGIES);
+                    allergies = second.equals(allergies) ? allergies : allergies + ", " + second;
+                }
+            }
+            LocalDateTime registered = plan.referenceDate().minusDays(random.nextInt(historyDays + 365))
+                    .atTime(7 + random.nextInt(12), random.nextInt(60));
+            rows.add(new Object[] { id, username, username.replace('_', '.') + "@patients.test", passwordHash,
+                    phone(random), LocalDate.of(1940, 1, 1).plusDays(random.nextInt(365 * 80)),
+                    genderRoll < 49 ? "Male" : genderRoll < 98 ? "Female" : "Other",
+                    (1 + random.nextInt(9_999)) + " " + pick(random, STREETS) + ", " + pick(random, CITIES),
+                    allergies, registered, registered, random.nextInt(100) < 97 });
+        }
+
+        inTransaction(() -> insert("patients", PATIENT_COLUMNS, rows));
+        progress(rows.size());
+    }
+
+    // Returns the number of prescriptions written for the appointments of doctors [from, to)
+    private long writeAppointments(Plan plan, int from, int to) {
+        LocalDateTime now = plan.referenceDate().atTime(LocalTime.NOON);
+        List<List<Object[]>> rowsByShard = new ArrayList<>();
+        List<Document> prescriptions = new ArrayList<>();
+        long rows = 0;
+
+        for (int doctor = from; doctor < to; doctor++) {
+            long doctorId = plan.doctorBase() + doctor + 1;
+            int shard = shards.shardOf(doctorId);
+            while (rowsByShard.size() <= shard) {
+                rowsByShard.add(new ArrayList<>());
+            }
+            List<Object[]> target = rowsByShard.get(shard);
+
+            SplittableRandom random = random(APPOINTMENT_STREAM, doctor);
+            ScheduleTemplate template = plan.templates()[doctor];
+            long id = plan.appointmentBase() + plan.offsets()[doctor];
+            long needed = plan.appointmentCounts()[doctor];
+            long remaining = capacity(plan, template);
+
+            // Selection sampling: each slot is taken with probability needed/remaining, so exactly
+            // the planned number of distinct slots is chosen, in date order
+            for (LocalDate day = plan.firstDay(); needed > 0 && !day.isAfter(plan.lastDay()); day = day.plusDays(1)) {
+                if (!template.days.contains(day.getDayOfWeek())) {
+                    continue;
+                }
+                for (LocalTime time = template.start;
+                        needed > 0 && !time.plusMinutes(SlotHoldService.SLOT_MINUTES).isAfter(template.end);
+                        time = time.plusMinutes(SlotHoldService.SLOT_MINUTES)) {
+                    if (random.nextLong(remaining--) >= needed) {
+                        continue;
+                    }
+                    needed--;
+                    id++;
+                    long patientId = plan.patientBase() + 1 + patientIndex(random);
+                    target.add(appointmentRow(random, id, patientId, doctorId, day.atTime(time), now, prescriptions,
+                            doctor));
+                    rows++;
+                }
+            }
+        }
+
+        for (int shard = 0; shard < rowsByShard.size(); shard++) {
+            List<Object[]> shardRows = rowsByShard.get(shard);
+            if (!shardRows.isEmpty()) {
+                shards.write(shard, () -> inTransaction(() -> insert("appointments", APPOINTMENT_COLUMNS, shardRows)));
+            }
+        }
+
+        // After the commit, so a prescription never points at an appointment that is not there
+        for (int start = 0; start < prescriptions.size(); start += batchSize) {
+            mongoTemplate.getCollection("prescriptions").insertMany(
+                    prescriptions.subList(start, Math.min(start + batchSize, prescriptions.size())),
+                    new InsertManyOptions().ordered(false));
+        }
+        progress(rows + prescriptions.size());
+        return prescriptions.size();
+    }
+
+    private Object[] appointmentRow(SplittableRandom random, long id, long patientId, long doctorId,
+            LocalDateTime slot, LocalDateTime now, List<Document> prescriptions, int doctor) {
+        // Booked during opening hours, up to a month ahead, and never after the reference date
+        LocalDate bookedOn = slot.toLocalDate().minusDays(1 + random.nextInt(30));
+        if (bookedOn.isAfter(now.toLocalDate().minusDays(1))) {
+            bookedOn = now.toLocalDate().minusDays(1 + random.nextInt(7));
+        }
+        LocalDateTime created = bookedOn.atTime(7 + random.nextInt(14), random.nextInt(60));
+        String status;
+        int roll = random.nextInt(100);
+        if (slot.isBefore(now)) {
+            status = roll < 80 ? "completed" : roll < 92 ? "cancelled" : "no_show";
+        } else {
+            status = roll < 65 ? "scheduled" : roll < 93 ? "confirmed" : "cancelled";
+        }
+
+        String cancellationReason = null;
+        String consultationNotes = null;
+        LocalDateTime cancelledAt = null;
+        LocalDateTime completedAt = null;
+        LocalDateTime updated = created;
+        if ("cancelled".equals(status)) {
+            cancellationReason = pick(random, CANCELLATION_REASONS);
+            long window = Math.max(1, Duration.between(created, slot.isBefore(now) ? slot : now).toMinutes());
+            cancelledAt = created.plusMinutes(random.nextLong(window));
+            updated = cancelledAt;
+        } else if ("completed".equals(status)) {
+            consultationNotes = pick(random, CONSULTATION_NOTES);
+            completedAt = slot.plusMinutes(SlotHoldService.SLOT_MINUTES);
+            updated = completedAt;
+            if (random.nextDouble() < PRESCRIPTION_RATE) {
+                prescriptions.add(prescription(random, id, patientId, doctorId, doctor, completedAt, now));
+            }
+        } else if ("confirmed".equals(status) || "no_show".equals(status)) {
+            updated = created.plusHours(1 + random.nextInt(48));
+            if (updated.isAfter(now)) {
+                updated = now;
+            }
+        }
+
+        return new Object[] { id, patientId, doctorId, slot.toLocalDate(), slot.toLocalTime(),
+                SlotHoldService.SLOT_MINUTES, status, pick(random, REASONS), random.nextInt(100) < 30 ? pick(random, PATIENT_NOTES) : null,
+                cancellationReason, consultationNotes, created, updated, cancelledAt, completedAt };
+    }
+
+    private Document prescription(SplittableRandom random, long appointmentId, long patientId, long doctorId,
+            int doctor, LocalDateTime issued, LocalDateTime now) {
+        LocalDateTime expires = issued.plusDays(random.nextBoolean() ? 30 : 90);
+        List<Document> medications = new ArrayList<>();
+        int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            String[] medication = MEDICATIONS[random.nextInt(MEDICATIONS.length)];
+            medications.add(new Document("name", medication[0])
+                    .append("genericName", medication[1])
+                    .append("dosage", medication[2])
+                    .append("form", medication[3])
+                    .append("frequency", pick(random, FREQUENCIES))
+                    .append("duration", (7 * (1 + random.nextInt(4))) + " days")
+                    .append("quantity", 10 * (1 + random.nextInt(9)))
+                    .append("instructions", random.nextBoolean() ? "Take with food" : "Take with water"));
+        }
+        String lastName = LAST_NAMES[(int) (Math.floorMod(mix(DOCTOR_STREAM, doctor), (long) LAST_NAMES.length))];
+        return new Document("appointmentId", appointmentId)
+                .append("patientId", patientId)
+                .append("doctorId", doctorId)
+                .append("patientName", patientName(patientId - 1))
+                .append("doctorName", "Dr. " + lastName)
+                .append("prescriptionDate", toDate(issued))
+                .append("expiryDate", toDate(expires))
+                .append("status", random.nextInt(100) < 3 ? "cancelled" : expires.isBefore(now) ? "expired" : "active")
+                .append("medications", medications)
+                .append("diagnosis", pick(random, DIAGNOSES))
+                .append("doctorNotes", pick(random, CONSULTATION_NOTES))
+                .append("updatedAt", toDate(issued));
+    }
+
+    // Multi-row INSERT statements: one round trip per batch whatever the driver's batching flags
+    private Void insert(String table, String[] columns, List<Object[]> rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        String prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            List<Object[]> batch = rows.subList(start, Math.min(start + batchSize, rows.size()));
+            String sql = prefix + String.join(", ", Collections.nCopies(batch.size(), row));
+            jdbcTemplate.update(sql, statement -> {
+                int index = 1;
+                for (Object[] values : batch) {
+                    for (Object value : values) {
+                        statement.setObject(index++, value);
+                    }
+                }
+            });
+        }
+        return null;
+    }
+
+    // MySQL skips its per-row foreign key and unique lookups; ids and references are consistent by construction
+    private <T> T inTransaction(Supplier<T> work) {
+        return transaction.execute(status -> {
+            if (!disableConstraintChecks) {
+                return work.get();
+            }
+            jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0, UNIQUE_CHECKS = 0");
+            try {
+                return work.get();
+            } finally {
+                // The pooled connection outlives this chunk
+                jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1, UNIQUE_CHECKS = 1");
+            }
+        });
+    }
+
+    private static void runAll(ExecutorService workers, List<Runnable> tasks) throws InterruptedException {
+        List<Future<?>> futures = tasks.stream().<Future<?>>map(workers::submit).toList();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void progress(long rows) {
+        long total = rowsWritten.addAndGet(rows);
+        long now = System.currentTimeMillis();
+        long last = lastProgressLog.get();
+        if (now - last >= PROGRESS_INTERVAL_MILLIS && lastProgressLog.compareAndSet(last, now)) {
+            logger.info("Synthetic data: {} rows and documents written", total);
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private long capacity(Plan plan, ScheduleTemplate template) {
+        long slots = 0;
+        for (LocalDate day = plan.firstDay(); !day.isAfter(plan.lastDay()); day = day.plusDays(1)) {
+            if (template.days.contains(day.getDayOfWeek())) {
+                slots += template.slotsPerDay();
+            }
+        }
+        return slots;
+    }
+
+    // Skewed towards low indexes: some patients visit often, most rarely
+    private long patientIndex(SplittableRandom random) {
+        double u = random.nextDouble();
+        return Math.min(patients - 1, (long) (patients * u * u));
+    }
+
+    private String patientName(long patient) {
+        long hash = mix(PATIENT_STREAM, patient);
+        return FIRST_NAMES[(int) Math.floorMod(hash, (long) FIRST_NAMES.length)] + " "
+                + LAST_NAMES[(int) Math.floorMod(hash >>> 32, (long) LAST_NAMES.length)];
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(mix(stream, index));
+    }
+
+    private long mix(long stream, long index) {
+        return seed ^ (stream << 56) ^ (index * 0x9E3779B97F4A7C15L);
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "555-" + (1000 + random.nextInt(9000));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String dayName(DayOfWeek day) {
+        String name = day.name();
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Counts written by one run
+     */
+    public record Summary(long doctors, long schedules, long patients, long appointments, long prescriptions,
+            long elapsedMillis) {
+    }
+
+    private record Plan(LocalDate referenceDate, LocalDate firstDay, LocalDate lastDay, long doctorBase,
+            long patientBase, long appointmentBase, ScheduleTemplate[] templates, long[] appointmentCounts,
+            long[] offsets, long appointmentTotal) {
+    }
+
+    // Common weekly patterns, weighted roughly as clinics staff them
+    private enum ScheduleTemplate {
+        FULL_TIME(40, "09:00", "17:00", DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY,
+                DayOfWeek.FRIDAY),
+        EARLY(20, "07:30", "15:30", DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY,
+                DayOfWeek.FRIDAY),
+        WEEKEND(15, "09:00", "17:00", DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY,
+                DayOfWeek.SATURDAY),
+        PART_TIME(15, "09:00", "13:00", DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY),
+        EVENINGS(10, "13:00", "19:00", DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY);
+
+        private final int weight;
+        private final LocalTime start;
+        private final LocalTime end;
+        private final List<DayOfWeek> days;
+
+        ScheduleTemplate(int weight, String start, String end, DayOfWeek... days) {
+            this.weight = weight;
+            this.start = LocalTime.parse(start);
+            this.end = LocalTime.parse(end);
+            this.days = List.of(days);
+        }
+
+        int slotsPerDay() {
+            return (int) (Duration.between(start, end).toMinutes() / SlotHoldService.SLOT_MINUTES);
+        }
+
+        static ScheduleTemplate pick(SplittableRandom random) {
+            int roll = random.nextInt(100);
+            for (ScheduleTemplate template : values()) {
+                roll -= template.weight;
+                if (roll < 0) {
+                    return template;
+                }
+            }
+            return FULL_TIME;
+        }
+    }
+}
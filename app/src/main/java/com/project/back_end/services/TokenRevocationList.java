@@ -0,0 +1,204 @@
+package com.project.back_end.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.models.RevokedToken;
+import com.project.back_end.repo.RevokedTokenRepository;
+
+/**
+ * In-memory list of access tokens revoked before expiry, checked on every request.
+ *
+ * A bloom filter answers the common "not revoked" case with a few bit reads; only its rare
+ * positives fall through to the exact set. The revoked_tokens table is the source of truth and
+ * is tailed by id on a short interval, so a logout on one node reaches the others within
+ * jwt.revocation.sync-interval-ms. Entries drop out once the token would have expired anyway.
+ *
+ * The tail tracks gaps the way {@link CacheInvalidationBus} does: an id skipped because its
+ * transaction had not committed yet is re-checked on each sync until it shows up or is older
+ * than jwt.revocation.gap-timeout-ms.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final int HASH_FUNCTIONS = 4;
+    // A jump wider than this is an auto-increment skip, not in-flight transactions
+    private static final int MAX_GAP = 500;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int bloomBits;
+    private final long gapTimeoutMillis;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    // Held while adding to the bloom filter and while swapping in a rebuilt one, so no addition is lost
+    private final Object bloomLock = new Object();
+    private volatile BloomFilter bloomFilter;
+
+    // Sync state, only touched by the scheduler thread
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private volatile long lastSyncedId = 0L;
+    private final LongAdder abandonedGaps = new LongAdder();
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.bloom-bits:1048576}") int bloomBits,
+            @Value("${jwt.revocation.gap-timeout-ms:30000}") long gapTimeoutMillis) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.bloomBits = bloomBits;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.bloomFilter = new BloomFilter(bloomBits);
+    }
+
+    /**
+     * Whether the token with this id has been revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Revoke a token until its expiry, locally at once and on other nodes at their next sync
+     */
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (!expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        remember(jti, expiresAt);
+        try {
+            revokedTokenRepository.save(new RevokedToken(null, jti, expiresAt, null));
+        } catch (DataIntegrityViolationException e) {
+            // Already revoked (double logout)
+        }
+    }
+
+    /**
+     * Pull revocations written by any node since the last sync
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        if (!gaps.isEmpty()) {
+            for (RevokedToken late : revokedTokenRepository.findByIdIn(gaps.keySet())) {
+                gaps.remove(late.getId());
+                rememberRow(late);
+            }
+            int before = gaps.size();
+            gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMillis);
+            abandonedGaps.add(before - gaps.size());
+        }
+
+        // Expired rows are read too, so they don't look like gaps; remember() skips them
+        for (RevokedToken row : revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(lastSyncedId)) {
+            // The first sync starts from nothing, so there is nothing in flight to wait for below it
+            if (lastSyncedId > 0 && row.getId() - lastSyncedId - 1 <= MAX_GAP) {
+                for (long missing = lastSyncedId + 1; missing < row.getId(); missing++) {
+                    gaps.put(missing, now);
+                }
+            }
+            rememberRow(row);
+            lastSyncedId = row.getId();
+        }
+    }
+
+    /**
+     * Ids skipped by the tail and still awaited
+     */
+    int pendingGaps() {
+        return gaps.size();
+    }
+
+    /**
+     * Gaps given up on after gap-timeout-ms: rolled-back inserts, or revocations this node missed
+     */
+    long abandonedGaps() {
+        return abandonedGaps.sum();
+    }
+
+    /**
+     * Drop expired entries and rebuild the bloom filter so its false-positive rate stays flat
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+
+        synchronized (bloomLock) {
+            BloomFilter rebuilt = new BloomFilter(bloomBits);
+            revoked.keySet().forEach(rebuilt::add);
+            bloomFilter = rebuilt;
+        }
+
+        revokedTokenRepository.deleteAllExpired(now);
+    }
+
+    private void rememberRow(RevokedToken row) {
+        if (row.getExpiresAt().isAfter(LocalDateTime.now())) {
+            remember(row.getJti(), row.getExpiresAt());
+        }
+    }
+
+    private void remember(String jti, LocalDateTime expiresAt) {
+        // Exact set first so a concurrent bloom hit never misses the entry
+        revoked.put(jti, expiresAt);
+        synchronized (bloomLock) {
+            bloomFilter.add(jti);
+        }
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final int bits;
+
+        private BloomFilter(int bits) {
+            this.bits = Math.max(64, bits);
+            this.words = new AtomicLongArray((this.bits + 63) / 64);
+        }
+
+        private void add(String key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+            }
+        }
+
+        private boolean mightContain(String key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a, split into two 32-bit hashes for double hashing
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
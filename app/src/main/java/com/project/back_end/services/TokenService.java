@@ -1,73 +1,66 @@
 package com.project.back_end.services;
 
-import com.project.back_end.repo.AdminRepository;
-import com.project.back_end.repo.DoctorRepository;
-import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.jfr.TokenEvent;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class TokenService {
 
-    private final AdminRepository adminRepository;
-    private final DoctorRepository doctorRepository;
-    private final PatientRepository patientRepository;
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final SecretKey signingKey;
+    private final long accessTokenTtlMillis;
 
-    /**
-     * Get the signing key for JWT tokens
-     */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    public TokenService(@Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.access-token-ttl-minutes:15}") long accessTokenTtlMinutes) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.accessTokenTtlMillis = TimeUnit.MINUTES.toMillis(accessTokenTtlMinutes);
     }
 
     /**
-     * Generate JWT token for a user
+     * Generate a short-lived access token carrying the user's role and id,
+     * so requests can be authorized without a database lookup
      */
-    public String generateToken(String email) {
-        return Jwts.builder()
-                .subject(email)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + 7 * 24 * 60 * 60 * 1000)) // 7 days
-                .signWith(getSigningKey())
-                .compact();
+    public String generateToken(String email, String role, Long userId) {
+        return new TokenEvent("generate").record(() -> {
+            long now = System.currentTimeMillis();
+            return Jwts.builder()
+                    .id(UUID.randomUUID().toString())
+                    .subject(email)
+                    .claim(ROLE_CLAIM, role)
+                    .claim(USER_ID_CLAIM, userId)
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + accessTokenTtlMillis))
+                    .signWith(signingKey)
+                    .compact();
+        }, token -> "signed");
     }
 
     /**
-     * Extract email from JWT token
+     * Verify signature and expiry and return the token's claims
      */
-    public String extractEmail(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
+    public Claims parseClaims(String token) {
+        return new TokenEvent("parse").record(() -> Jwts.parser()
+                .verifyWith(signingKey)
                 .build()
                 .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+                .getPayload(), claims -> "valid");
     }
 
     /**
-     * Validate token for a specific role
+     * Extract email from JWT token
      */
-    public boolean validateToken(String token, String role) {
-        try {
-            String email = extractEmail(token);
-            return switch (role.toLowerCase()) {
-                case "admin" -> adminRepository.findByEmail(email) != null;
-                case "doctor" -> doctorRepository.findByEmail(email) != null;
-                case "patient" -> patientRepository.findByEmail(email) != null;
-                default -> false;
-            };
-        } catch (Exception e) {
-            return false;
-        }
+    public String extractEmail(String token) {
+        return parseClaims(token).getSubject();
     }
 }
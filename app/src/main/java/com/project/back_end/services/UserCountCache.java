@@ -0,0 +1,93 @@
+package com.project.back_end.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cached per-type user counters for the admin user directory.
+ * Counting 200k patients on every page request is a full index scan, so totals are
+ * kept for a short TTL and dropped whenever a service creates or (de)activates a user,
+ * on this node at once and on the others through the invalidation bus.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCountCache {
+
+    private static final long TTL_MILLIS = 60_000;
+    private static final String REGION = "user-count";
+
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final AdminRepository adminRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribeToPeers() {
+        cacheInvalidationBus.subscribe(REGION, this::evictLocal);
+    }
+
+    /**
+     * Get the number of users of a type, optionally restricted to active/inactive accounts
+     */
+    public long count(String userType, Boolean isActive) {
+        String key = userType + ":" + isActive;
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(key);
+        if (cached != null && now - cached.loadedAt() < TTL_MILLIS) {
+            return cached.value();
+        }
+
+        long value = load(userType, isActive);
+        counts.put(key, new CachedCount(value, now));
+        return value;
+    }
+
+    /**
+     * Drop cached counters for a user type after a create/activate/deactivate. Inside a
+     * transaction the local counters are dropped again after commit: a read between the first
+     * eviction and the commit would otherwise cache the old count for the whole TTL.
+     */
+    public void invalidate(String userType) {
+        evictLocal(userType);
+        cacheInvalidationBus.publish(REGION, userType.toLowerCase());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(userType);
+                }
+            });
+        }
+    }
+
+    private void evictLocal(String userType) {
+        String prefix = userType.toLowerCase() + ":";
+        counts.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private long load(String userType, Boolean isActive) {
+        return switch (userType) {
+            case "patient" -> isActive != null ? patientRepository.countByIsActive(isActive) : patientRepository.countAllWithTimeout();
+            case "doctor" -> isActive != null ? doctorRepository.countByIsActive(isActive) : doctorRepository.countAllWithTimeout();
+            case "admin" -> isActive != null ? adminRepository.countByIsActive(isActive) : adminRepository.countAllWithTimeout();
+            default -> throw new IllegalArgumentException("Invalid user type: " + userType);
+        };
+    }
+
+    private record CachedCount(long value, long loadedAt) {
+    }
+}
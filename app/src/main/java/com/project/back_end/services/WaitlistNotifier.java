@@ -0,0 +1,13 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.SlotHold;
+import com.project.back_end.models.WaitlistEntry;
+
+/**
+ * Hook for telling a waitlisted patient that a freed slot is being held for them.
+ * Replace the default bean to deliver offers by email, SMS or push.
+ */
+public interface WaitlistNotifier {
+
+    void notifyOffer(WaitlistEntry entry, SlotHold hold);
+}
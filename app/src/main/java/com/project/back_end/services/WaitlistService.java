@@ -0,0 +1,289 @@
+package com.project.back_end.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.AppointmentEvent;
+import com.project.back_end.DTO.HoldExpiredEvent;
+import com.project.back_end.DTO.ListResponse;
+import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.models.SlotHold;
+import com.project.back_end.models.WaitlistEntry;
+import com.project.back_end.repo.WaitlistEntryRepository;
+
+/**
+ * Cancellation waitlist.
+ *
+ * Waiting entries are indexed in memory per doctor and per date as priority queues ordered
+ * by sign-up time, so a cancellation finds the next patient for that exact date with a
+ * single O(log n) poll. An entry is queued under every date of its window and leaves all of
+ * those queues at once when it is offered or cancelled on this node; anything changed on
+ * another node is skipped when it reaches the head. The database stays the source of
+ * truth - offers are claimed with a conditional update so two nodes can never offer the
+ * same entry, and each doctor's index is rebuilt from the table after INDEX_TTL_MILLIS to
+ * pick up entries created on other nodes.
+ *
+ * An offer whose hold lapses unbooked puts the entry back in line and offers the slot to
+ * the next patient.
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistService.class);
+
+    private static final int MAX_WINDOW_DAYS = 31;
+    private static final long INDEX_TTL_MILLIS = 5 * 60 * 1000L;
+
+    private static final Comparator<QueuedEntry> FIRST_COME_FIRST_SERVED =
+            Comparator.comparing(QueuedEntry::createdAt).thenComparing(QueuedEntry::id);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final SlotHoldService slotHoldService;
+    private final WaitlistNotifier waitlistNotifier;
+    private final TransactionTemplate requiresNew;
+
+    private final Map<Long, DoctorWaitlist> indexes = new ConcurrentHashMap<>();
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository,
+            SlotHoldService slotHoldService,
+            WaitlistNotifier waitlistNotifier,
+            PlatformTransactionManager transactionManager) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.slotHoldService = slotHoldService;
+        this.waitlistNotifier = waitlistNotifier;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Join the waitlist for a doctor within a date window
+     */
+    public ApiResponse<WaitlistEntry> joinWaitlist(Long doctorId, Long patientId, String dateFrom, String dateTo) {
+        LocalDate from = LocalDate.parse(dateFrom);
+        LocalDate to = LocalDate.parse(dateTo);
+
+        if (from.isBefore(LocalDate.now()) || to.isBefore(from)) {
+            return ApiResponse.error("Invalid date window");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_WINDOW_DAYS) {
+            return ApiResponse.error("Date window cannot exceed " + MAX_WINDOW_DAYS + " days");
+        }
+        if (waitlistEntryRepository.existsByDoctorIdAndPatientIdAndStatus(
+                doctorId, patientId, WaitlistEntry.Status.waiting)) {
+            return ApiResponse.error("Already on the waitlist for this doctor");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setDoctorId(doctorId);
+        entry.setPatientId(patientId);
+        entry.setDateFrom(from);
+        entry.setDateTo(to);
+        entry.setStatus(WaitlistEntry.Status.waiting);
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+
+        DoctorWaitlist index = indexes.get(doctorId);
+        if (index != null) {
+            index.add(saved);
+        }
+        return ApiResponse.success("Added to waitlist successfully", saved);
+    }
+
+    /**
+     * Leave the waitlist
+     */
+    public MessageResponse leaveWaitlist(Long entryId, Long patientId) {
+        if (waitlistEntryRepository.cancel(entryId, patientId) == 0) {
+            return MessageResponse.error("Waitlist entry not found");
+        }
+        indexes.values().forEach(index -> index.remove(entryId));
+        return MessageResponse.success("Removed from waitlist successfully");
+    }
+
+    /**
+     * Get a patient's waitlist entries, including any offers they have received
+     */
+    public ListResponse<WaitlistEntry> getPatientWaitlist(Long patientId) {
+        return ListResponse.of(waitlistEntryRepository.findByPatientIdOrderByCreatedAtDesc(patientId));
+    }
+
+    /**
+     * Offer a slot freed by a cancellation to the next waiting patient.
+     * Runs asynchronously after the cancelling transaction commits, so the cancel response
+     * doesn't wait on it and every write uses its own transaction.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentEvent(AppointmentEvent event) {
+        if (event.getType() != AppointmentEvent.Type.cancelled
+                || event.getAppointmentDate().isBefore(LocalDate.now())) {
+            return;
+        }
+        try {
+            offerFreedSlot(event.getDoctorId(), event.getAppointmentDate(), event.getAppointmentTime());
+        } catch (Exception e) {
+            logger.warn("Failed to offer freed slot for doctor {}: {}", event.getDoctorId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Re-offer a slot whose waitlist offer lapsed: the next patient gets the slot and the
+     * patient who let it lapse goes back to waiting for other slots. Ignores holds that were
+     * not waitlist offers.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldExpired(HoldExpiredEvent event) {
+        try {
+            WaitlistEntry lapsed = waitlistEntryRepository
+                    .findByDoctorIdAndPatientIdAndStatusAndOfferedDateAndOfferedTime(event.getDoctorId(),
+                            event.getPatientId(), WaitlistEntry.Status.offered, event.getAppointmentDate(),
+                            event.getAppointmentTime())
+                    .orElse(null);
+            if (lapsed == null) {
+                return;
+            }
+            // Offer first: the lapsed entry is still 'offered', so it cannot win its own slot back
+            if (!event.getAppointmentDate().isBefore(LocalDate.now())) {
+                offerFreedSlot(event.getDoctorId(), event.getAppointmentDate(), event.getAppointmentTime());
+            }
+            Integer requeued = requiresNew.execute(status -> waitlistEntryRepository.revertOffer(lapsed.getId()));
+            if (requeued != null && requeued > 0 && !lapsed.getDateTo().isBefore(LocalDate.now())) {
+                DoctorWaitlist index = indexes.get(event.getDoctorId());
+                if (index != null) {
+                    index.add(lapsed);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to re-offer lapsed slot for doctor {}: {}", event.getDoctorId(), e.getMessage());
+        }
+    }
+
+    private void offerFreedSlot(Long doctorId, LocalDate date, LocalTime time) {
+        DoctorWaitlist index = indexFor(doctorId);
+
+        QueuedEntry next;
+        while ((next = index.poll(date)) != null) {
+            Long entryId = next.id();
+            Integer claimed = requiresNew.execute(status ->
+                    waitlistEntryRepository.claimForOffer(entryId, date, time, LocalDateTime.now()));
+            if (claimed == null || claimed == 0) {
+                continue; // cancelled, or already offered elsewhere
+            }
+
+            ApiResponse<SlotHold> hold = holdFor(next, doctorId, date, time);
+            if (hold == null || !hold.isSuccess()) {
+                // Someone booked or held the slot first; keep the patient's place in line
+                requiresNew.executeWithoutResult(status -> waitlistEntryRepository.revertOffer(entryId));
+                index.add(next);
+                return;
+            }
+
+            waitlistEntryRepository.findById(entryId)
+                    .ifPresent(entry -> waitlistNotifier.notifyOffer(entry, hold.getData()));
+            return;
+        }
+    }
+
+    private ApiResponse<SlotHold> holdFor(QueuedEntry entry, Long doctorId, LocalDate date, LocalTime time) {
+        try {
+            return requiresNew.execute(status ->
+                    slotHoldService.holdSlot(doctorId, entry.patientId(), date.toString(), time.toString()));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private DoctorWaitlist indexFor(Long doctorId) {
+        long now = System.currentTimeMillis();
+        DoctorWaitlist existing = indexes.get(doctorId);
+        if (existing != null && now - existing.loadedAt < INDEX_TTL_MILLIS) {
+            return existing;
+        }
+
+        // Load outside the map's bin lock so a slow query never blocks (or pins) other callers
+        DoctorWaitlist loaded = new DoctorWaitlist(now);
+        waitlistEntryRepository.findByDoctorIdAndStatusAndDateToGreaterThanEqual(
+                doctorId, WaitlistEntry.Status.waiting, LocalDate.now()).forEach(loaded::add);
+        indexes.put(doctorId, loaded);
+        return loaded;
+    }
+
+    private record QueuedEntry(Long id, Long patientId, LocalDate dateFrom, LocalDate dateTo,
+            LocalDateTime createdAt) {
+
+        static QueuedEntry of(WaitlistEntry entry) {
+            LocalDateTime createdAt = entry.getCreatedAt() != null ? entry.getCreatedAt() : LocalDateTime.now();
+            return new QueuedEntry(entry.getId(), entry.getPatientId(), entry.getDateFrom(), entry.getDateTo(),
+                    createdAt);
+        }
+    }
+
+    /**
+     * Per-doctor index: one priority queue per date covered by at least one waiting entry
+     */
+    private static final class DoctorWaitlist {
+        private final long loadedAt;
+        private final Map<LocalDate, PriorityQueue<QueuedEntry>> byDate = new HashMap<>();
+        private final Map<Long, QueuedEntry> byId = new HashMap<>();
+
+        private DoctorWaitlist(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private void add(WaitlistEntry entry) {
+            add(QueuedEntry.of(entry));
+        }
+
+        private synchronized void add(QueuedEntry entry) {
+            if (byId.putIfAbsent(entry.id(), entry) != null) {
+                return;
+            }
+            for (LocalDate d = entry.dateFrom(); !d.isAfter(entry.dateTo()); d = d.plusDays(1)) {
+                byDate.computeIfAbsent(d, k -> new PriorityQueue<>(FIRST_COME_FIRST_SERVED)).add(entry);
+            }
+        }
+
+        private synchronized QueuedEntry poll(LocalDate date) {
+            PriorityQueue<QueuedEntry> queue = byDate.get(date);
+            if (queue == null) {
+                return null;
+            }
+            QueuedEntry head = queue.peek();
+            remove(head.id());
+            return head;
+        }
+
+        /**
+         * Drop an entry from the queue of every date in its window
+         */
+        private synchronized void remove(Long entryId) {
+            QueuedEntry entry = byId.remove(entryId);
+            if (entry == null) {
+                return;
+            }
+            for (LocalDate d = entry.dateFrom(); !d.isAfter(entry.dateTo()); d = d.plusDays(1)) {
+                PriorityQueue<QueuedEntry> queue = byDate.get(d);
+                if (queue != null && queue.remove(entry) && queue.isEmpty()) {
+                    byDate.remove(d);
+                }
+            }
+        }
+    }
+}
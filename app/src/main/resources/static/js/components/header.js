@@ -67,17 +67,37 @@ function renderHeader() {
 
 // Logout functions
 function logout() {
+  revokeTokens();
   localStorage.removeItem('userRole');
   localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
   window.location.href = '/';
 }
 
 function logoutPatient() {
+  revokeTokens();
   localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
   localStorage.setItem('userRole', 'patient');
   window.location.href = '/pages/patientDashboard.html';
 }
 
+// Revoke the access token and refresh token family server-side (fire and forget)
+function revokeTokens() {
+  const token = localStorage.getItem('token');
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!token && !refreshToken) return;
+  fetch('/auth/logout', {
+    method: 'POST',
+    keepalive: true,
+    headers: {
+      'Content-Type': 'application/json',
+      ...(token ? { 'Authorization': `Bearer ${token}` } : {})
+    },
+    body: JSON.stringify({ refreshToken })
+  }).catch(() => {});
+}
+
 // Render header when DOM is loaded
 if (document.readyState === 'loading') {
   document.addEventListener('DOMContentLoaded', renderHeader);
@@ -51,4 +51,11 @@
   When the page is fully loaded (DOMContentLoaded):
     - Call renderContent() (assumes it sets up the UI layout)
     - Call loadAppointments() to display today's appointments by default
+
+
+  Live updates (Server-Sent Events):
+    - Open an EventSource on `/doctor/api/{doctorId}/events` (session cookie authenticates it)
+    - Listen for "booked", "cancelled", "rescheduled", "completed" and "updated" events
+    - Each event carries one appointment; patch that row in place instead of re-fetching the list
+    - If the stream closes, EventSource reconnects on its own; call loadAppointments() once on reconnect
 */
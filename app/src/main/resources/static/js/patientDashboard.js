@@ -122,6 +122,7 @@ window.loginPatient = async function () {
       console.log(result);
       selectRole('loggedPatient');
       localStorage.setItem('token', result.token)
+      localStorage.setItem('refreshToken', result.refreshToken)
       window.location.href = '/pages/loggedPatientDashboard.html';
     } else {
       alert('❌ Invalid credentials!');
@@ -1,11 +1,12 @@
 // appointmentRecordService.js
 import { API_BASE_URL } from "../config/config.js";
+import { authFetch } from "./authFetch.js";
 const APPOINTMENT_API = `${API_BASE_URL}/appointments`;
 
 
 //This is for the doctor to get all the patient Appointments
 export async function getAllAppointments(date, patientName, token) {
-  const response = await fetch(`${APPOINTMENT_API}/${date}/${patientName}/${token}`);
+  const response = await authFetch(t => `${APPOINTMENT_API}/${date}/${patientName}/${t}`);
   if (!response.ok) {
     throw new Error("Failed to fetch appointments");
   }
@@ -15,7 +16,7 @@ export async function getAllAppointments(date, patientName, token) {
 
 export async function bookAppointment(appointment, token) {
   try {
-    const response = await fetch(`${APPOINTMENT_API}/${token}`, {
+    const response = await authFetch(t => `${APPOINTMENT_API}/${t}`, {
       method: "POST",
       headers: {
         "Content-Type": "application/json"
@@ -39,7 +40,7 @@ export async function bookAppointment(appointment, token) {
 
 export async function updateAppointment(appointment, token) {
   try {
-    const response = await fetch(`${APPOINTMENT_API}/${token}`, {
+    const response = await authFetch(t => `${APPOINTMENT_API}/${t}`, {
       method: "PUT",
       headers: {
         "Content-Type": "application/json"
@@ -60,3 +61,35 @@ export async function updateAppointment(appointment, token) {
     };
   }
 }
+
+// Reserve a slot for a few minutes while the patient fills out the booking form
+export async function holdSlot(doctorId, appointmentDate, appointmentTime, token) {
+  try {
+    const params = new URLSearchParams({ doctorId, appointmentDate, appointmentTime });
+    const response = await authFetch(`${APPOINTMENT_API}/holds?${params}`, { method: "POST" });
+
+    const data = await response.json();
+    return {
+      success: response.ok,
+      message: data.message || "Something went wrong",
+      hold: data.data || null
+    };
+  } catch (error) {
+    console.error("Error while holding slot:", error);
+    return {
+      success: false,
+      message: "Network error. Please try again later."
+    };
+  }
+}
+
+// Give a held slot back if the patient abandons the booking form
+export async function releaseHold(holdId, token) {
+  try {
+    const response = await authFetch(`${APPOINTMENT_API}/holds/${holdId}`, { method: "DELETE" });
+    return response.ok;
+  } catch (error) {
+    console.error("Error while releasing hold:", error);
+    return false;
+  }
+}
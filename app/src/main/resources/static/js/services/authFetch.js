@@ -0,0 +1,64 @@
+// authFetch.js - fetch for authenticated API calls
+import { API_BASE_URL } from "../config/config.js";
+
+/*
+  Access tokens live for 15 minutes. authFetch sends the stored access token and, when the
+  server answers 401, exchanges the stored refresh token at /auth/refresh for a new pair,
+  stores both and retries the request once. Concurrent 401s share a single refresh, because
+  a refresh token may only be used once (reuse revokes the whole family).
+
+  `url` is either a string or a function of the access token, for the endpoints that take
+  the token in the path:
+    authFetch(token => `${APPOINTMENT_API}/${token}`, { method: "POST", ... })
+
+  If the refresh fails the stored tokens are cleared and the original 401 is returned.
+*/
+
+let refreshing = null;
+
+export async function authFetch(url, options = {}) {
+  const response = await send(url, options, localStorage.getItem("token"));
+  if (response.status !== 401 || !localStorage.getItem("refreshToken")) {
+    return response;
+  }
+
+  const token = await refreshTokens();
+  return token ? send(url, options, token) : response;
+}
+
+function send(url, options, token) {
+  const target = typeof url === "function" ? url(token) : url;
+  const headers = { ...(options.headers || {}) };
+  if (token) {
+    headers["Authorization"] = `Bearer ${token}`;
+  }
+  return fetch(target, { ...options, headers });
+}
+
+function refreshTokens() {
+  if (!refreshing) {
+    refreshing = rotate().finally(() => { refreshing = null; });
+  }
+  return refreshing;
+}
+
+async function rotate() {
+  try {
+    const response = await fetch(`${API_BASE_URL}/auth/refresh`, {
+      method: "POST",
+      headers: { "Content-Type": "application/json" },
+      body: JSON.stringify({ refreshToken: localStorage.getItem("refreshToken") })
+    });
+    if (response.ok) {
+      const data = await response.json();
+      localStorage.setItem("token", data.token);
+      localStorage.setItem("refreshToken", data.refreshToken);
+      return data.token;
+    }
+  } catch (error) {
+    console.error("Error while refreshing the session:", error);
+  }
+  localStorage.removeItem("token");
+  localStorage.removeItem("refreshToken");
+  return null;
+}
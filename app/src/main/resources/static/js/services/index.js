@@ -65,6 +65,7 @@ async function adminLoginHandler() {
 
     if (data.success && data.token) {
       localStorage.setItem('token', data.token);
+      localStorage.setItem('refreshToken', data.refreshToken);
       localStorage.setItem('userRole', 'admin');
       window.location.href = '/admin/dashboard';
     } else {
@@ -92,6 +93,7 @@ async function doctorLoginHandler() {
 
     if (data.success && data.token) {
       localStorage.setItem('token', data.token);
+      localStorage.setItem('refreshToken', data.refreshToken);
       localStorage.setItem('userRole', 'doctor');
       window.location.href = '/doctor/dashboard';
     } else {
@@ -119,6 +121,7 @@ async function patientLoginHandler() {
 
     if (data.success && data.token) {
       localStorage.setItem('token', data.token);
+      localStorage.setItem('refreshToken', data.refreshToken);
       localStorage.setItem('userRole', 'loggedPatient');
       window.location.href = '/pages/loggedPatientDashboard.html';
     } else {
@@ -1,5 +1,6 @@
 // patientServices
 import { API_BASE_URL } from "../config/config.js";
+import { authFetch } from "./authFetch.js";
 const PATIENT_API = API_BASE_URL + '/patient'
 
 
@@ -44,7 +45,7 @@ export async function patientLogin(data) {
 // For getting patient data (name ,id , etc ). Used in booking appointments
 export async function getPatientData(token) {
   try {
-    const response = await fetch(`${PATIENT_API}/${token}`);
+    const response = await authFetch(t => `${PATIENT_API}/${t}`);
     const data = await response.json();
     if (response.ok) return data.patient;
     return null;
@@ -57,7 +58,7 @@ export async function getPatientData(token) {
 // the Backend API for fetching the patient record(visible in Doctor Dashboard) and Appointments (visible in Patient Dashboard) are same based on user(patient/doctor).
 export async function getPatientAppointments(id, token, user) {
   try {
-    const response = await fetch(`${PATIENT_API}/${id}/${user}/${token}`);
+    const response = await authFetch(t => `${PATIENT_API}/${id}/${user}/${t}`);
     const data = await response.json();
     console.log(data.appointments)
     if (response.ok) {
@@ -73,7 +74,7 @@ export async function getPatientAppointments(id, token, user) {
 
 export async function filterAppointments(condition, name, token) {
   try {
-    const response = await fetch(`${PATIENT_API}/filter/${condition}/${name}/${token}`, {
+    const response = await authFetch(t => `${PATIENT_API}/filter/${condition}/${name}/${t}`, {
       method: "GET",
       headers: {
         "Content-Type": "application/json",
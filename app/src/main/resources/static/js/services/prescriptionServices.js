@@ -1,10 +1,11 @@
 // prescriptionServices.js
 import { API_BASE_URL } from '../config/config.js'
+import { authFetch } from './authFetch.js'
 
 const PRESCRITION_API = API_BASE_URL + "/prescription"
 export async function savePrescription(prescription, token) {
   try {
-    const response = await fetch(`${PRESCRITION_API}/${token}`, {
+    const response = await authFetch(t => `${PRESCRITION_API}/${t}`, {
       method: "POST",
       headers: {
         "Content-type": "application/json"
@@ -22,7 +23,7 @@ export async function savePrescription(prescription, token) {
 
 export async function getPrescription(appointmentId, token) {
   try {
-    const response = await fetch(`${PRESCRITION_API}/${appointmentId}/${token}`, {
+    const response = await authFetch(t => `${PRESCRITION_API}/${appointmentId}/${t}`, {
       method: "GET",
       headers: {
         "Content-Type": "application/json"
@@ -0,0 +1,70 @@
+package com.project.back_end.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+
+class ReadYourWritesPinningTest {
+
+    private static final long PIN_MILLIS = 5000;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void pinSetOnOneNodeIsHonouredByAnother() {
+        ReadYourWritesPinning nodeA = new ReadYourWritesPinning(PIN_MILLIS);
+        ReadYourWritesPinning nodeB = new ReadYourWritesPinning(PIN_MILLIS);
+
+        MockHttpServletResponse writeResponse = request();
+        nodeA.pinCurrentCaller();
+        Cookie pin = writeResponse.getCookie(ReadYourWritesPinning.COOKIE);
+        assertThat(pin).isNotNull();
+        assertThat(pin.isHttpOnly()).isTrue();
+        assertThat(pin.getMaxAge()).isEqualTo(5);
+
+        request(pin);
+        assertThat(nodeB.isCurrentCallerPinned()).isTrue();
+    }
+
+    @Test
+    void requestWithoutThePinReadsFromReplicas() {
+        request();
+
+        assertThat(new ReadYourWritesPinning(PIN_MILLIS).isCurrentCallerPinned()).isFalse();
+    }
+
+    @Test
+    void expiredOrOverlongPinsAreIgnored() {
+        ReadYourWritesPinning pinning = new ReadYourWritesPinning(PIN_MILLIS);
+        long now = System.currentTimeMillis();
+
+        request(new Cookie(ReadYourWritesPinning.COOKIE, Long.toString(now - 1)));
+        assertThat(pinning.isCurrentCallerPinned()).isFalse();
+
+        request(new Cookie(ReadYourWritesPinning.COOKIE, Long.toString(now + 60_000)));
+        assertThat(pinning.isCurrentCallerPinned()).isFalse();
+
+        request(new Cookie(ReadYourWritesPinning.COOKIE, "soon"));
+        assertThat(pinning.isCurrentCallerPinned()).isFalse();
+    }
+
+    private static MockHttpServletResponse request(Cookie... cookies) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (cookies.length > 0) {
+            request.setCookies(cookies);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.back_end.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AppointmentShardsTest {
+
+    private AppointmentShards shards;
+
+    @AfterEach
+    void tearDown() {
+        shards.shutdown();
+    }
+
+    @Test
+    void saturatedReadPoolRunsShardReadsOnTheCaller() throws Exception {
+        shards = shards(1, 2000);
+        CountDownLatch allReading = new CountDownLatch(4);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> shards.readAll(shard -> {
+                    allReading.countDown();
+                    await(allReading);
+                    return shard;
+                })));
+            }
+            for (Future<List<Integer>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly(0, 1, 2);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shardThatDoesNotAnswerTimesOut() {
+        shards = shards(4, 100);
+        CountDownLatch never = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> shards.readAll(shard -> shard == 2 ? await(never) : shard))
+                .isInstanceOf(QueryTimeoutException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+    }
+
+    @Test
+    void failingShardFailsTheRead() {
+        shards = shards(4, 1000);
+
+        assertThatThrownBy(() -> shards.readAll(shard -> {
+            if (shard == 1) {
+                throw new IllegalArgumentException("shard 1 down");
+            }
+            return shard;
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("shard 1 down");
+    }
+
+    private static AppointmentShards shards(int readThreads, long readTimeoutMillis) {
+        return new AppointmentShards(new JumpHashShardRouter(), mock(AppointmentShardMoveRepository.class),
+                mock(PlatformTransactionManager.class), List.of("jdbc:shard1", "jdbc:shard2"), 0, readThreads,
+                readTimeoutMillis);
+    }
+
+    private static int await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.back_end.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JumpHashShardRouterTest {
+
+    private static final int DOCTORS = 100_000;
+
+    private final JumpHashShardRouter router = new JumpHashShardRouter();
+
+    @Test
+    void singleShardTakesEveryone() {
+        for (long doctorId = 1; doctorId <= 1000; doctorId++) {
+            assertThat(router.shardFor(doctorId, 1)).isZero();
+            assertThat(router.shardFor(doctorId, 0)).isZero();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 3, 5, 8, 16 })
+    void sequentialIdsSpreadEvenly(int shards) {
+        int[] perShard = new int[shards];
+        for (long doctorId = 1; doctorId <= DOCTORS; doctorId++) {
+            perShard[router.shardFor(doctorId, shards)]++;
+        }
+
+        double expected = (double) DOCTORS / shards;
+        for (int count : perShard) {
+            assertThat(count).isBetween((int) (expected * 0.95), (int) (expected * 1.05));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 4, 7 })
+    void growingByOneShardMovesOnlyItsShareAndOnlyOntoTheNewShard(int shards) {
+        int moved = 0;
+        for (long doctorId = 1; doctorId <= DOCTORS; doctorId++) {
+            int before = router.shardFor(doctorId, shards);
+            int after = router.shardFor(doctorId, shards + 1);
+            if (before != after) {
+                assertThat(after).isEqualTo(shards);
+                moved++;
+            }
+        }
+
+        double expected = (double) DOCTORS / (shards + 1);
+        assertThat(moved).isBetween((int) (expected * 0.95), (int) (expected * 1.05));
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.back_end.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.AppointmentEvent;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.ShardedAppointmentRepository;
+
+class AppointmentServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+
+    private final ShardedAppointmentRepository appointmentRepository = mock(ShardedAppointmentRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SlotHoldService slotHoldService = mock(SlotHoldService.class);
+    private final AppointmentService service =
+            new AppointmentService(appointmentRepository, eventPublisher, slotHoldService);
+
+    @BeforeEach
+    void setUp() {
+        when(appointmentRepository.findById(5L)).thenReturn(Optional.of(appointment(NINE)));
+        when(appointmentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void updateIntoABookedSlotIsRefused() {
+        when(appointmentRepository.existsByDoctorIdAndAppointmentDateAndAppointmentTimeAndStatusNot(
+                1L, DAY, TEN, Appointment.AppointmentStatus.cancelled)).thenReturn(true);
+
+        ApiResponse<Appointment> response = service.updateAppointment(appointment(TEN));
+
+        assertThat(response.getMessage()).isEqualTo("Time slot already booked");
+        verify(appointmentRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateIntoAnotherPatientsHoldIsRefused() {
+        when(slotHoldService.consumeHold(1L, 7L, DAY, TEN)).thenReturn("Time slot is temporarily held");
+
+        ApiResponse<Appointment> response = service.updateAppointment(appointment(TEN));
+
+        assertThat(response.getMessage()).isEqualTo("Time slot is temporarily held");
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    void updateOutsideTheScheduleIsRefused() {
+        when(slotHoldService.slotError(eq(1L), eq(DAY), eq(TEN), any()))
+                .thenReturn("Time slot is outside the doctor's schedule");
+
+        ApiResponse<Appointment> response = service.updateAppointment(appointment(TEN));
+
+        assertThat(response.getMessage()).isEqualTo("Time slot is outside the doctor's schedule");
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    void updateIntoAFreeSlotIsARescheduleAndConsumesTheHold() {
+        ApiResponse<Appointment> response = service.updateAppointment(appointment(TEN));
+
+        assertThat(response.isSuccess()).isTrue();
+        verify(slotHoldService).consumeHold(1L, 7L, DAY, TEN);
+        assertThat(publishedType()).isEqualTo(AppointmentEvent.Type.rescheduled);
+    }
+
+    @Test
+    void updateThatKeepsTheSlotSkipsTheSlotChecks() {
+        Appointment update = appointment(NINE);
+        update.setAppointmentReason("Follow-up");
+
+        assertThat(service.updateAppointment(update).isSuccess()).isTrue();
+        verify(slotHoldService, never()).consumeHold(any(), any(), any(), any());
+        assertThat(publishedType()).isEqualTo(AppointmentEvent.Type.updated);
+    }
+
+    @Test
+    void cancellingThroughAnUpdateAnnouncesACancellation() {
+        Appointment update = appointment(NINE);
+        update.setStatus(Appointment.AppointmentStatus.cancelled);
+
+        assertThat(service.updateAppointment(update).isSuccess()).isTrue();
+        assertThat(update.getCancelledAt()).isNotNull();
+        assertThat(publishedType()).isEqualTo(AppointmentEvent.Type.cancelled);
+    }
+
+    private AppointmentEvent.Type publishedType() {
+        ArgumentCaptor<AppointmentEvent> event = ArgumentCaptor.forClass(AppointmentEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue().getType();
+    }
+
+    private static Appointment appointment(LocalTime time) {
+        Doctor doctor = new Doctor();
+        doctor.setId(1L);
+        Patient patient = new Patient();
+        patient.setId(7L);
+        Appointment appointment = new Appointment();
+        appointment.setId(5L);
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentDate(DAY);
+        appointment.setAppointmentTime(time);
+        appointment.setStatus(Appointment.AppointmentStatus.scheduled);
+        return appointment;
+    }
+}
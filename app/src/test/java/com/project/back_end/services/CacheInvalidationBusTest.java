@@ -0,0 +1,95 @@
+package com.project.back_end.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.Limit;
+
+import com.project.back_end.models.CacheInvalidation;
+import com.project.back_end.repo.CacheInvalidationRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+class CacheInvalidationBusTest {
+
+    private final CacheInvalidationRepository repository = mock(CacheInvalidationRepository.class);
+    private final List<CacheInvalidation> committed = new ArrayList<>();
+    private final List<String> evicted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findMaxId()).thenReturn(0L);
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return committed.stream().filter(row -> row.getId() > after).toList();
+        });
+        when(repository.findByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return committed.stream().filter(row -> ids.contains(row.getId())).toList();
+        });
+    }
+
+    @Test
+    void consecutiveIdsLeaveGapsForUncommittedRows() {
+        when(repository.findAutoIncrementIncrement())
+                .thenThrow(new InvalidDataAccessResourceUsageException("H2 has no session variables"));
+        CacheInvalidationBus bus = startedBus();
+
+        commit(1);
+        commit(4);
+        bus.poll();
+
+        assertThat(bus.getStats().getPendingGaps()).isEqualTo(2);
+        commit(2);
+        commit(3);
+        bus.poll();
+
+        assertThat(evicted).containsExactly("1", "4", "2", "3");
+        assertThat(bus.getStats().getPendingGaps()).isZero();
+    }
+
+    @Test
+    void onlyIdsOfTheServerSequenceAreGaps() {
+        // Shard primary with auto_increment_increment = 3, offset 1: ids 1, 4, 7, ...
+        when(repository.findAutoIncrementIncrement()).thenReturn(3L);
+        when(repository.findAutoIncrementOffset()).thenReturn(1L);
+        CacheInvalidationBus bus = startedBus();
+
+        commit(1);
+        commit(7);
+        bus.poll();
+
+        assertThat(bus.getStats().getPendingGaps()).isEqualTo(1);
+        commit(4);
+        bus.poll();
+
+        assertThat(evicted).containsExactly("1", "7", "4");
+        assertThat(bus.getStats().getPendingGaps()).isZero();
+    }
+
+    private CacheInvalidationBus startedBus() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(mock(SessionFactory.class));
+        CacheInvalidationBus bus = new CacheInvalidationBus(repository, entityManagerFactory, "this-node", 500, 30_000, 60);
+        bus.subscribe("test", evicted::add);
+        bus.poll();
+        return bus;
+    }
+
+    private void commit(long id) {
+        committed.add(new CacheInvalidation(id, "test", String.valueOf(id), "other-node", LocalDateTime.now()));
+    }
+}
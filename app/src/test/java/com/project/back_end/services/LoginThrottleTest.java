@@ -0,0 +1,40 @@
+package com.project.back_end.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTest {
+
+    private final LoginThrottle throttle = new LoginThrottle(3, 0, 30, 0);
+
+    @Test
+    void successfulLoginsNeverExhaustTheAccount() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(throttle.tryAcquireAccount("Alice")).isTrue();
+            throttle.refundAccount("alice");
+        }
+    }
+
+    @Test
+    void failedAttemptsExhaustTheAccountUntilRefill() {
+        assertThat(throttle.tryAcquireAccount("bob")).isTrue();
+        assertThat(throttle.tryAcquireAccount("bob")).isTrue();
+        assertThat(throttle.tryAcquireAccount("bob")).isTrue();
+        assertThat(throttle.tryAcquireAccount("bob")).isFalse();
+        assertThat(throttle.tryAcquireAccount("carol")).isTrue();
+    }
+
+    @Test
+    void refundNeverRaisesTheBucketAboveCapacity() {
+        throttle.refundAccount("dave");
+        throttle.tryAcquireAccount("dave");
+        throttle.refundAccount("dave");
+        throttle.refundAccount("dave");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquireAccount("dave")).isTrue();
+        }
+        assertThat(throttle.tryAcquireAccount("dave")).isFalse();
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.back_end.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.project.back_end.exception.AuthThrottledException;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger started = new AtomicInteger();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void hashThatCannotFinishInTimeIsRefusedWithoutWaiting() throws Exception {
+        service = new PasswordHashingService(encoder(200), 1, 32, 300);
+        service.encode("warm-up"); // average hash time is now ~200 ms
+        awaitIdle(); // the worker can still count as active just after handing back its result
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        awaitStarted(2);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> service.encode("second"))
+                .isInstanceOfSatisfying(AuthThrottledException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(100);
+
+        assertThat(running.get(2, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(service.getStats().getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void timedOutHashIsDroppedFromTheQueue() throws Exception {
+        service = new PasswordHashingService(blockingEncoder(), 1, 32, 100);
+        CompletableFuture<String> stuck = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        awaitStarted(1);
+
+        assertThatThrownBy(() -> service.matches("second", "hash")).isInstanceOf(AuthThrottledException.class);
+        assertThatThrownBy(() -> stuck.get(2, TimeUnit.SECONDS)).hasCauseInstanceOf(AuthThrottledException.class);
+        release.countDown();
+
+        // Both callers gave up; the running hash completes, the queued one never starts
+        Thread.sleep(100);
+        assertThat(started).hasValue(1);
+        assertThat(service.getStats().getTimedOut()).isEqualTo(2);
+        assertThat(service.getStats().getQueueDepth()).isZero();
+    }
+
+    private void awaitStarted(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (started.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(started).hasValue(count);
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (service.getStats().getActiveThreads() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(service.getStats().getActiveThreads()).isZero();
+    }
+
+    private PasswordEncoder encoder(long millis) {
+        return new FakeEncoder(() -> Thread.sleep(millis));
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new FakeEncoder(release::await);
+    }
+
+    private interface Work {
+        void run() throws InterruptedException;
+    }
+
+    private final class FakeEncoder implements PasswordEncoder {
+        private final Work work;
+
+        private FakeEncoder(Work work) {
+            this.work = work;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.incrementAndGet();
+            try {
+                work.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
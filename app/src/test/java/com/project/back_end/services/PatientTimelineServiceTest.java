@@ -0,0 +1,194 @@
+package com.project.back_end.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+
+import com.project.back_end.DTO.TimelineItem;
+import com.project.back_end.DTO.TimelinePage;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
+
+class PatientTimelineServiceTest {
+
+    private static final Long PATIENT = 7L;
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    private static final Comparator<TimelineItem> APPOINTMENT_ORDER = Comparator
+            .comparing(TimelineItem::getOccurredAt)
+            .thenComparing(TimelineItem::getAppointmentId)
+            .reversed();
+    private static final Comparator<Prescription> PRESCRIPTION_ORDER = Comparator
+            .comparing(Prescription::getPrescriptionDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(prescription -> new ObjectId(prescription.getId()))
+            .reversed();
+
+    private final ShardedAppointmentRepository appointmentRepository = mock(ShardedAppointmentRepository.class);
+    private final PrescriptionRepository prescriptionRepository = mock(PrescriptionRepository.class);
+    private final PatientTimelineService service =
+            new PatientTimelineService(appointmentRepository, prescriptionRepository, Runnable::run, 5000);
+
+    private final List<TimelineItem> appointments = new ArrayList<>();
+    private final List<Prescription> prescriptions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(appointmentRepository.findTimelineItems(eq(PATIENT), any(), any(), any(), any()))
+                .thenAnswer(invocation -> appointmentsAfter(invocation.getArgument(1), invocation.getArgument(2),
+                        invocation.getArgument(3), invocation.getArgument(4)));
+        when(prescriptionRepository.findTimelinePage(eq(PATIENT), any()))
+                .thenAnswer(invocation -> page(prescriptions.stream(), invocation.getArgument(1)));
+        when(prescriptionRepository.findTimelinePageAfter(eq(PATIENT), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    LocalDateTime date = invocation.getArgument(1);
+                    ObjectId id = invocation.getArgument(2);
+                    return page(prescriptions.stream().filter(p -> p.getPrescriptionDate() == null
+                            || p.getPrescriptionDate().isBefore(date)
+                            || (p.getPrescriptionDate().equals(date) && new ObjectId(p.getId()).compareTo(id) < 0)),
+                            invocation.getArgument(3));
+                });
+        when(prescriptionRepository.findUndatedTimelinePageAfter(eq(PATIENT), any(), any()))
+                .thenAnswer(invocation -> {
+                    ObjectId id = invocation.getArgument(1);
+                    return page(prescriptions.stream().filter(p -> p.getPrescriptionDate() == null
+                            && new ObjectId(p.getId()).compareTo(id) < 0), invocation.getArgument(2));
+                });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 4, 7, 100 })
+    void pagingVisitsEveryItemOnceNewestFirst(int pageSize) {
+        appointment(1, NOON.plusDays(2));
+        appointment(2, NOON);            // ties with two prescriptions
+        appointment(3, NOON);            // ties with appointment 2; the higher id comes first
+        appointment(4, NOON.minusDays(5));
+        String p1 = prescription(NOON.plusDays(1));
+        String p2 = prescription(NOON);
+        String p3 = prescription(NOON);
+        String p4 = prescription(NOON.minusDays(1));
+        String p5 = prescription(null);
+        String p6 = prescription(null);
+
+        List<String> visited = walk(pageSize);
+
+        assertThat(visited).containsExactly("a1", "p" + p1, "a3", "a2", "p" + p3, "p" + p2, "p" + p4,
+                "a4", "p" + p6, "p" + p5);
+    }
+
+    @Test
+    void undatedPrescriptionsFollowEveryDatedItem() {
+        String undated = prescription(null);
+        appointment(1, NOON.minusYears(3));
+
+        assertThat(walk(1)).containsExactly("a1", "p" + undated);
+    }
+
+    @Test
+    void onlyOneSourceHasItems() {
+        appointment(1, NOON);
+        appointment(2, NOON.minusDays(1));
+
+        TimelinePage first = service.getTimeline(PATIENT, null, 1);
+        assertThat(first.getItems()).extracting(TimelineItem::getId).containsExactly("1");
+        assertThat(first.getNextCursor()).isNotNull();
+
+        TimelinePage second = service.getTimeline(PATIENT, first.getNextCursor(), 1);
+        assertThat(second.getItems()).extracting(TimelineItem::getId).containsExactly("2");
+        assertThat(walk(5)).containsExactly("a1", "a2");
+    }
+
+    @Test
+    void emptyTimelineHasNoNextCursor() {
+        TimelinePage page = service.getTimeline(PATIENT, null, 10);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "x|", "2026-03-10T12:00|", "2026-03-10T12:00,abc|", "tomorrow,1|-",
+            ",1|", "-|2026-03-10T12:00,zz", "-|,", "-|2026-03-10T12:00,1,2", "-|-|-" })
+    void tamperedCursorIsRejectedBeforeAnySourceIsQueried(String raw) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> service.getTimeline(PATIENT, cursor, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid timeline cursor");
+        verifyNoInteractions(appointmentRepository, prescriptionRepository);
+    }
+
+    @Test
+    void undecodableCursorIsRejected() {
+        assertThatThrownBy(() -> service.getTimeline(PATIENT, "not a cursor!", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid timeline cursor");
+    }
+
+    private List<String> walk(int pageSize) {
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        for (int pages = 0; pages < 100; pages++) {
+            TimelinePage page = service.getTimeline(PATIENT, cursor, pageSize);
+            assertThat(page.getItems().size()).isLessThanOrEqualTo(pageSize);
+            page.getItems().forEach(item ->
+                    visited.add((item.getType() == TimelineItem.Type.appointment ? "a" : "p") + item.getId()));
+            cursor = page.getNextCursor();
+            if (cursor == null) {
+                return visited;
+            }
+        }
+        throw new AssertionError("Cursor never ended: " + visited);
+    }
+
+    private void appointment(long id, LocalDateTime at) {
+        appointments.add(new TimelineItem(id, at.toLocalDate(), at.toLocalTime(),
+                Appointment.AppointmentStatus.completed, 1L, "dr", "checkup"));
+    }
+
+    private String prescription(LocalDateTime at) {
+        Prescription prescription = new Prescription();
+        prescription.setId(new ObjectId().toHexString());
+        prescription.setPatientId(PATIENT);
+        prescription.setPrescriptionDate(at);
+        prescriptions.add(prescription);
+        return prescription.getId();
+    }
+
+    private List<TimelineItem> appointmentsAfter(LocalDate date, LocalTime time, Long id, Limit limit) {
+        Stream<TimelineItem> rows = appointments.stream().sorted(APPOINTMENT_ORDER);
+        if (date != null) {
+            LocalDateTime after = LocalDateTime.of(date, time);
+            rows = rows.filter(item -> item.getOccurredAt().isBefore(after)
+                    || (item.getOccurredAt().equals(after) && item.getAppointmentId() < id));
+        }
+        return rows.limit(limit.max()).toList();
+    }
+
+    private static List<Prescription> page(Stream<Prescription> rows, Pageable page) {
+        return rows.sorted(PRESCRIPTION_ORDER).limit(page.getPageSize()).toList();
+    }
+}
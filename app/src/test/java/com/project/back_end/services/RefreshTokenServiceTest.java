@@ -0,0 +1,132 @@
+package com.project.back_end.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.back_end.DTO.LoginResponse;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.RefreshToken;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.repo.RefreshTokenRepository;
+
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final PatientRepository patientRepository = mock(PatientRepository.class);
+    private final TokenService tokenService = mock(TokenService.class);
+    private final List<RefreshToken> rows = new ArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final Patient patient = new Patient();
+
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.save(any())).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId(ids.incrementAndGet());
+            rows.add(token);
+            return token;
+        });
+        when(repository.findByTokenHash(anyString())).thenAnswer(invocation -> rows.stream()
+                .filter(row -> row.getTokenHash().equals(invocation.getArgument(0)))
+                .findFirst().orElse(null));
+        when(repository.markUsed(anyLong(), any())).thenAnswer(invocation -> {
+            RefreshToken row = byId(invocation.getArgument(0));
+            if (row.getUsedAt() != null || row.getRevoked()) {
+                return 0;
+            }
+            row.setUsedAt(invocation.getArgument(1));
+            return 1;
+        });
+        when(repository.revokeFamily(anyString())).thenAnswer(invocation -> {
+            rows.stream().filter(row -> row.getFamilyId().equals(invocation.getArgument(0)))
+                    .forEach(row -> row.setRevoked(true));
+            return 1;
+        });
+        when(tokenService.generateToken(anyString(), anyString(), anyLong())).thenReturn("access");
+
+        patient.setIsActive(true);
+        when(patientRepository.findById(7L)).thenReturn(Optional.of(patient));
+
+        service = new RefreshTokenService(repository, mock(AdminRepository.class), mock(DoctorRepository.class),
+                patientRepository, tokenService, mock(TokenRevocationList.class), 7);
+    }
+
+    @Test
+    void rotationIssuesANewPairAndConsumesTheOldToken() {
+        String first = service.issue("p@example.com", "patient", 7L);
+
+        LoginResponse<Void> rotated = service.rotate(first);
+
+        assertThat(rotated.isSuccess()).isTrue();
+        assertThat(rotated.getToken()).isEqualTo("access");
+        assertThat(rotated.getRefreshToken()).isNotEqualTo(first);
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(1).getFamilyId()).isEqualTo(rows.get(0).getFamilyId());
+        assertThat(rows.get(0).getUsedAt()).isNotNull();
+        assertThat(service.rotate(rotated.getRefreshToken()).isSuccess()).isTrue();
+    }
+
+    @Test
+    void reusingAConsumedTokenRevokesTheWholeFamily() {
+        String first = service.issue("p@example.com", "patient", 7L);
+        String second = service.rotate(first).getRefreshToken();
+
+        LoginResponse<Void> replay = service.rotate(first);
+
+        assertThat(replay.isSuccess()).isFalse();
+        assertThat(replay.getMessage()).contains("reuse detected");
+        assertThat(rows).allMatch(RefreshToken::getRevoked);
+        assertThat(service.rotate(second).isSuccess()).isFalse();
+    }
+
+    @Test
+    void otherFamiliesSurviveAReuse() {
+        String stolen = service.issue("p@example.com", "patient", 7L);
+        String otherDevice = service.issue("p@example.com", "patient", 7L);
+        service.rotate(stolen);
+        service.rotate(stolen);
+
+        assertThat(service.rotate(otherDevice).isSuccess()).isTrue();
+    }
+
+    @Test
+    void deactivatedAccountCannotRefresh() {
+        String token = service.issue("p@example.com", "patient", 7L);
+        patient.setIsActive(false);
+
+        LoginResponse<Void> response = service.rotate(token);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Account is deactivated");
+    }
+
+    @Test
+    void unknownOrExpiredTokenIsRefused() {
+        assertThat(service.rotate("made-up").getMessage()).isEqualTo("Invalid refresh token");
+
+        String token = service.issue("p@example.com", "patient", 7L);
+        rows.get(0).setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        assertThat(service.rotate(token).getMessage()).isEqualTo("Refresh token expired");
+    }
+
+    private RefreshToken byId(Long id) {
+        return rows.stream().filter(row -> row.getId().equals(id)).findFirst().orElseThrow();
+    }
+}
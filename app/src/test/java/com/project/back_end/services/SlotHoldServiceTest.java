@@ -0,0 +1,127 @@
+package com.project.back_end.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.project.back_end.DTO.HoldExpiredEvent;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.SlotHold;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.ShardedAppointmentRepository;
+import com.project.back_end.repo.SlotHoldRepository;
+
+class SlotHoldServiceTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+    private final SlotHoldRepository slotHoldRepository = mock(SlotHoldRepository.class);
+    private final ShardedAppointmentRepository appointmentRepository = mock(ShardedAppointmentRepository.class);
+    private final DoctorRepository doctorRepository = mock(DoctorRepository.class);
+    private final ScheduleService scheduleService = mock(ScheduleService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private SlotHoldService service;
+
+    @BeforeEach
+    void setUp() {
+        Doctor doctor = new Doctor();
+        doctor.setId(1L);
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(scheduleService.isWithinSchedule(eq(1L), any(), any(), anyInt())).thenReturn(true);
+        when(slotHoldRepository.findActiveHold(any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(slotHoldRepository.findByDoctorIdAndAppointmentDateAndAppointmentTime(any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(slotHoldRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            SlotHold hold = invocation.getArgument(0);
+            hold.setId(hold.getAppointmentTime().toSecondOfDay() + 0L);
+            return hold;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stopExpiryThread();
+        }
+    }
+
+    private SlotHoldService start(long ttlMinutes) {
+        service = new SlotHoldService(slotHoldRepository, appointmentRepository, doctorRepository,
+                scheduleService, eventPublisher, ttlMinutes);
+        service.startExpiryThread();
+        return service;
+    }
+
+    @Test
+    void expiryThreadDeletesHoldOnceItsDeadlinePassesAndAnnouncesIt() {
+        when(slotHoldRepository.deleteIfExpired(any(), any())).thenReturn(1);
+        SlotHold hold = start(0).holdSlot(1L, 7L, TOMORROW.toString(), "09:00").getData();
+
+        verify(slotHoldRepository, timeout(2000)).deleteIfExpired(eq(hold.getId()), any());
+        verify(eventPublisher, timeout(2000))
+                .publishEvent(new HoldExpiredEvent(1L, 7L, TOMORROW, LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void holdThatWasConsumedBeforeItsDeadlineIsNotAnnounced() {
+        when(slotHoldRepository.deleteIfExpired(any(), any())).thenReturn(0);
+        SlotHold hold = start(0).holdSlot(1L, 7L, TOMORROW.toString(), "09:00").getData();
+
+        verify(slotHoldRepository, timeout(2000)).deleteIfExpired(eq(hold.getId()), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void expiryThreadLeavesLiveHoldsAlone() throws InterruptedException {
+        start(5).holdSlot(1L, 7L, TOMORROW.toString(), "09:00");
+
+        Thread.sleep(200);
+        verify(slotHoldRepository, never()).deleteIfExpired(any(), any());
+    }
+
+    @Test
+    void holdIsRefusedForUnknownDoctorPastSlotOrSlotOutsideSchedule() {
+        start(5);
+        when(doctorRepository.findById(2L)).thenReturn(Optional.empty());
+        when(scheduleService.isWithinSchedule(eq(1L), any(), eq(LocalTime.of(23, 0)), anyInt())).thenReturn(false);
+
+        assertThat(service.holdSlot(2L, 7L, TOMORROW.toString(), "09:00").getMessage())
+                .isEqualTo("Doctor not found");
+        assertThat(service.holdSlot(1L, 7L, LocalDate.now().minusDays(1).toString(), "09:00").getMessage())
+                .isEqualTo("Time slot is in the past");
+        assertThat(service.holdSlot(1L, 7L, TOMORROW.toString(), "23:00").getMessage())
+                .isEqualTo("Time slot is outside the doctor's schedule");
+        verify(slotHoldRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void secondBookingOnTheSameHoldIsRefused() {
+        start(5);
+        SlotHold hold = new SlotHold(42L, 1L, 7L, TOMORROW, LocalTime.of(9, 0), LocalDateTime.now().plusMinutes(5), null);
+        when(slotHoldRepository.findActiveHold(any(), any(), any(), any())).thenReturn(Optional.of(hold));
+        when(slotHoldRepository.deleteHold(42L)).thenReturn(1, 0);
+
+        assertThat(service.consumeHold(1L, 7L, TOMORROW, LocalTime.of(9, 0))).isNull();
+        assertThat(service.consumeHold(1L, 7L, TOMORROW, LocalTime.of(9, 0)))
+                .isEqualTo("Time slot hold was already used by another booking");
+        assertThat(service.consumeHold(1L, 8L, TOMORROW, LocalTime.of(9, 0)))
+                .isEqualTo("Time slot is temporarily held by another patient");
+    }
+}
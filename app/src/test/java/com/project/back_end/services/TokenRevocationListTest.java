@@ -0,0 +1,151 @@
+package com.project.back_end.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.back_end.models.RevokedToken;
+import com.project.back_end.repo.RevokedTokenRepository;
+
+class TokenRevocationListTest {
+
+    private static final LocalDateTime LATER = LocalDateTime.now().plusMinutes(15);
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final List<RevokedToken> committed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return committed.stream().filter(row -> row.getId() > after).toList();
+        });
+        when(repository.findByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return committed.stream().filter(row -> ids.contains(row.getId())).toList();
+        });
+    }
+
+    @Test
+    void revokedTokensAreFoundAndOthersAreNot() {
+        TokenRevocationList list = new TokenRevocationList(repository, 1 << 16, 30_000);
+        for (int i = 0; i < 1000; i++) {
+            list.revoke("revoked-" + i, LATER);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(list.isRevoked("revoked-" + i)).isTrue();
+            assertThat(list.isRevoked("live-" + i)).isFalse();
+        }
+        assertThat(list.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void pruneForgetsExpiredTokensAndKeepsTheRest() {
+        TokenRevocationList list = new TokenRevocationList(repository, 1 << 16, 30_000);
+        list.revoke("kept", LATER);
+        list.revoke("already-expired", LocalDateTime.now().minusSeconds(1));
+
+        list.prune();
+
+        assertThat(list.isRevoked("kept")).isTrue();
+        assertThat(list.isRevoked("already-expired")).isFalse();
+    }
+
+    @Test
+    void revocationsMadeDuringPruneSurviveTheFilterSwap() throws Exception {
+        TokenRevocationList list = new TokenRevocationList(repository, 1 << 20, 30_000);
+        for (int i = 0; i < 20_000; i++) {
+            list.revoke("old-" + i, LATER);
+        }
+
+        CompletableFuture<Void> revoking = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                list.revoke("new-" + i, LATER);
+            }
+        });
+        while (!revoking.isDone()) {
+            list.prune();
+        }
+        revoking.get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(list.isRevoked("new-" + i)).as("new-" + i).isTrue();
+        }
+    }
+
+    @Test
+    void syncPicksUpRevocationsFromOtherNodes() {
+        TokenRevocationList list = new TokenRevocationList(repository, 1 << 16, 30_000);
+        committed.add(row(1, "a"));
+        committed.add(row(2, "b"));
+
+        list.sync();
+
+        assertThat(list.isRevoked("a")).isTrue();
+        assertThat(list.isRevoked("b")).isTrue();
+    }
+
+    @Test
+    void idCommittedAfterAHigherOneIsStillApplied() {
+        TokenRevocationList list = new TokenRevocationList(repository, 1 << 16, 30_000);
+        committed.add(row(1, "a"));
+        list.sync();
+
+        // 2 is still in flight when 3 commits
+        committed.add(row(3, "c"));
+        list.sync();
+        assertThat(list.isRevoked("c")).isTrue();
+        assertThat(list.pendingGaps()).isEqualTo(1);
+
+        committed.add(row(2, "b"));
+        list.sync();
+        assertThat(list.isRevoked("b")).isTrue();
+        assertThat(list.pendingGaps()).isZero();
+    }
+
+    @Test
+    void gapThatNeverFillsIsAbandonedAfterTheTimeout() throws InterruptedException {
+        TokenRevocationList list = new TokenRevocationList(repository, 1 << 16, 0);
+        committed.add(row(1, "a"));
+        list.sync();
+        committed.add(row(3, "c")); // 2 rolled back
+        list.sync();
+
+        Thread.sleep(5);
+        list.sync();
+
+        assertThat(list.pendingGaps()).isZero();
+        assertThat(list.abandonedGaps()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredRowsAreNotMistakenForGaps() {
+        TokenRevocationList list = new TokenRevocationList(repository, 1 << 16, 30_000);
+        committed.add(row(1, "a"));
+        list.sync();
+        committed.add(new RevokedToken(2L, "expired", LocalDateTime.now().minusMinutes(1), null));
+        committed.add(row(3, "c"));
+
+        list.sync();
+
+        assertThat(list.pendingGaps()).isZero();
+        assertThat(list.isRevoked("expired")).isFalse();
+    }
+
+    private static RevokedToken row(long id, String jti) {
+        return new RevokedToken(id, jti, LATER, null);
+    }
+}
@@ -0,0 +1,131 @@
+package com.project.back_end.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.project.back_end.DTO.ApiResponse;
+import com.project.back_end.DTO.AppointmentEvent;
+import com.project.back_end.DTO.HoldExpiredEvent;
+import com.project.back_end.models.SlotHold;
+import com.project.back_end.models.WaitlistEntry;
+import com.project.back_end.repo.WaitlistEntryRepository;
+
+class WaitlistServiceTest {
+
+    private static final Long DOCTOR = 1L;
+    private static final LocalDate DAY1 = LocalDate.now().plusDays(1);
+    private static final LocalDate DAY2 = DAY1.plusDays(1);
+    private static final LocalDate DAY3 = DAY1.plusDays(2);
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+    private static final LocalDateTime SIGN_UP = LocalDateTime.now().minusDays(1);
+
+    private final WaitlistEntryRepository repository = mock(WaitlistEntryRepository.class);
+    private final SlotHoldService slotHoldService = mock(SlotHoldService.class);
+    private final WaitlistService service = new WaitlistService(repository, slotHoldService,
+            mock(WaitlistNotifier.class), mock(PlatformTransactionManager.class));
+
+    private final WaitlistEntry early = entry(11L, 101L, DAY1, DAY1, SIGN_UP);
+    private final WaitlistEntry multiDate = entry(12L, 102L, DAY1, DAY3, SIGN_UP.plusMinutes(1));
+    private final WaitlistEntry late = entry(13L, 103L, DAY2, DAY2, SIGN_UP.plusMinutes(2));
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByDoctorIdAndStatusAndDateToGreaterThanEqual(eq(DOCTOR), eq(WaitlistEntry.Status.waiting),
+                any())).thenReturn(List.of(late, multiDate, early));
+        when(repository.claimForOffer(anyLong(), any(), any(), any())).thenReturn(1);
+        when(repository.findById(anyLong())).thenReturn(Optional.empty());
+        when(slotHoldService.holdSlot(any(), any(), any(), any())).thenReturn(ApiResponse.success(new SlotHold()));
+    }
+
+    @Test
+    void freedSlotGoesToTheEarliestSignUpCoveringItsDate() {
+        cancel(DAY2);
+
+        verify(repository).claimForOffer(eq(multiDate.getId()), eq(DAY2), eq(TEN), any());
+        verify(repository, never()).claimForOffer(eq(late.getId()), any(), any(), any());
+        verify(slotHoldService).holdSlot(DOCTOR, multiDate.getPatientId(), DAY2.toString(), TEN.toString());
+    }
+
+    @Test
+    void offeredEntryLeavesTheQueuesOfItsOtherDates() {
+        cancel(DAY2);
+        cancel(DAY3);
+        cancel(DAY2);
+
+        verify(repository, never()).claimForOffer(eq(multiDate.getId()), eq(DAY3), any(), any());
+        verify(repository).claimForOffer(eq(late.getId()), eq(DAY2), eq(TEN), any());
+    }
+
+    @Test
+    void cancelledEntryIsNotOfferedAnything() {
+        cancel(DAY3); // loads the index
+        when(repository.cancel(late.getId(), late.getPatientId())).thenReturn(1);
+        service.leaveWaitlist(late.getId(), late.getPatientId());
+
+        cancel(DAY2);
+
+        verify(repository, never()).claimForOffer(eq(late.getId()), any(), any(), any());
+    }
+
+    @Test
+    void lapsedOfferGoesToTheNextPatientAndRequeuesTheFirst() {
+        cancel(DAY2);
+        multiDate.setStatus(WaitlistEntry.Status.offered);
+        when(repository.findByDoctorIdAndPatientIdAndStatusAndOfferedDateAndOfferedTime(DOCTOR,
+                multiDate.getPatientId(), WaitlistEntry.Status.offered, DAY2, TEN)).thenReturn(Optional.of(multiDate));
+        when(repository.revertOffer(multiDate.getId())).thenReturn(1);
+
+        service.onHoldExpired(new HoldExpiredEvent(DOCTOR, multiDate.getPatientId(), DAY2, TEN));
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).claimForOffer(eq(late.getId()), eq(DAY2), eq(TEN), any());
+        order.verify(repository).revertOffer(multiDate.getId());
+
+        // Back in line under its whole window
+        cancel(DAY3);
+        verify(repository).claimForOffer(eq(multiDate.getId()), eq(DAY3), eq(TEN), any());
+    }
+
+    @Test
+    void lapsedHoldThatWasNotAnOfferIsIgnored() {
+        when(repository.findByDoctorIdAndPatientIdAndStatusAndOfferedDateAndOfferedTime(any(), any(), any(), any(),
+                any())).thenReturn(Optional.empty());
+
+        service.onHoldExpired(new HoldExpiredEvent(DOCTOR, 999L, DAY2, TEN));
+
+        verify(repository, never()).claimForOffer(anyLong(), any(), any(), any());
+    }
+
+    private void cancel(LocalDate date) {
+        service.onAppointmentEvent(new AppointmentEvent(AppointmentEvent.Type.cancelled, 1L, DOCTOR, 500L, date, TEN,
+                null, LocalDateTime.now()));
+    }
+
+    private static WaitlistEntry entry(Long id, Long patientId, LocalDate from, LocalDate to, LocalDateTime createdAt) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setDoctorId(DOCTOR);
+        entry.setPatientId(patientId);
+        entry.setDateFrom(from);
+        entry.setDateTo(to);
+        entry.setCreatedAt(createdAt);
+        return entry;
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.back_end.support;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import com.project.back_end.config.QueryCountFilter;
+import com.project.back_end.config.QueryCounter;
+
+/**
+ * Query-count budgets for integration tests, so an N+1 fails the build instead of slipping in.
+ *
+ * In-process code (services, repositories, MockMvc) is counted on the test thread:
+ * <pre>
+ * Appointment appointment = assertMaxQueries(1, () -&gt; appointmentService.getAppointmentById(id));
+ * </pre>
+ * Calls to a running server are checked through the X-Query-Count response header:
+ * <pre>
+ * assertMaxQueries(3, httpClient.send(request, BodyHandlers.ofString()));
+ * </pre>
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void assertMaxQueries(int max, Executable work) throws Throwable {
+        assertMaxQueries(max, () -> {
+            work.execute();
+            return null;
+        });
+    }
+
+    public static <T> T assertMaxQueries(int max, ThrowingSupplier<T> work) throws Throwable {
+        QueryCounter.begin();
+        T result;
+        try {
+            result = work.get();
+        } catch (Throwable e) {
+            QueryCounter.end();
+            throw e;
+        }
+        check(max, QueryCounter.end());
+        return result;
+    }
+
+    public static void assertMaxQueries(int max, HttpResponse<?> response) {
+        String header = response.headers().firstValue(QueryCountFilter.HEADER)
+                .orElseThrow(() -> new AssertionError("No " + QueryCountFilter.HEADER + " header on "
+                        + response.request().method() + " " + response.request().uri()));
+        assertMaxQueries(max, response.request().method() + " " + response.request().uri().getPath(),
+                Integer.parseInt(header));
+    }
+
+    /**
+     * Check a count gathered elsewhere, e.g. the highest X-Query-Count seen for an endpoint in a load test
+     */
+    public static void assertMaxQueries(int max, String endpoint, int statements) {
+        if (statements > max) {
+            fail(endpoint + " ran " + statements + " SQL statements, budget " + max);
+        }
+    }
+
+    private static void check(int max, QueryCounter.Snapshot snapshot) {
+        if (snapshot.statements() > max) {
+            Map.Entry<String, Integer> repeated = snapshot.mostRepeated();
+            fail("Code under test ran " + snapshot.statements() + " SQL statements, budget " + max + "; most repeated, "
+                    + repeated.getValue() + "x: " + repeated.getKey());
+        }
+    }
+}
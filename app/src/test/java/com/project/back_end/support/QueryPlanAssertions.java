@@ -0,0 +1,287 @@
+package com.project.back_end.support;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.function.Executable;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * EXPLAIN for every statement some code runs, so a query that loses its index fails a test
+ * instead of slowing a page down once the table has grown.
+ *
+ * Register {@link #LISTENER} as a bean in the test's configuration; the application DataSource
+ * proxy feeds every QueryExecutionListener bean. Then:
+ * <pre>
+ * List&lt;QueryPlan&gt; plans = explain(dataSource, () -&gt; doctorRepository.findBySpecialization("Neurology"));
+ * assertTrue(plans.get(0).problems(100).isEmpty(), plans.get(0)::toString);
+ * </pre>
+ * Statements are replayed with their real binds after the code has run, on MySQL with EXPLAIN and
+ * on H2 with EXPLAIN ANALYZE (SELECTs only; H2's EXPLAIN has no row counts), and each is reported
+ * as the tables it reads: fully or through an index, and how many rows.
+ */
+public final class QueryPlanAssertions {
+
+    public static final QueryExecutionListener LISTENER = new Capture();
+
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    // H2 prints each table it reads as FROM/JOIN "schema"."table", then the index comment, then the scan count
+    private static final Pattern H2_PLAN = Pattern.compile(
+            "(?:FROM|JOIN)\\s+\"[^\"]+\"\\.\"([^\"]+)\""
+                    + "|/\\* [^*]*?\\.tableScan \\*/"
+                    + "|/\\* scanCount: (\\d+) \\*/"
+                    + "|/\\* index sorted \\*/"
+                    + "|/\\* [^*:]+?(: [^*]*)? \\*/"
+                    + "|ORDER BY");
+
+    private QueryPlanAssertions() {
+    }
+
+    /**
+     * Run the work and explain the SQL statements it ran, in order; inserts are left out
+     */
+    public static List<QueryPlan> explain(DataSource dataSource, Executable work) throws Throwable {
+        List<CapturedStatement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            work.execute();
+        } finally {
+            CAPTURED.remove();
+        }
+
+        List<QueryPlan> plans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean h2 = connection.getMetaData().getDatabaseProductName().toUpperCase(Locale.ROOT).contains("H2");
+            Map<String, Long> tableRows = new HashMap<>();
+            for (CapturedStatement statement : statements) {
+                if (!isInsert(statement.sql())) {
+                    plans.add(h2
+                            ? explainH2(connection, statement, tableRows)
+                            : explainMySql(connection, statement));
+                }
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * One statement's plan. sortedRows is how many rows it sorts outside an index (0 if none).
+     */
+    public record QueryPlan(String sql, List<TableAccess> tables, long sortedRows, String plan) {
+
+        /**
+         * Full scans and sorts of more than maxRows rows, empty if the plan is fine
+         */
+        public List<String> problems(long maxRows) {
+            List<String> problems = new ArrayList<>();
+            for (TableAccess table : tables) {
+                if (table.fullScan() && table.rows() > maxRows) {
+                    problems.add("full scan of " + table.table() + " (" + table.rows() + " rows)");
+                }
+            }
+            if (sortedRows > maxRows) {
+                problems.add("sorts " + sortedRows + " rows outside an index");
+            }
+            return problems;
+        }
+
+        @Override
+        public String toString() {
+            return sql + "\n" + plan;
+        }
+    }
+
+    /**
+     * A table a statement reads, fully (table scan or whole index) or through an index lookup.
+     * rows is the number of rows read (H2) or the optimizer's estimate (MySQL).
+     */
+    public record TableAccess(String table, boolean fullScan, long rows) {
+    }
+
+    private record CapturedStatement(String sql, List<ParameterSetOperation> binds) {
+    }
+
+    private record Rows(List<String> columns, List<List<Object>> rows) {
+    }
+
+    private static QueryPlan explainH2(Connection connection, CapturedStatement statement,
+            Map<String, Long> tableRows) throws SQLException {
+        boolean select = isSelect(statement.sql());
+        String plan = String.join("\n", run(connection, (select ? "EXPLAIN ANALYZE " : "EXPLAIN ") + statement.sql(),
+                statement.binds()).rows().stream().map(row -> String.valueOf(row.get(0))).toList());
+
+        List<TableAccess> tables = new ArrayList<>();
+        String table = null;
+        boolean tableScan = false;
+        boolean indexCondition = false;
+        long scanned = -1;
+        boolean ordered = false;
+        boolean indexSorted = false;
+        Matcher matcher = H2_PLAN.matcher(plan);
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (matcher.group(1) != null) {
+                if (table != null) {
+                    tables.add(h2Access(connection, table, tables.isEmpty(), tableScan, indexCondition, scanned,
+                            tableRows));
+                }
+                table = matcher.group(1);
+                tableScan = false;
+                indexCondition = false;
+                scanned = -1;
+            } else if (token.endsWith(".tableScan */")) {
+                tableScan = true;
+            } else if (matcher.group(2) != null) {
+                scanned = Long.parseLong(matcher.group(2));
+            } else if (token.equals("/* index sorted */")) {
+                indexSorted = true;
+            } else if (token.equals("ORDER BY")) {
+                ordered = true;
+            } else if (matcher.group(3) != null) {
+                indexCondition = true;
+            }
+        }
+        if (table != null) {
+            tables.add(h2Access(connection, table, tables.isEmpty(), tableScan, indexCondition, scanned, tableRows));
+        }
+        // What gets sorted is at most what the first table yields; joined tables only add columns
+        long sortedRows = ordered && !indexSorted && !tables.isEmpty() ? tables.get(0).rows() : 0;
+        return new QueryPlan(statement.sql(), tables, sortedRows, plan);
+    }
+
+    // An index read without a condition, or one that touched every row, is a scan all the same. A
+    // joined table's scan count adds up its lookups, one per row of the tables before it, so there
+    // only the kind of read counts.
+    private static TableAccess h2Access(Connection connection, String table, boolean first, boolean tableScan,
+            boolean indexCondition, long scanned, Map<String, Long> tableRows) {
+        long rows = tableRows.computeIfAbsent(table, name -> countRows(connection, name));
+        if (scanned < 0) {
+            // Plain EXPLAIN (not a SELECT): no count, so assume a scan reads everything and a lookup little
+            return new TableAccess(table, tableScan, tableScan ? rows : 0);
+        }
+        return new TableAccess(table, tableScan || !indexCondition || first && scanned >= rows, scanned);
+    }
+
+    private static long countRows(Connection connection, String table) {
+        try (Statement statement = connection.createStatement();
+                ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM \"" + table + "\"")) {
+            count.next();
+            return count.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot count " + table, e);
+        }
+    }
+
+    // MySQL: one row per table; type ALL is a table scan and index a full index scan
+    private static QueryPlan explainMySql(Connection connection, CapturedStatement statement) throws SQLException {
+        Rows explain = run(connection, "EXPLAIN " + statement.sql(), statement.binds());
+        List<String> columns = explain.columns();
+        int tableColumn = columns.indexOf("table");
+        int typeColumn = columns.indexOf("type");
+        int rowsColumn = columns.indexOf("rows");
+        int extraColumn = columns.indexOf("Extra");
+
+        List<TableAccess> tables = new ArrayList<>();
+        long sortedRows = 0;
+        StringBuilder plan = new StringBuilder(String.join(" | ", columns));
+        for (List<Object> row : explain.rows()) {
+            plan.append('\n').append(row.stream().map(String::valueOf).reduce((a, b) -> a + " | " + b).orElse(""));
+            String type = String.valueOf(row.get(typeColumn));
+            long estimate = row.get(rowsColumn) instanceof Number number ? number.longValue() : 0;
+            tables.add(new TableAccess(String.valueOf(row.get(tableColumn)),
+                    type.equals("ALL") || type.equals("index"), estimate));
+            if (String.valueOf(row.get(extraColumn)).contains("Using filesort")) {
+                sortedRows = Math.max(sortedRows, estimate);
+            }
+        }
+        return new QueryPlan(statement.sql(), tables, sortedRows, plan.toString());
+    }
+
+    private static Rows run(Connection connection, String sql, List<ParameterSetOperation> binds) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, binds);
+                ResultSet rows = statement.executeQuery()) {
+            List<String> columns = new ArrayList<>();
+            for (int column = 1; column <= rows.getMetaData().getColumnCount(); column++) {
+                columns.add(rows.getMetaData().getColumnLabel(column));
+            }
+            List<List<Object>> result = new ArrayList<>();
+            while (rows.next()) {
+                List<Object> row = new ArrayList<>();
+                for (int column = 1; column <= columns.size(); column++) {
+                    row.add(rows.getObject(column));
+                }
+                result.add(row);
+            }
+            return new Rows(columns, result);
+        }
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, List<ParameterSetOperation> binds)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (ParameterSetOperation bind : binds) {
+            Object[] args = bind.getArgs();
+            if (!(args[0] instanceof Integer index)) {
+                continue;
+            }
+            if (ParameterSetOperation.isSetNullParameterOperation(bind)) {
+                statement.setNull(index, (Integer) args[1]);
+            } else {
+                statement.setObject(index, args[1]);
+            }
+        }
+        return statement;
+    }
+
+    private static boolean isSelect(String sql) {
+        String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return start.startsWith("select") || start.startsWith("with");
+    }
+
+    private static boolean isInsert(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("insert");
+    }
+
+    // Records the statements run on a thread inside explain(), with the binds of their first row
+    private static final class Capture implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+            List<CapturedStatement> statements = CAPTURED.get();
+            if (statements == null || !execution.isSuccess()) {
+                return;
+            }
+            for (QueryInfo query : queries) {
+                List<ParameterSetOperation> binds = query.getParametersList().isEmpty()
+                        ? List.of()
+                        : query.getParametersList().get(0).stream()
+                                .filter(bind -> !ParameterSetOperation.isRegisterOutParameterOperation(bind))
+                                .sorted(Comparator.comparing(bind -> bind.getArgs()[0] instanceof Integer index ? index : 0))
+                                .toList();
+                statements.add(new CapturedStatement(query.getQuery(), binds));
+            }
+        }
+    }
+}